@@ -1,6 +1,9 @@
 #!/bin/bash
 
 # Performance Comparison Script for Neo4j vs TigerGraph
+#
+# For a single-JVM comparison on identical seeded data, start the app with
+# --graph.database.backends=neo4j,tigergraph and call POST /api/compare/run instead.
 
 set -e
 
@@ -0,0 +1,139 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.config.BenchmarkConfig;
+import com.example.graph.dto.BenchmarkRecord;
+import com.example.graph.dto.PerformanceResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Append-only JSON-lines log of every benchmark run, one {@link BenchmarkRecord} per line.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BenchmarkHistoryStore {
+
+    private final BenchmarkConfig config;
+    private final ObjectMapper objectMapper;
+
+    private volatile String gitCommit;
+
+    public PerformanceResult record(PerformanceResult result, Map<String, Object> runConfig) {
+        if (!config.isHistoryEnabled() || result == null || result.getExecutionTimeMs() < 0) {
+            return result;
+        }
+        BenchmarkRecord record = BenchmarkRecord.builder()
+                .runId(UUID.randomUUID().toString())
+                .timestamp(Instant.now().toString())
+                .gitCommit(resolveGitCommit())
+                .jvm(System.getProperty("java.vm.vendor") + " " + System.getProperty("java.vm.name")
+                        + " " + System.getProperty("java.version"))
+                .availableProcessors(Runtime.getRuntime().availableProcessors())
+                .database(result.getDatabase())
+                .operation(result.getOperation())
+                .seed(result.getSeed())
+                .config(runConfig)
+                .executionTimeMs(result.getExecutionTimeMs())
+                .recordCount(result.getRecordCount())
+                .throughputPerSec(result.getExecutionTimeMs() > 0
+                        ? result.getRecordCount() * 1000.0 / result.getExecutionTimeMs() : 0)
+                .latency(result.getLatency())
+                .build();
+        try {
+            String line = objectMapper.writeValueAsString(record) + System.lineSeparator();
+            synchronized (this) {
+                Files.writeString(historyPath(), line, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            result.setRunId(record.getRunId());
+        } catch (IOException e) {
+            log.warn("Could not append benchmark run to {}: {}", config.getHistoryFile(), e.getMessage());
+        }
+        return result;
+    }
+
+    public List<BenchmarkRecord> findAll() {
+        List<BenchmarkRecord> records = new ArrayList<>();
+        Path path = historyPath();
+        if (!Files.exists(path)) {
+            return records;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(objectMapper.readValue(line, BenchmarkRecord.class));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read benchmark history {}: {}", config.getHistoryFile(), e.getMessage());
+        }
+        return records;
+    }
+
+    public Optional<BenchmarkRecord> findById(String runId) {
+        return findAll().stream()
+                .filter(record -> record.getRunId().equals(runId))
+                .findFirst();
+    }
+
+    /**
+     * The last run of the same database and operation appended before {@code candidate}, so
+     * checking an older run never compares it against a newer one.
+     */
+    public Optional<BenchmarkRecord> findPrevious(BenchmarkRecord candidate) {
+        BenchmarkRecord previous = null;
+        for (BenchmarkRecord record : findAll()) {
+            if (record.getRunId().equals(candidate.getRunId())) {
+                return Optional.ofNullable(previous);
+            }
+            if (record.getDatabase().equals(candidate.getDatabase())
+                    && record.getOperation().equals(candidate.getOperation())) {
+                previous = record;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Path historyPath() {
+        return Paths.get(config.getHistoryFile());
+    }
+
+    private String resolveGitCommit() {
+        if (gitCommit == null) {
+            gitCommit = !config.getGitCommit().isBlank() ? config.getGitCommit() : readGitHead();
+        }
+        return gitCommit;
+    }
+
+    private static String readGitHead() {
+        try {
+            Path git = Paths.get(".git");
+            String head = Files.readString(git.resolve("HEAD")).trim();
+            if (head.startsWith("ref: ")) {
+                Path ref = git.resolve(head.substring(5));
+                return Files.exists(ref) ? Files.readString(ref).trim() : "unknown";
+            }
+            return head;
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
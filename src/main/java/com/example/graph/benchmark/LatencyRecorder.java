@@ -0,0 +1,64 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.dto.LatencySummary;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive buffer of latency samples in nanoseconds.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[256];
+    private int size;
+
+    public synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized LatencySummary summarize() {
+        if (size == 0) {
+            return LatencySummary.builder().build();
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+
+        double sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        double mean = sum / size;
+        double squares = 0;
+        for (long sample : sorted) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        double stdDev = size > 1 ? Math.sqrt(squares / (size - 1)) : 0;
+
+        return LatencySummary.builder()
+                .count(size)
+                .meanMs(toMillis(mean))
+                .stdDevMs(toMillis(stdDev))
+                .p50Ms(toMillis(percentile(sorted, 0.50)))
+                .p90Ms(toMillis(percentile(sorted, 0.90)))
+                .p95Ms(toMillis(percentile(sorted, 0.95)))
+                .p99Ms(toMillis(percentile(sorted, 0.99)))
+                .maxMs(toMillis(sorted[sorted.length - 1]))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.config.BenchmarkConfig;
+import com.example.graph.dto.BenchmarkRecord;
+import com.example.graph.dto.LatencySummary;
+import com.example.graph.dto.RegressionReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares a candidate run against a baseline with Welch's t-test on the per-batch
+ * latency samples (from their stored mean, standard deviation and count). A change is a
+ * regression only when it is significant at the 5% level and larger than the configured
+ * relative threshold, so run-to-run noise does not raise alarms.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegressionDetector {
+
+    private static final double Z_975 = 1.959964;
+
+    // Two-sided 5% quantiles of Student's t for 1..30 degrees of freedom
+    private static final double[] T_975 = {
+            12.7062, 4.3027, 3.1824, 2.7764, 2.5706, 2.4469, 2.3646, 2.3060, 2.2622, 2.2281,
+            2.2010, 2.1788, 2.1604, 2.1448, 2.1314, 2.1199, 2.1098, 2.1009, 2.0930, 2.0860,
+            2.0796, 2.0739, 2.0687, 2.0639, 2.0595, 2.0555, 2.0518, 2.0484, 2.0452, 2.0423
+    };
+
+    private final BenchmarkConfig config;
+
+    public RegressionReport compare(BenchmarkRecord baseline, BenchmarkRecord candidate) {
+        LatencySummary base = latencyOf(baseline);
+        LatencySummary cand = latencyOf(candidate);
+        double threshold = config.getRegressionThreshold();
+        List<String> findings = new ArrayList<>();
+
+        double throughputChange = relativeChange(baseline.getThroughputPerSec(), candidate.getThroughputPerSec());
+        double latencyChange = relativeChange(base.getMeanMs(), cand.getMeanMs());
+
+        double tStatistic = Double.NaN;
+        double degreesOfFreedom = Double.NaN;
+        boolean significant = false;
+        if (base.getCount() >= 2 && cand.getCount() >= 2) {
+            double baseVariance = square(base.getStdDevMs()) / base.getCount();
+            double candVariance = square(cand.getStdDevMs()) / cand.getCount();
+            double standardError = Math.sqrt(baseVariance + candVariance);
+            if (standardError > 0) {
+                tStatistic = (cand.getMeanMs() - base.getMeanMs()) / standardError;
+                degreesOfFreedom = square(baseVariance + candVariance)
+                        / (square(baseVariance) / (base.getCount() - 1) + square(candVariance) / (cand.getCount() - 1));
+                significant = Math.abs(tStatistic) > criticalT(degreesOfFreedom);
+            } else {
+                significant = base.getMeanMs() != cand.getMeanMs();
+            }
+        } else {
+            findings.add("Not enough latency samples for a significance test; comparing throughput only");
+        }
+
+        boolean latencyRegression = significant && latencyChange > threshold;
+        boolean throughputRegression = -throughputChange > threshold && (significant || base.getCount() < 2);
+        if (latencyRegression) {
+            findings.add(String.format("Mean batch latency rose %.1f%% (%.2f ms -> %.2f ms, t=%.2f)",
+                    latencyChange * 100, base.getMeanMs(), cand.getMeanMs(), tStatistic));
+        }
+        if (throughputRegression) {
+            findings.add(String.format("Throughput fell %.1f%% (%.1f/s -> %.1f/s)",
+                    -throughputChange * 100, baseline.getThroughputPerSec(), candidate.getThroughputPerSec()));
+        }
+        if (relativeChange(base.getP95Ms(), cand.getP95Ms()) > threshold && significant) {
+            findings.add(String.format("p95 batch latency rose from %.2f ms to %.2f ms", base.getP95Ms(), cand.getP95Ms()));
+        }
+        if (!baseline.getOperation().equals(candidate.getOperation())
+                || !baseline.getDatabase().equals(candidate.getDatabase())) {
+            findings.add("Baseline and candidate differ in database or operation");
+        }
+        if (baseline.getSeed() != null && !baseline.getSeed().equals(candidate.getSeed())) {
+            findings.add("Baseline and candidate used different dataset seeds");
+        }
+
+        return RegressionReport.builder()
+                .baselineRunId(baseline.getRunId())
+                .candidateRunId(candidate.getRunId())
+                .database(candidate.getDatabase())
+                .operation(candidate.getOperation())
+                .baselineThroughputPerSec(baseline.getThroughputPerSec())
+                .candidateThroughputPerSec(candidate.getThroughputPerSec())
+                .throughputChange(throughputChange)
+                .baselineMeanLatencyMs(base.getMeanMs())
+                .candidateMeanLatencyMs(cand.getMeanMs())
+                .latencyChange(latencyChange)
+                .baselineP95Ms(base.getP95Ms())
+                .candidateP95Ms(cand.getP95Ms())
+                .tStatistic(tStatistic)
+                .degreesOfFreedom(degreesOfFreedom)
+                .significant(significant)
+                .regression(latencyRegression || throughputRegression)
+                .findings(findings)
+                .build();
+    }
+
+    // Two-sided 5% critical value of Student's t: tabulated up to 30 degrees of freedom, rounding fractional
+    // Welch df down so the test stays conservative, and the Cornish-Fisher expansion beyond, where it is exact enough
+    static double criticalT(double degreesOfFreedom) {
+        if (degreesOfFreedom <= T_975.length) {
+            int df = Math.max(1, (int) Math.floor(degreesOfFreedom));
+            return T_975[df - 1];
+        }
+        double z = Z_975;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4 * degreesOfFreedom)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96 * degreesOfFreedom * degreesOfFreedom);
+    }
+
+    private static LatencySummary latencyOf(BenchmarkRecord record) {
+        return record.getLatency() != null ? record.getLatency() : LatencySummary.builder().build();
+    }
+
+    private static double relativeChange(double baseline, double candidate) {
+        return baseline == 0 ? 0 : (candidate - baseline) / baseline;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.graph.cache;
+
+import com.example.graph.config.QueryCacheConfig;
+import com.example.graph.domain.CiNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@code getNodesByRelationTypeId} results keyed by relationTypeId. Every relation type has
+ * a version that writes bump, and a cached result is only served while the versions it
+ * was loaded under are current, so a write invalidates the types it touches and leaves
+ * the others cached. Deletes, which do not know the types they remove, bump a global
+ * epoch instead. Versions are read before a load, so a write that commits while a result
+ * is loading makes that result stale rather than hiding the write.
+ * <p>
+ * Memory is bounded by the nodes plus relationships held across all results, evicting
+ * the least recently used ones; hits, misses and evictions are exported as
+ * {@code graph.cache.relation-type.*} metrics.
+ */
+@Component
+public class RelationTypeResultCache {
+
+    private final QueryCacheConfig config;
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong evictions = new AtomicLong();
+    private long records;
+
+    public RelationTypeResultCache(QueryCacheConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.hits = Counter.builder("graph.cache.relation-type.gets")
+                .description("Relation-type result cache lookups").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("graph.cache.relation-type.gets")
+                .description("Relation-type result cache lookups").tag("result", "miss").register(registry);
+        FunctionCounter.builder("graph.cache.relation-type.evictions", evictions, AtomicLong::get)
+                .description("Results evicted to stay within max-records").register(registry);
+        Gauge.builder("graph.cache.relation-type.size", this, RelationTypeResultCache::size)
+                .description("Cached results").register(registry);
+        Gauge.builder("graph.cache.relation-type.records", this, RelationTypeResultCache::records)
+                .description("Nodes plus relationships held by cached results").register(registry);
+        Gauge.builder("graph.cache.relation-type.hit-ratio", this, RelationTypeResultCache::hitRatio)
+                .description("Share of lookups served from the cache").register(registry);
+    }
+
+    public List<CiNode> get(Long relationTypeId, Supplier<List<CiNode>> loader) {
+        if (!config.isRelationTypeCacheEnabled() || relationTypeId == null) {
+            return loader.get();
+        }
+        long loadEpoch = epoch.get();
+        long loadVersion = versions.getOrDefault(relationTypeId, 0L);
+        synchronized (this) {
+            Entry entry = entries.get(relationTypeId);
+            if (entry != null && entry.epoch == loadEpoch && entry.version == loadVersion) {
+                hits.increment();
+                return entry.nodes;
+            }
+        }
+        misses.increment();
+        List<CiNode> nodes = List.copyOf(loader.get());
+        put(relationTypeId, new Entry(loadEpoch, loadVersion, nodes, weight(nodes)));
+        return nodes;
+    }
+
+    /**
+     * Marks the given relation types as written. Inside a transaction the versions are
+     * bumped again once it completes, so a read between the write and its commit cannot
+     * keep serving what it loaded.
+     */
+    public void invalidate(Collection<Long> relationTypeIds) {
+        Set<Long> touched = relationTypeIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        afterCompletion(() -> touched.forEach(this::bump));
+    }
+
+    public void invalidateAll() {
+        afterCompletion(this::bumpEpoch);
+    }
+
+    public double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long records() {
+        return records;
+    }
+
+    private void afterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private void bump(Long relationTypeId) {
+        versions.merge(relationTypeId, 1L, Long::sum);
+        synchronized (this) {
+            remove(relationTypeId);
+        }
+    }
+
+    private void bumpEpoch() {
+        epoch.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+            records = 0;
+        }
+    }
+
+    private synchronized void put(Long relationTypeId, Entry entry) {
+        remove(relationTypeId);
+        if (entry.weight > config.getRelationTypeCacheMaxRecords()) {
+            return;
+        }
+        entries.put(relationTypeId, entry);
+        records += entry.weight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (records > config.getRelationTypeCacheMaxRecords()) {
+            records -= eldest.next().weight;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(Long relationTypeId) {
+        Entry removed = entries.remove(relationTypeId);
+        if (removed != null) {
+            records -= removed.weight;
+        }
+    }
+
+    private static long weight(List<CiNode> nodes) {
+        long weight = nodes.size();
+        for (CiNode node : nodes) {
+            weight += node.getOutgoingRelations() != null ? node.getOutgoingRelations().size() : 0;
+        }
+        return weight;
+    }
+
+    private record Entry(long epoch, long version, List<CiNode> nodes, long weight) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.graph.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Reports every chunk read from the wrapped stream, used to meter payload bytes before
+ * and after compression, and optionally signals when the end of the stream is reached.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private final LongConsumer counter;
+    private Runnable onEnd;
+
+    public CountingInputStream(InputStream in, LongConsumer counter) {
+        this(in, counter, null);
+    }
+
+    public CountingInputStream(InputStream in, LongConsumer counter, Runnable onEnd) {
+        super(in);
+        this.counter = counter;
+        this.onEnd = onEnd;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            counter.accept(1);
+        } else {
+            ended();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            counter.accept(read);
+        } else if (read == -1) {
+            ended();
+        }
+        return read;
+    }
+
+    private void ended() {
+        if (onEnd != null) {
+            Runnable callback = onEnd;
+            onEnd = null;
+            callback.run();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        counter.accept(skipped);
+        return skipped;
+    }
+}
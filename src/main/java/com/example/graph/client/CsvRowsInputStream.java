@@ -0,0 +1,129 @@
+package com.example.graph.client;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Streams a list of records as CSV lines, encoding one line at a time into a reused
+ * byte buffer, so a request body is produced without building a String per line or for
+ * the whole batch.
+ */
+public class CsvRowsInputStream<T> extends InputStream {
+
+    private final Iterator<T> rows;
+    private final BiConsumer<T, Line> encoder;
+    private final Line line = new Line();
+    private int position;
+
+    public CsvRowsInputStream(List<T> rows, BiConsumer<T, Line> encoder) {
+        this.rows = rows.iterator();
+        this.encoder = encoder;
+    }
+
+    @Override
+    public int read() {
+        if (position == line.length && !nextLine()) {
+            return -1;
+        }
+        return line.bytes[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int copied = 0;
+        while (copied < length) {
+            if (position == line.length && !nextLine()) {
+                break;
+            }
+            int chunk = Math.min(length - copied, line.length - position);
+            System.arraycopy(line.bytes, position, buffer, offset + copied, chunk);
+            position += chunk;
+            copied += chunk;
+        }
+        return copied == 0 ? -1 : copied;
+    }
+
+    private boolean nextLine() {
+        if (!rows.hasNext()) {
+            return false;
+        }
+        line.length = 0;
+        line.fields = 0;
+        encoder.accept(rows.next(), line);
+        line.append((byte) '\n');
+        position = 0;
+        return true;
+    }
+
+    public static class Line {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+        private int fields;
+
+        public Line field(CharSequence value) {
+            separator();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '\n' || c == '\r' || c == '"') {
+                    throw new IllegalArgumentException("Value cannot be loaded as an unquoted CSV field: " + value);
+                }
+                if (c < 0x80) {
+                    append((byte) c);
+                } else if (c < 0x800) {
+                    append((byte) (0xC0 | (c >> 6)));
+                    append((byte) (0x80 | (c & 0x3F)));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    append((byte) (0xF0 | (codePoint >> 18)));
+                    append((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    append((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    append((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    append((byte) (0xE0 | (c >> 12)));
+                    append((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    append((byte) (0x80 | (c & 0x3F)));
+                }
+            }
+            return this;
+        }
+
+        public Line field(long value) {
+            separator();
+            if (value < 0) {
+                append((byte) '-');
+            }
+            int start = length;
+            do {
+                append((byte) ('0' + Math.abs(value % 10)));
+                value /= 10;
+            } while (value != 0);
+            // Digits were written least significant first
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte digit = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = digit;
+            }
+            return this;
+        }
+
+        private void separator() {
+            if (fields++ > 0) {
+                append((byte) ',');
+            }
+        }
+
+        private void append(byte b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = b;
+        }
+    }
+}
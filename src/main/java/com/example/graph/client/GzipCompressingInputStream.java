@@ -0,0 +1,81 @@
+package com.example.graph.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+
+/**
+ * Pull-based gzip encoder: reading it yields the gzip encoding of the source stream, so a
+ * request body can be compressed while it is being sent instead of in a buffer up front.
+ * The JDK only offers gzip as an {@code OutputStream}.
+ */
+public class GzipCompressingInputStream extends InputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final CheckedInputStream source;
+    private final Deflater deflater;
+    private final DeflaterInputStream body;
+    private byte[] pending = HEADER;
+    private int pendingPosition;
+    private boolean trailerWritten;
+
+    public GzipCompressingInputStream(InputStream source, int level) {
+        this.source = new CheckedInputStream(source, new CRC32());
+        this.deflater = new Deflater(level, true);
+        this.body = new DeflaterInputStream(this.source, deflater);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (pending == null) {
+            int read = body.read(buffer, offset, length);
+            if (read != -1) {
+                return read;
+            }
+            if (trailerWritten) {
+                return -1;
+            }
+            pending = trailer();
+            pendingPosition = 0;
+            trailerWritten = true;
+        }
+        int chunk = Math.min(length, pending.length - pendingPosition);
+        System.arraycopy(pending, pendingPosition, buffer, offset, chunk);
+        pendingPosition += chunk;
+        if (pendingPosition == pending.length) {
+            pending = null;
+        }
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        source.close();
+    }
+
+    // CRC-32 and uncompressed size mod 2^32, both little-endian
+    private byte[] trailer() {
+        long crc = source.getChecksum().getValue();
+        long size = deflater.getBytesRead();
+        byte[] trailer = new byte[8];
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (crc >>> (8 * i));
+            trailer[4 + i] = (byte) (size >>> (8 * i));
+        }
+        return trailer;
+    }
+}
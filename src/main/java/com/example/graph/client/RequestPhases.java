@@ -0,0 +1,192 @@
+package com.example.graph.client;
+
+import com.example.graph.jfr.BulkLoadBatchEvent;
+import com.example.graph.jfr.TigerGraphRequestEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time of one {@link TigerGraphClient} call went. Exactly one phase runs at a
+ * time: {@code build} (assembling the payload), {@code serialize} (Jackson), {@code send}
+ * (until the request body is fully written), {@code first-byte} (waiting for response
+ * headers, i.e. network plus server time), {@code body-read}, {@code parse} and
+ * {@code backoff} between retries. Streamed bodies are encoded while they are sent, so
+ * CSV encoding counts as send, and streamed responses are read while parsed, so their
+ * reading counts as parse. Retries and split batches add up in the same call.
+ *
+ * <p>Each call passes its instance to the helpers it uses; the HTTP client's own threads
+ * reach it through the request body they stream. Each call is also committed as a
+ * {@link TigerGraphRequestEvent} when a flight recording is running.
+ */
+@Slf4j
+final class RequestPhases implements AutoCloseable {
+
+    enum Phase {
+        BUILD("build"), SERIALIZE("serialize"), SEND("send"), FIRST_BYTE("first-byte"),
+        BODY_READ("body-read"), PARSE("parse"), BACKOFF("backoff");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Meters meters;
+    private final String operation;
+    private final boolean debug;
+    private final long started = System.nanoTime();
+    private final TigerGraphRequestEvent event = new TigerGraphRequestEvent();
+    private final long[] nanos = new long[Phase.values().length];
+    private Phase running;
+    private long runningSince;
+    private int requests;
+    private long requestBytes;
+    private long responseBytes;
+
+    private RequestPhases(Meters meters, String operation, boolean debug) {
+        this.meters = meters;
+        this.operation = operation;
+        this.debug = debug;
+        event.begin();
+    }
+
+    static RequestPhases start(Meters meters, String operation, boolean debug) {
+        RequestPhases phases = new RequestPhases(meters, operation, debug);
+        phases.next(Phase.BUILD);
+        return phases;
+    }
+
+    synchronized void next(Phase phase) {
+        long now = System.nanoTime();
+        if (running != null) {
+            nanos[running.ordinal()] += now - runningSince;
+        }
+        running = phase;
+        runningSince = now;
+    }
+
+    void pause() {
+        next(null);
+    }
+
+    synchronized void requestSent() {
+        requests++;
+    }
+
+    synchronized void addRequestBytes(long bytes) {
+        requestBytes += bytes;
+    }
+
+    synchronized void addResponseBytes(long bytes) {
+        responseBytes += bytes;
+    }
+
+    @Override
+    public void close() {
+        pause();
+        long total = System.nanoTime() - started;
+        synchronized (this) {
+            meters.record(operation, nanos, total, requestBytes, responseBytes);
+            if (debug) {
+                log.info(describe(total));
+            }
+            BulkLoadBatchEvent.addBytes(requestBytes, responseBytes);
+            commitEvent();
+        }
+    }
+
+    private void commitEvent() {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = operation;
+        event.requests = requests;
+        event.bytesSent = requestBytes;
+        event.bytesReceived = responseBytes;
+        event.build = nanos[Phase.BUILD.ordinal()];
+        event.serialize = nanos[Phase.SERIALIZE.ordinal()];
+        event.send = nanos[Phase.SEND.ordinal()];
+        event.firstByte = nanos[Phase.FIRST_BYTE.ordinal()];
+        event.bodyRead = nanos[Phase.BODY_READ.ordinal()];
+        event.parse = nanos[Phase.PARSE.ordinal()];
+        event.backoff = nanos[Phase.BACKOFF.ordinal()];
+        event.commit();
+    }
+
+    private String describe(long totalNanos) {
+        StringBuilder line = new StringBuilder(operation).append(": ").append(requests).append(" request(s)");
+        for (Phase phase : Phase.values()) {
+            if (nanos[phase.ordinal()] > 0) {
+                line.append(String.format(", %s %.3f ms", phase.tag, nanos[phase.ordinal()] / 1e6));
+            }
+        }
+        return line.append(String.format(", total %.3f ms; %d B sent, %d B received",
+                totalNanos / 1e6, requestBytes, responseBytes)).toString();
+    }
+
+    /**
+     * {@code tigergraph.client.phase} timers tagged by operation and phase, the whole call as
+     * phase {@code total}, and per-call wire bytes as {@code tigergraph.client.call.bytes}.
+     */
+    static final class Meters {
+
+        private final MeterRegistry registry;
+        private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+        private final Map<String, DistributionSummary[]> bytes = new ConcurrentHashMap<>();
+
+        Meters(MeterRegistry registry) {
+            this.registry = registry;
+        }
+
+        void record(String operation, long[] phaseNanos, long totalNanos, long requestBytes, long responseBytes) {
+            Timer[] operationTimers = timers.computeIfAbsent(operation, this::timers);
+            for (Phase phase : Phase.values()) {
+                if (phaseNanos[phase.ordinal()] > 0) {
+                    operationTimers[phase.ordinal()].record(phaseNanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+                }
+            }
+            operationTimers[Phase.values().length].record(totalNanos, TimeUnit.NANOSECONDS);
+            DistributionSummary[] operationBytes = bytes.computeIfAbsent(operation, this::summaries);
+            operationBytes[0].record(requestBytes);
+            operationBytes[1].record(responseBytes);
+        }
+
+        private Timer[] timers(String operation) {
+            Timer[] operationTimers = new Timer[Phase.values().length + 1];
+            for (Phase phase : Phase.values()) {
+                operationTimers[phase.ordinal()] = timer(operation, phase.tag);
+            }
+            operationTimers[Phase.values().length] = timer(operation, "total");
+            return operationTimers;
+        }
+
+        private Timer timer(String operation, String phase) {
+            return Timer.builder("tigergraph.client.phase")
+                    .description("Time per TigerGraph client call phase")
+                    .tag("operation", operation)
+                    .tag("phase", phase)
+                    .register(registry);
+        }
+
+        private DistributionSummary[] summaries(String operation) {
+            return new DistributionSummary[]{summary(operation, "request"), summary(operation, "response")};
+        }
+
+        private DistributionSummary summary(String operation, String direction) {
+            return DistributionSummary.builder("tigergraph.client.call.bytes")
+                    .description("Wire bytes per TigerGraph client call")
+                    .baseUnit("bytes")
+                    .tag("operation", operation)
+                    .tag("direction", direction)
+                    .register(registry);
+        }
+    }
+}
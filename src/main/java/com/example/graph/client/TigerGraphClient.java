@@ -1,13 +1,23 @@
 package com.example.graph.client;
 
+import com.example.graph.config.ConditionalOnGraphBackend;
 import com.example.graph.config.TigerGraphConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
@@ -16,12 +26,27 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 @Component
-@ConditionalOnProperty(name = "graph.database.type", havingValue = "tigergraph")
-@RequiredArgsConstructor
+@ConditionalOnGraphBackend("tigergraph")
 @Slf4j
 public class TigerGraphClient {
 
@@ -29,310 +54,721 @@ public class TigerGraphClient {
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final HttpClient httpClient = HttpClient.newHttpClient();
 
-    public void upsertVertex(String vertexType, String vertexId) throws Exception {
-        String url = String.format("%s/graph/%s/vertices/%s/%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                vertexType,
-                URLEncoder.encode(vertexId, StandardCharsets.UTF_8));
+    private static final String JSON = "application/json";
+    private static final String CSV = "text/csv";
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
 
-        Map<String, Object> vertex = new HashMap<>();
-        vertex.put("id", Map.of("value", vertexId));
+    // Bytes before compression (payload) and as transferred (wire), per direction
+    private final LongAdder requestPayloadBytes = new LongAdder();
+    private final LongAdder requestWireBytes = new LongAdder();
+    private final LongAdder responsePayloadBytes = new LongAdder();
+    private final LongAdder responseWireBytes = new LongAdder();
 
-        String jsonBody = objectMapper.writeValueAsString(vertex);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
+    private final RequestPhases.Meters phaseMeters;
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() >= 400) {
-            throw new RuntimeException("Failed to create vertex: " + response.body());
-        }
+    public TigerGraphClient(TigerGraphConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.phaseMeters = new RequestPhases.Meters(meterRegistry);
+        registerTransferMetrics(meterRegistry, "request", requestPayloadBytes, requestWireBytes);
+        registerTransferMetrics(meterRegistry, "response", responsePayloadBytes, responseWireBytes);
     }
 
-    public void upsertEdge(String sourceVertexType, String sourceId, String edgeType,
-                          String targetVertexType, String targetId, Long relationTypeId) throws Exception {
-        String url = String.format("%s/graph/%s/edges/%s/%s/%s/%s/%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                sourceVertexType,
-                URLEncoder.encode(sourceId, StandardCharsets.UTF_8),
-                edgeType,
-                targetVertexType,
-                URLEncoder.encode(targetId, StandardCharsets.UTF_8));
+    public void upsertVertex(String vertexType, String vertexId) throws Exception {
+        try (RequestPhases phases = phases("upsertVertex")) {
+            String url = String.format("%s/graph/%s/vertices/%s/%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    vertexType,
+                    URLEncoder.encode(vertexId, StandardCharsets.UTF_8));
 
-        Map<String, Object> edge = new HashMap<>();
-        edge.put("relationTypeId", Map.of("value", relationTypeId));
+            Map<String, Object> vertex = new HashMap<>();
+            vertex.put("id", Map.of("value", vertexId));
 
-        String jsonBody = objectMapper.writeValueAsString(edge);
+            HttpRequest request = withBody(phases, HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .header("Content-Type", "application/json"), jsonBody(phases, vertex))
+                    .build();
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
+            Response response = send(phases, request);
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("Failed to create vertex: " + response.body());
+            }
+        }
+    }
 
-        if (response.statusCode() >= 400) {
-            throw new RuntimeException("Failed to create edge: " + response.body());
+    public void upsertEdge(String sourceVertexType, String sourceId, String edgeType,
+                          String targetVertexType, String targetId, Long relationTypeId) throws Exception {
+        try (RequestPhases phases = phases("upsertEdge")) {
+            String url = String.format("%s/graph/%s/edges/%s/%s/%s/%s/%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    sourceVertexType,
+                    URLEncoder.encode(sourceId, StandardCharsets.UTF_8),
+                    edgeType,
+                    targetVertexType,
+                    URLEncoder.encode(targetId, StandardCharsets.UTF_8));
+
+            Map<String, Object> edge = new HashMap<>();
+            edge.put("relationTypeId", Map.of("value", relationTypeId));
+
+            HttpRequest request = withBody(phases, HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .header("Content-Type", "application/json"), jsonBody(phases, edge))
+                    .build();
+
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("Failed to create edge: " + response.body());
+            }
         }
     }
 
     public JsonNode getVertex(String vertexType, String vertexId) throws Exception {
-        String url = String.format("%s/graph/%s/vertices/%s/%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                vertexType,
-                URLEncoder.encode(vertexId, StandardCharsets.UTF_8));
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        try (RequestPhases phases = phases("getVertex")) {
+            String url = String.format("%s/graph/%s/vertices/%s/%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    vertexType,
+                    URLEncoder.encode(vertexId, StandardCharsets.UTF_8));
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .GET()
+                    .build();
+
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                return null;
+            }
 
-        if (response.statusCode() >= 400) {
-            return null;
+            // REST++ wraps the vertex in a results array
+            JsonNode results = parse(phases, response.body()).path("results");
+            return results.isArray() && results.size() > 0 ? results.get(0) : null;
         }
-
-        return objectMapper.readTree(response.body());
     }
 
     public List<JsonNode> getAllVertices(String vertexType) throws Exception {
-        String url = String.format("%s/graph/%s/vertices/%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                vertexType);
+        try (RequestPhases phases = phases("getAllVertices")) {
+            String url = String.format("%s/graph/%s/vertices/%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    vertexType);
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .GET()
+                    .build();
+
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                return new ArrayList<>();
+            }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
+            JsonNode root = parse(phases, response.body());
+            List<JsonNode> vertices = new ArrayList<>();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (root.has("results")) {
+                for (JsonNode result : root.get("results")) {
+                    vertices.add(result);
+                }
+            }
 
-        if (response.statusCode() >= 400) {
-            return new ArrayList<>();
+            return vertices;
         }
+    }
 
-        JsonNode root = objectMapper.readTree(response.body());
-        List<JsonNode> vertices = new ArrayList<>();
+    /**
+     * Full vertex scan split into {@code partitions} slices of the installed scan query
+     * (hash of the internal vertex id). Up to {@code parallelism} slices are in flight at
+     * once and each response is parsed incrementally, handing vertices to {@code consumer}
+     * as they are read, so no slice is buffered whole. The consumer is called from several
+     * threads.
+     *
+     * @return number of vertices scanned
+     */
+    public long scanVertices(String queryName, int partitions, int parallelism,
+                             Consumer<JsonNode> consumer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, partitions)));
+        try {
+            List<Future<Long>> slices = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                int slice = partition;
+                slices.add(executor.submit(() -> scanPartition(queryName, slice, partitions, consumer)));
+            }
+            long scanned = 0;
+            for (Future<Long> slice : slices) {
+                try {
+                    scanned += slice.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            return scanned;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        if (root.has("results")) {
-            for (JsonNode result : root.get("results")) {
-                vertices.add(result);
+    /**
+     * One slice of {@link #scanVertices}, streamed to {@code consumer} on the calling thread.
+     *
+     * @return number of vertices scanned
+     */
+    public long scanPartition(String queryName, int partition, int partitions,
+                              Consumer<JsonNode> consumer) throws Exception {
+        try (RequestPhases phases = phases("scanVertices")) {
+            String url = String.format("%s/query/%s/%s?partition=%d&partitions=%d",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    queryName,
+                    partition,
+                    partitions);
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .GET()
+                    .build();
+
+            phases.requestSent();
+            phases.next(RequestPhases.Phase.FIRST_BYTE);
+            HttpResponse<InputStream> response = httpClient.send(withAcceptEncoding(request),
+                    HttpResponse.BodyHandlers.ofInputStream());
+
+            // The response is parsed while it is read
+            phases.next(RequestPhases.Phase.PARSE);
+            try (InputStream body = decodedBody(phases, response)) {
+                if (response.statusCode() >= 400) {
+                    throw new RuntimeException("Failed to scan partition " + partition + ": "
+                            + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                return readVertices(body, consumer);
             }
         }
+    }
 
+    // Streams the "Result" vertex set of a query response without building the whole tree
+    private long readVertices(InputStream body, Consumer<JsonNode> consumer) throws IOException {
+        long vertices = 0;
+        boolean error = false;
+        String message = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("error".equals(field)) {
+                    error = value == JsonToken.VALUE_TRUE;
+                } else if ("message".equals(field) && value == JsonToken.VALUE_STRING) {
+                    message = parser.getText();
+                } else if ("Result".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(parser.readValueAsTree());
+                        vertices++;
+                    }
+                }
+            }
+        }
+        if (error) {
+            throw new RuntimeException("Partition scan failed: " + message);
+        }
         return vertices;
     }
 
     public void deleteVertex(String vertexType, String vertexId) throws Exception {
-        String url = String.format("%s/graph/%s/vertices/%s/%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                vertexType,
-                URLEncoder.encode(vertexId, StandardCharsets.UTF_8));
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .DELETE()
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() >= 400) {
-            throw new RuntimeException("Failed to delete vertex: " + response.body());
+        try (RequestPhases phases = phases("deleteVertex")) {
+            String url = String.format("%s/graph/%s/vertices/%s/%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    vertexType,
+                    URLEncoder.encode(vertexId, StandardCharsets.UTF_8));
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .DELETE()
+                    .build();
+
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("Failed to delete vertex: " + response.body());
+            }
         }
     }
 
     public void deleteAllVertices(String vertexType) throws Exception {
-        String url = String.format("%s/graph/%s/delete_by_type/vertices/%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                vertexType);
+        try (RequestPhases phases = phases("deleteAllVertices")) {
+            String url = String.format("%s/graph/%s/delete_by_type/vertices/%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    vertexType);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .DELETE()
-                .build();
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .DELETE()
+                    .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            Response response = send(phases, request);
 
-        if (response.statusCode() >= 400) {
-            throw new RuntimeException("Failed to delete all vertices: " + response.body());
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("Failed to delete all vertices: " + response.body());
+            }
         }
     }
 
     public JsonNode runQuery(String queryName, Map<String, Object> params) throws Exception {
-        String url = String.format("%s/query/%s/%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                queryName);
+        try (RequestPhases phases = phases("runQuery")) {
+            String url = String.format("%s/query/%s/%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    queryName);
+
+            StringBuilder queryParams = new StringBuilder("?");
+            for (Map.Entry<String, Object> entry : params.entrySet()) {
+                queryParams.append(entry.getKey())
+                        .append("=")
+                        .append(URLEncoder.encode(entry.getValue().toString(), StandardCharsets.UTF_8))
+                        .append("&");
+            }
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url + queryParams.toString()))
+                    .header("Content-Type", "application/json")
+                    .GET()
+                    .build();
+
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("Failed to run query: " + response.body());
+            }
 
-        StringBuilder queryParams = new StringBuilder("?");
-        for (Map.Entry<String, Object> entry : params.entrySet()) {
-            queryParams.append(entry.getKey())
-                    .append("=")
-                    .append(URLEncoder.encode(entry.getValue().toString(), StandardCharsets.UTF_8))
-                    .append("&");
+            return parse(phases, response.body());
         }
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url + queryParams.toString()))
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
+    public void echo() throws Exception {
+        try (RequestPhases phases = phases("echo")) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(config.getBaseUrl() + "/echo"))
+                    .GET()
+                    .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            Response response = send(phases, request);
 
-        if (response.statusCode() >= 400) {
-            throw new RuntimeException("Failed to run query: " + response.body());
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("REST++ echo failed: " + response.body());
+            }
         }
+    }
 
-        return objectMapper.readTree(response.body());
+    /**
+     * Installed queries of the graph with their parameter names and types, from the
+     * REST++ endpoint listing.
+     */
+    public Map<String, Map<String, String>> getInstalledQueries() throws Exception {
+        try (RequestPhases phases = phases("getInstalledQueries")) {
+            String url = String.format("%s/endpoints/%s?dynamic=true",
+                    config.getBaseUrl(),
+                    config.getGraphName());
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .GET()
+                    .build();
+
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                throw new RuntimeException("Failed to list installed queries: " + response.body());
+            }
+
+            String prefix = "GET /query/" + config.getGraphName() + "/";
+            Map<String, Map<String, String>> queries = new LinkedHashMap<>();
+            JsonNode root = parse(phases, response.body());
+            root.fields().forEachRemaining(endpoint -> {
+                if (!endpoint.getKey().startsWith(prefix)) {
+                    return;
+                }
+                Map<String, String> parameters = new LinkedHashMap<>();
+                endpoint.getValue().path("parameters").fields().forEachRemaining(parameter -> {
+                    // "query" is REST++'s own routing parameter, not a query argument
+                    if (!parameter.getKey().equals("query")) {
+                        parameters.put(parameter.getKey(), parameter.getValue().path("type").asText(""));
+                    }
+                });
+                queries.put(endpoint.getKey().substring(prefix.length()), parameters);
+            });
+            return queries;
+        }
     }
 
     public long countVertices(String vertexType) throws Exception {
-        String url = String.format("%s/builtins/%s/stat/vertex_number?type=%s",
-                config.getBaseUrl(),
-                config.getGraphName(),
-                vertexType);
+        try (RequestPhases phases = phases("countVertices")) {
+            String url = String.format("%s/builtins/%s/stat/vertex_number?type=%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    vertexType);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET()
-                .build();
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .GET()
+                    .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                return 0;
+            }
+
+            JsonNode root = parse(phases, response.body());
+            if (root.has("results") && root.get("results").isArray() && root.get("results").size() > 0) {
+                JsonNode result = root.get("results").get(0);
+                if (result.has("v_count")) {
+                    return result.get("v_count").asLong();
+                }
+            }
 
-        if (response.statusCode() >= 400) {
             return 0;
         }
+    }
+
+    public long countEdges(String edgeType) throws Exception {
+        try (RequestPhases phases = phases("countEdges")) {
+            String url = String.format("%s/builtins/%s/stat/edge_number?type=%s",
+                    config.getBaseUrl(),
+                    config.getGraphName(),
+                    edgeType);
 
-        JsonNode root = objectMapper.readTree(response.body());
-        if (root.has("results") && root.get("results").isArray() && root.get("results").size() > 0) {
-            JsonNode result = root.get("results").get(0);
-            if (result.has("v_count")) {
-                return result.get("v_count").asLong();
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .GET()
+                    .build();
+
+            Response response = send(phases, request);
+
+            if (response.statusCode() >= 400) {
+                return 0;
+            }
+
+            JsonNode root = parse(phases, response.body());
+            if (root.has("results") && root.get("results").isArray() && root.get("results").size() > 0) {
+                JsonNode result = root.get("results").get(0);
+                if (result.has("e_count")) {
+                    return result.get("e_count").asLong();
+                }
             }
+
+            return 0;
+        }
+    }
+
+    public BatchWriteResult upsertVerticesBatch(String vertexType, List<String> vertexIds) throws Exception {
+        try (RequestPhases phases = phases("upsertVerticesBatch")) {
+            URI uri = URI.create(String.format("%s/graph/%s", config.getBaseUrl(), config.getGraphName()));
+            return writeBatch(phases, uri, JSON, vertexIds, batch -> {
+                Map<String, Object> vertices = new LinkedHashMap<>();
+                for (String vertexId : batch) {
+                    vertices.put(vertexId, Map.of("id", Map.of("value", vertexId)));
+                }
+                return jsonBody(phases, Map.of("vertices", Map.of(vertexType, vertices)));
+            }, root -> acceptedCount(root, "accepted_vertices"));
         }
+    }
 
-        return 0;
+    public BatchWriteResult upsertEdgesBatch(String sourceVertexType, String edgeType, String targetVertexType,
+                                             List<Map<String, Object>> edgeData) throws Exception {
+        try (RequestPhases phases = phases("upsertEdgesBatch")) {
+            // Edges to missing vertices are skipped (and counted as failed) instead of creating empty vertices
+            URI uri = URI.create(String.format("%s/graph/%s?vertex_must_exist=true",
+                    config.getBaseUrl(), config.getGraphName()));
+            return writeBatch(phases, uri, JSON, edgeData, batch -> {
+                Map<String, Map<String, List<Map<String, Object>>>> targetsBySource = new LinkedHashMap<>();
+                for (Map<String, Object> edge : batch) {
+                    targetsBySource.computeIfAbsent((String) edge.get("sourceId"), id -> new LinkedHashMap<>())
+                            .computeIfAbsent((String) edge.get("targetId"), id -> new ArrayList<>())
+                            .add(Map.of("relationTypeId", Map.of("value", edge.get("relationTypeId"))));
+                }
+                Map<String, Object> sources = new LinkedHashMap<>();
+                targetsBySource.forEach((sourceId, targets) -> {
+                    Map<String, Object> targetAttributes = new LinkedHashMap<>();
+                    // Parallel edges (same endpoints, different discriminator) are sent as a list
+                    targets.forEach((targetId, attributes) ->
+                            targetAttributes.put(targetId, attributes.size() == 1 ? attributes.get(0) : attributes));
+                    sources.put(sourceId, Map.of(edgeType, Map.of(targetVertexType, targetAttributes)));
+                });
+                return jsonBody(phases, Map.of("edges", Map.of(sourceVertexType, sources)));
+            }, root -> acceptedCount(root, "accepted_edges"));
+        }
     }
 
-    public long countEdges(String edgeType) throws Exception {
-        String url = String.format("%s/builtins/%s/stat/edge_number?type=%s",
+    /**
+     * Deletes vertices with their edges through an installed query that takes the ids as
+     * {@code SET<STRING> ids} and prints how many it found as {@code deleted}. The ids are
+     * posted as JSON, a query string would not hold a batch of them.
+     */
+    public BatchWriteResult deleteVerticesBatch(String queryName, List<String> vertexIds) throws Exception {
+        try (RequestPhases phases = phases("deleteVerticesBatch")) {
+            URI uri = URI.create(String.format("%s/query/%s/%s",
+                    config.getBaseUrl(), config.getGraphName(), queryName));
+            return writeBatch(phases, uri, JSON, vertexIds, batch -> jsonBody(phases, Map.of("ids", batch)),
+                    root -> root.path("results").path(0).path("deleted").asLong(-1));
+        }
+    }
+
+    /**
+     * Loads vertices through the installed loading job, one CSV line per id streamed
+     * straight into the request body.
+     */
+    public BatchWriteResult loadVerticesCsv(String vertexType, List<String> vertexIds) throws Exception {
+        try (RequestPhases phases = phases("loadVerticesCsv")) {
+            return writeBatch(phases, loadingJobUri(config.getLoadingJobNodeFile()), CSV, vertexIds,
+                    batch -> csvBody(batch, (id, line) -> line.field(id)),
+                    root -> loadedCount(root, "vertex", vertexType));
+        }
+    }
+
+    public BatchWriteResult loadEdgesCsv(String edgeType, List<RelationshipBatch> relationships) throws Exception {
+        try (RequestPhases phases = phases("loadEdgesCsv")) {
+            return writeBatch(phases, loadingJobUri(config.getLoadingJobEdgeFile()), CSV, relationships,
+                    batch -> csvBody(batch, (rel, line) -> line.field(rel.sourceId).field(rel.targetId)
+                            .field(rel.relationTypeId)),
+                    root -> loadedCount(root, "edge", edgeType));
+        }
+    }
+
+    private URI loadingJobUri(String filename) {
+        return URI.create(String.format("%s/ddl/%s?tag=%s&filename=%s&sep=%s&eol=%s",
                 config.getBaseUrl(),
                 config.getGraphName(),
-                edgeType);
+                URLEncoder.encode(config.getLoadingJob(), StandardCharsets.UTF_8),
+                URLEncoder.encode(filename, StandardCharsets.UTF_8),
+                URLEncoder.encode(",", StandardCharsets.UTF_8),
+                URLEncoder.encode("\n", StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Sends a batch and checks the count the backend reports as written. Transient failures
+     * (I/O errors, 429, 5xx) are retried with exponential backoff; a batch rejected with 400
+     * is split in half until the bad records are isolated, so one invalid record costs only
+     * itself. Other 4xx responses (auth, unknown graph or job) fail the batch right away.
+     */
+    private <T> BatchWriteResult writeBatch(RequestPhases phases, URI uri, String contentType, List<T> records,
+                                            Function<List<T>, Supplier<InputStream>> body,
+                                            ToLongFunction<JsonNode> written) throws Exception {
+        BatchWriteResult result = BatchWriteResult.builder().attempted(records.size()).build();
+        writeBatch(phases, uri, contentType, records, body, written, result);
+        return result;
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET()
+    private <T> void writeBatch(RequestPhases phases, URI uri, String contentType, List<T> records,
+                                Function<List<T>, Supplier<InputStream>> body,
+                                ToLongFunction<JsonNode> written, BatchWriteResult result) throws Exception {
+        phases.next(RequestPhases.Phase.BUILD);
+        HttpRequest request = withBody(phases, HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Content-Type", contentType), body.apply(records))
                 .build();
+        Response response = sendWithRetry(phases, request, records.size(), result);
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (isTransient(response.statusCode())) {
+            throw new RuntimeException(String.format("Batch write failed after %d attempts. Status: %d, body: %s",
+                    config.getRetryMaxAttempts(), response.statusCode(), response.body()));
+        }
 
-        if (response.statusCode() >= 400) {
-            return 0;
+        JsonNode root = response.statusCode() < 400 ? parse(phases, response.body()) : null;
+        if (root != null && !root.path("error").asBoolean(false)) {
+            long accepted = Math.min(records.size(), written.applyAsLong(root));
+            // Responses without counts (older REST++ versions) are taken as fully accepted
+            accepted = accepted < 0 ? records.size() : accepted;
+            result.setSucceeded(result.getSucceeded() + accepted);
+            result.setFailed(result.getFailed() + records.size() - accepted);
+            if (accepted < records.size()) {
+                log.warn("TigerGraph accepted {} of {} records", accepted, records.size());
+            }
+            return;
         }
 
-        JsonNode root = objectMapper.readTree(response.body());
-        if (root.has("results") && root.get("results").isArray() && root.get("results").size() > 0) {
-            JsonNode result = root.get("results").get(0);
-            if (result.has("e_count")) {
-                return result.get("e_count").asLong();
+        if (response.statusCode() > 400) {
+            throw new RuntimeException(String.format("Batch write rejected. Status: %d, body: %s",
+                    response.statusCode(), response.body()));
+        }
+
+        if (records.size() == 1) {
+            result.setFailed(result.getFailed() + 1);
+            log.warn("TigerGraph rejected record {}: {}. Status: {}",
+                    records.get(0), response.body(), response.statusCode());
+            return;
+        }
+
+        result.setRetried(result.getRetried() + records.size());
+        int middle = records.size() / 2;
+        writeBatch(phases, uri, contentType, records.subList(0, middle), body, written, result);
+        writeBatch(phases, uri, contentType, records.subList(middle, records.size()), body, written, result);
+    }
+
+    private Response sendWithRetry(RequestPhases phases, HttpRequest request, int records,
+                                   BatchWriteResult result) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Response response = send(phases, request);
+                if (!isTransient(response.statusCode()) || attempt >= config.getRetryMaxAttempts()) {
+                    return response;
+                }
+                log.warn("Batch write attempt {} returned {}, retrying", attempt, response.statusCode());
+            } catch (IOException e) {
+                if (attempt >= config.getRetryMaxAttempts()) {
+                    throw e;
+                }
+                log.warn("Batch write attempt {} failed: {}, retrying", attempt, e.getMessage());
             }
+            result.setRetried(result.getRetried() + records);
+            phases.next(RequestPhases.Phase.BACKOFF);
+            Thread.sleep(backoffMillis(attempt));
         }
+    }
 
-        return 0;
+    // Full jitter: uniform in [0, min(max, initial * 2^(attempt-1))] so retrying clients spread out
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(config.getRetryMaxBackoffMs(),
+                config.getRetryInitialBackoffMs() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
     }
 
-    public void upsertVerticesBatch(String vertexType, List<String> vertexIds) throws Exception {
-        String url = String.format("%s/graph/%s",
-                config.getBaseUrl(),
-                config.getGraphName());
+    private Supplier<InputStream> jsonBody(RequestPhases phases, Object payload) {
+        phases.next(RequestPhases.Phase.SERIALIZE);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            return () -> new ByteArrayInputStream(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            phases.pause();
+        }
+    }
 
-        Map<String, Object> payload = new HashMap<>();
-        List<Map<String, Object>> vertices = new ArrayList<>();
-        
-        for (String vertexId : vertexIds) {
-            Map<String, Object> vertex = new HashMap<>();
-            vertex.put(vertexType, Map.of(
-                vertexId, Map.of("id", Map.of("value", vertexId))
-            ));
-            vertices.add(vertex);
+    private JsonNode parse(RequestPhases phases, String body) throws JsonProcessingException {
+        phases.next(RequestPhases.Phase.PARSE);
+        try {
+            return objectMapper.readTree(body);
+        } finally {
+            phases.pause();
         }
-        
-        payload.put("vertices", vertices);
+    }
 
-        String jsonBody = objectMapper.writeValueAsString(payload);
+    private RequestPhases phases(String operation) {
+        return RequestPhases.start(phaseMeters, operation, config.isDebugPhases());
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
+    private static <T> Supplier<InputStream> csvBody(List<T> rows, BiConsumer<T, CsvRowsInputStream.Line> encoder) {
+        return () -> new CsvRowsInputStream<>(rows, encoder);
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Attaches a streamed body, compressed on the fly when {@code tigergraph.compression.request}
+     * is gzip or deflate. The supplier is invoked again for every retry, so each attempt
+     * streams the batch from the start.
+     */
+    private HttpRequest.Builder withBody(RequestPhases phases, HttpRequest.Builder builder,
+                                         Supplier<InputStream> body) {
+        String encoding = config.getRequestCompression();
+        if (GZIP.equalsIgnoreCase(encoding) || DEFLATE.equalsIgnoreCase(encoding)) {
+            builder.header("Content-Encoding", encoding.toLowerCase());
+        }
+        // The HTTP client reads the body on its own thread; reaching its end means the request is sent
+        return builder.POST(HttpRequest.BodyPublishers.ofInputStream(() -> {
+            InputStream payload = new CountingInputStream(body.get(), requestPayloadBytes::add);
+            InputStream encoded = GZIP.equalsIgnoreCase(encoding)
+                    ? new GzipCompressingInputStream(payload, config.getCompressionLevel())
+                    : DEFLATE.equalsIgnoreCase(encoding)
+                    ? new DeflaterInputStream(payload, new Deflater(config.getCompressionLevel()))
+                    : payload;
+            return new CountingInputStream(encoded, bytes -> {
+                requestWireBytes.add(bytes);
+                phases.addRequestBytes(bytes);
+            }, () -> phases.next(RequestPhases.Phase.FIRST_BYTE));
+        }));
+    }
 
-        if (response.statusCode() >= 400) {
-            log.warn("Batch vertex creation failed: {}. Status: {}", response.body(), response.statusCode());
+    /**
+     * Sends a request and decodes the response body while reading it; with
+     * {@code tigergraph.compression.response} the server may answer gzip or deflate encoded.
+     */
+    private Response send(RequestPhases phases, HttpRequest request) throws IOException, InterruptedException {
+        phases.requestSent();
+        phases.next(request.bodyPublisher().isPresent() ? RequestPhases.Phase.SEND : RequestPhases.Phase.FIRST_BYTE);
+        HttpResponse<InputStream> response = httpClient.send(withAcceptEncoding(request),
+                HttpResponse.BodyHandlers.ofInputStream());
+        phases.next(RequestPhases.Phase.BODY_READ);
+        try (InputStream body = decodedBody(phases, response)) {
+            return new Response(response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        } finally {
+            phases.pause();
         }
     }
 
-    public void upsertEdgesBatch(String sourceVertexType, String edgeType, String targetVertexType, 
-                                 List<Map<String, Object>> edgeData) throws Exception {
-        String url = String.format("%s/graph/%s",
-                config.getBaseUrl(),
-                config.getGraphName());
-
-        Map<String, Object> payload = new HashMap<>();
-        List<Map<String, Object>> edges = new ArrayList<>();
-        
-        for (Map<String, Object> edge : edgeData) {
-            String sourceId = (String) edge.get("sourceId");
-            String targetId = (String) edge.get("targetId");
-            Long relationTypeId = (Long) edge.get("relationTypeId");
-            
-            Map<String, Object> edgeMap = new HashMap<>();
-            edgeMap.put(edgeType, Map.of(
-                sourceId, Map.of(
-                    targetId, Map.of(
-                        "relationTypeId", Map.of("value", relationTypeId)
-                    )
-                )
-            ));
-            edges.add(edgeMap);
-        }
-        
-        payload.put("edges", Map.of(
-            sourceVertexType, Map.of(
-                targetVertexType, edges
-            )
-        ));
-
-        String jsonBody = objectMapper.writeValueAsString(payload);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+    private HttpRequest withAcceptEncoding(HttpRequest request) {
+        if (!config.isResponseCompression()) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .header("Accept-Encoding", GZIP + ", " + DEFLATE)
                 .build();
+    }
+
+    private InputStream decodedBody(RequestPhases phases, HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        InputStream wire = new CountingInputStream(response.body(), bytes -> {
+            responseWireBytes.add(bytes);
+            phases.addResponseBytes(bytes);
+        });
+        InputStream decoded = GZIP.equalsIgnoreCase(encoding) ? new GZIPInputStream(wire)
+                : DEFLATE.equalsIgnoreCase(encoding) ? new InflaterInputStream(wire)
+                : wire;
+        return new CountingInputStream(decoded, responsePayloadBytes::add);
+    }
+
+    private static void registerTransferMetrics(MeterRegistry registry, String direction,
+                                                LongAdder payload, LongAdder wire) {
+        FunctionCounter.builder("tigergraph.client.payload.bytes", payload, LongAdder::sum)
+                .description("Uncompressed body bytes").tag("direction", direction).register(registry);
+        FunctionCounter.builder("tigergraph.client.wire.bytes", wire, LongAdder::sum)
+                .description("Body bytes on the wire").tag("direction", direction).register(registry);
+        FunctionCounter.builder("tigergraph.client.saved.bytes", payload, sum -> sum.sum() - wire.sum())
+                .description("Body bytes saved by compression").tag("direction", direction).register(registry);
+    }
+
+    private static boolean isTransient(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    private static long acceptedCount(JsonNode root, String acceptedField) {
+        JsonNode results = root.path("results");
+        if (results.isArray() && results.size() > 0 && results.get(0).has(acceptedField)) {
+            return results.get(0).get(acceptedField).asLong();
+        }
+        return -1;
+    }
 
-        if (response.statusCode() >= 400) {
-            log.warn("Batch edge creation failed: {}. Status: {}", response.body(), response.statusCode());
+    // Loading-job statistics report valid objects per vertex/edge type
+    private static long loadedCount(JsonNode root, String objectKind, String typeName) {
+        JsonNode statistics = root.path("results").path(0).path("statistics");
+        for (JsonNode type : statistics.path(objectKind)) {
+            if (typeName.equals(type.path("typeName").asText())) {
+                return type.path("validObject").asLong();
+            }
         }
+        return statistics.has("validLine") ? statistics.get("validLine").asLong() : -1;
+    }
+
+    private record Response(int statusCode, String body) {
     }
 }
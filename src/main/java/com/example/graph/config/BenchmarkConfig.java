@@ -0,0 +1,23 @@
+package com.example.graph.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class BenchmarkConfig {
+
+    @Value("${graph.benchmark.history.enabled:true}")
+    private boolean historyEnabled;
+
+    @Value("${graph.benchmark.history.file:benchmark-history.jsonl}")
+    private String historyFile;
+
+    @Value("${graph.benchmark.git-commit:${GIT_COMMIT:}}")
+    private String gitCommit;
+
+    // Relative change that counts as a regression once it is also statistically significant
+    @Value("${graph.benchmark.regression-threshold:0.05}")
+    private double regressionThreshold;
+}
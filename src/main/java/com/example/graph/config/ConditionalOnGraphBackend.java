@@ -0,0 +1,22 @@
+package com.example.graph.config;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers the annotated bean when the named backend is the primary one
+ * ({@code graph.database.type}) or is listed in {@code graph.database.backends}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(GraphBackendCondition.class)
+public @interface ConditionalOnGraphBackend {
+
+    String value();
+}
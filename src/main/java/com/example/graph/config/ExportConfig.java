@@ -0,0 +1,25 @@
+package com.example.graph.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class ExportConfig {
+
+    @Value("${graph.export.directory:exports}")
+    private String directory;
+
+    // Nodes per chunk; a checkpoint is written after every chunk
+    @Value("${graph.export.chunk-size:10000}")
+    private int chunkSize;
+
+    // ndjson or csv
+    @Value("${graph.export.format:ndjson}")
+    private String format;
+
+    // gzip or none
+    @Value("${graph.export.compression:gzip}")
+    private String compression;
+}
@@ -0,0 +1,39 @@
+package com.example.graph.config;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Arrays;
+import java.util.Map;
+
+public class GraphBackendCondition implements Condition {
+
+    public static final String TYPE_PROPERTY = "graph.database.type";
+    public static final String BACKENDS_PROPERTY = "graph.database.backends";
+    public static final String DEFAULT_TYPE = "neo4j";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnGraphBackend.class.getName());
+        if (attributes == null) {
+            return false;
+        }
+        return isEnabled(context.getEnvironment(), (String) attributes.get("value"));
+    }
+
+    public static boolean isEnabled(Environment environment, String backend) {
+        if (backend.equalsIgnoreCase(primaryBackend(environment))) {
+            return true;
+        }
+        String backends = environment.getProperty(BACKENDS_PROPERTY, "");
+        return Arrays.stream(backends.split(","))
+                .map(String::trim)
+                .anyMatch(backend::equalsIgnoreCase);
+    }
+
+    public static String primaryBackend(Environment environment) {
+        return environment.getProperty(TYPE_PROPERTY, DEFAULT_TYPE);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.graph.config;
+
+import com.example.graph.generator.DatasetGenerator;
+import com.example.graph.ingest.AdaptiveBatchSizer;
+import com.example.graph.ingest.EdgeDeduplicator;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class IngestConfig {
+
+    @Value("${graph.ingest.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    @Value("${graph.ingest.dedup.drop-self-loops:true}")
+    private boolean dropSelfLoops;
+
+    // At most DatasetGenerator.MAX_ATTEMPTS_PER_EDGE - 1, beyond which the generator has no fresh draws
+    @Value("${graph.ingest.dedup.max-resample-attempts:16}")
+    private int maxResampleAttempts;
+
+    @Value("${graph.ingest.idempotent-writes:true}")
+    private boolean idempotentWrites;
+
+    @Value("${graph.ingest.batch.size:1000}")
+    private int batchSize;
+
+    @Value("${graph.ingest.batch.adaptive:false}")
+    private boolean adaptiveBatching;
+
+    @Value("${graph.ingest.batch.min-size:100}")
+    private int minBatchSize;
+
+    @Value("${graph.ingest.batch.max-size:20000}")
+    private int maxBatchSize;
+
+    @Value("${graph.ingest.batch.step:250}")
+    private int batchSizeStep;
+
+    @Value("${graph.ingest.batch.max-consecutive-failures:5}")
+    private int maxConsecutiveFailures;
+
+    // Bloom filter of CiNode ids (Neo4j): relationship writes naming an id it has never seen fail without a
+    // round-trip. Only sound while this application is the sole writer of CiNode nodes.
+    @Value("${graph.ingest.existence-filter.enabled:true}")
+    private boolean existenceFilterEnabled;
+
+    @Value("${graph.ingest.existence-filter.expected-nodes:1000000}")
+    private long existenceFilterExpectedNodes;
+
+    @Value("${graph.ingest.existence-filter.false-positive-rate:0.01}")
+    private double existenceFilterFalsePositiveRate;
+
+    // Deleted ids stay in the filter until it is rebuilt from an id scan, once deletes exceed this share of it
+    @Value("${graph.ingest.existence-filter.rebuild-deleted-ratio:0.25}")
+    private double existenceFilterRebuildDeletedRatio;
+
+    // Neo4j relationship batches of at least min-batch-size rows are committed by this many threads in
+    // conflict-free groups; 1 writes every batch in a single transaction
+    @Value("${graph.ingest.parallel.parallelism:1}")
+    private int parallelism;
+
+    @Value("${graph.ingest.parallel.min-batch-size:5000}")
+    private int parallelMinBatchSize;
+
+    // Retries of a group that failed with a deadlock or another transient error
+    @Value("${graph.ingest.parallel.transient-retries:5}")
+    private int parallelTransientRetries;
+
+    // Mutations per backend batch and acknowledgement on POST /api/graph/batch
+    @Value("${graph.ingest.stream.chunk-size:1000}")
+    private int streamChunkSize;
+
+    @PostConstruct
+    void validate() {
+        if (maxResampleAttempts < 0 || maxResampleAttempts >= DatasetGenerator.MAX_ATTEMPTS_PER_EDGE) {
+            throw new IllegalArgumentException("graph.ingest.dedup.max-resample-attempts must be in [0, "
+                    + (DatasetGenerator.MAX_ATTEMPTS_PER_EDGE - 1) + "]: " + maxResampleAttempts);
+        }
+    }
+
+    public EdgeDeduplicator newDeduplicator() {
+        return new EdgeDeduplicator(dropSelfLoops);
+    }
+
+    public AdaptiveBatchSizer newBatchSizer() {
+        return new AdaptiveBatchSizer(adaptiveBatching, batchSize, minBatchSize, maxBatchSize, batchSizeStep);
+    }
+}
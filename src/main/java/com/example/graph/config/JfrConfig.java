@@ -0,0 +1,18 @@
+package com.example.graph.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class JfrConfig {
+
+    // Where POST /api/jfr/recording/stop writes the .jfr file
+    @Value("${graph.jfr.directory:recordings}")
+    private String directory;
+
+    // JDK settings file used when a start request names none: default (~1% overhead) or profile
+    @Value("${graph.jfr.settings:profile}")
+    private String settings;
+}
@@ -0,0 +1,28 @@
+package com.example.graph.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class Neo4jModelConfig {
+
+    public static final String TYPED_RELATIONSHIP_PREFIX = "RELATES_TO_";
+
+    // property: RELATES_TO {relationTypeId}; typed: one relationship type per id (RELATES_TO_3)
+    @Value("${graph.neo4j.relationship-model:property}")
+    private String relationshipModel;
+
+    // Relationships converted per transaction by the model migration
+    @Value("${graph.neo4j.migration.chunk-size:10000}")
+    private int migrationChunkSize;
+
+    public boolean isTypedRelationships() {
+        return "typed".equalsIgnoreCase(relationshipModel);
+    }
+
+    public static String typedRelationship(long relationTypeId) {
+        return TYPED_RELATIONSHIP_PREFIX + relationTypeId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.graph.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnGraphBackend("neo4j")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class Neo4jSchemaInitializer implements ApplicationRunner {
+
+    private final Neo4jClient neo4jClient;
+
+    @Value("${graph.neo4j.create-constraints:true}")
+    private boolean createConstraints;
+
+    // MERGE on CiNode.id needs a uniqueness constraint, otherwise every upsert is a label scan.
+    // Runs before the warmup so the cached query plans already use the constraint's index.
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!createConstraints) {
+            return;
+        }
+        try {
+            neo4jClient.query("CREATE CONSTRAINT ci_node_id IF NOT EXISTS FOR (n:CiNode) REQUIRE n.id IS UNIQUE")
+                    .run();
+            log.info("Ensured uniqueness constraint on CiNode.id");
+        } catch (Exception e) {
+            log.warn("Could not create CiNode.id constraint: {}", e.getMessage());
+        }
+    }
+}
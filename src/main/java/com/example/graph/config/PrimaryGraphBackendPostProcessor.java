@@ -0,0 +1,58 @@
+package com.example.graph.config;
+
+import com.example.graph.service.GraphService;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * With several backends registered, marks the {@link GraphService} of
+ * {@code graph.database.type} as primary so single-backend injection points keep working.
+ */
+@Component
+public class PrimaryGraphBackendPostProcessor implements BeanDefinitionRegistryPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+        String primary = GraphBackendCondition.primaryBackend(environment);
+        for (String name : registry.getBeanDefinitionNames()) {
+            BeanDefinition definition = registry.getBeanDefinition(name);
+            if (!(definition instanceof AnnotatedBeanDefinition annotated) || !isGraphService(annotated)) {
+                continue;
+            }
+            Map<String, Object> attributes = annotated.getMetadata()
+                    .getAnnotationAttributes(ConditionalOnGraphBackend.class.getName());
+            if (attributes != null && primary.equalsIgnoreCase((String) attributes.get("value"))) {
+                definition.setPrimary(true);
+            }
+        }
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+    }
+
+    private static boolean isGraphService(AnnotatedBeanDefinition definition) {
+        for (String interfaceName : definition.getMetadata().getInterfaceNames()) {
+            if (GraphService.class.getName().equals(interfaceName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.graph.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class QueryCacheConfig {
+
+    @Value("${graph.cache.relation-type.enabled:true}")
+    private boolean relationTypeCacheEnabled;
+
+    // Nodes plus relationships held across all cached results; least recently used results are evicted beyond it
+    @Value("${graph.cache.relation-type.max-records:200000}")
+    private long relationTypeCacheMaxRecords;
+}
@@ -2,11 +2,10 @@ package com.example.graph.config;
 
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@ConditionalOnProperty(name = "graph.database.type", havingValue = "tigergraph")
+@ConditionalOnGraphBackend("tigergraph")
 @Getter
 public class TigerGraphConfig {
 
@@ -28,6 +27,57 @@ public class TigerGraphConfig {
     @Value("${tigergraph.token:}")
     private String token;
 
+    @Value("${tigergraph.retry.max-attempts:4}")
+    private int retryMaxAttempts;
+
+    @Value("${tigergraph.retry.initial-backoff-ms:200}")
+    private long retryInitialBackoffMs;
+
+    @Value("${tigergraph.retry.max-backoff-ms:5000}")
+    private long retryMaxBackoffMs;
+
+    // upsert: REST++ JSON upserts; loading-job: CSV posted to the load_ci_graph loading job
+    @Value("${tigergraph.ingest-mode:upsert}")
+    private String ingestMode;
+
+    @Value("${tigergraph.loading-job.name:load_ci_graph}")
+    private String loadingJob;
+
+    @Value("${tigergraph.loading-job.node-file:node_file}")
+    private String loadingJobNodeFile;
+
+    @Value("${tigergraph.loading-job.edge-file:edge_file}")
+    private String loadingJobEdgeFile;
+
+    // none, gzip or deflate for batch request bodies
+    @Value("${tigergraph.compression.request:none}")
+    private String requestCompression;
+
+    // Send Accept-Encoding and decode compressed responses
+    @Value("${tigergraph.compression.response:false}")
+    private boolean responseCompression;
+
+    @Value("${tigergraph.compression.level:6}")
+    private int compressionLevel;
+
+    // Full vertex reads: above 1, getAllNodes runs the scan query in this many slices
+    @Value("${tigergraph.scan.partitions:1}")
+    private int scanPartitions;
+
+    @Value("${tigergraph.scan.max-in-flight:4}")
+    private int scanMaxInFlight;
+
+    @Value("${tigergraph.scan.query:scanCiNodes}")
+    private String scanQuery;
+
+    // Logs the build/serialize/send/first-byte/read/parse breakdown of every client call
+    @Value("${tigergraph.debug.phases:false}")
+    private boolean debugPhases;
+
+    public boolean isLoadingJobIngest() {
+        return "loading-job".equalsIgnoreCase(ingestMode);
+    }
+
     public String getBaseUrl() {
         return String.format("http://%s:%d", host, restPort);
     }
@@ -0,0 +1,24 @@
+package com.example.graph.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class WarmupConfig {
+
+    @Value("${graph.warmup.enabled:false}")
+    private boolean enabled;
+
+    // Rounds of dummy reads/writes so the JIT compiles the request and mapping paths
+    @Value("${graph.warmup.iterations:20}")
+    private int iterations;
+
+    // Concurrent connections opened up front in the Bolt pool and the REST++ HTTP client
+    @Value("${graph.warmup.connections:4}")
+    private int connections;
+
+    @Value("${graph.warmup.fail-on-error:false}")
+    private boolean failOnError;
+}
@@ -0,0 +1,23 @@
+package com.example.graph.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile ({@code application/x-jackson-smile}) next to JSON for every request and response
+ * body: clients choose it with {@code Content-Type} and {@code Accept}. Smile writes each
+ * property name once per payload and refers back to it afterwards, which is most of the
+ * saving on node lists with their repeated relationship fields.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        // Same modules and features as the JSON converter; the builder bean is a fresh prototype
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
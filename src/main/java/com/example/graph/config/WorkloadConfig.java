@@ -0,0 +1,29 @@
+package com.example.graph.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class WorkloadConfig {
+
+    // Start capturing GraphController calls at startup; otherwise use POST /api/workload/capture/start
+    @Value("${graph.workload.capture.enabled:false}")
+    private boolean captureEnabled;
+
+    // Capture logs are written to and replayed from this directory only
+    @Value("${graph.workload.directory:workloads}")
+    private String directory;
+
+    @Value("${graph.workload.capture.file:workload.gwl}")
+    private String captureFile;
+
+    // Calls waiting for the writer thread; further calls are dropped (and counted) rather than blocking requests
+    @Value("${graph.workload.capture.queue-capacity:65536}")
+    private int queueCapacity;
+
+    // Upper bound on concurrently replayed calls, whatever the captured timing implies
+    @Value("${graph.workload.replay.max-concurrency:256}")
+    private int replayMaxConcurrency;
+}
@@ -0,0 +1,62 @@
+package com.example.graph.controller;
+
+import com.example.graph.benchmark.BenchmarkHistoryStore;
+import com.example.graph.benchmark.RegressionDetector;
+import com.example.graph.dto.BenchmarkRecord;
+import com.example.graph.dto.RegressionReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/benchmarks")
+@RequiredArgsConstructor
+@Slf4j
+public class BenchmarkController {
+
+    private final BenchmarkHistoryStore historyStore;
+    private final RegressionDetector regressionDetector;
+
+    @GetMapping("/history")
+    public ResponseEntity<List<BenchmarkRecord>> getHistory(
+            @RequestParam(required = false) String database,
+            @RequestParam(required = false) String operation,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<BenchmarkRecord> records = historyStore.findAll().stream()
+                .filter(record -> database == null || database.equalsIgnoreCase(record.getDatabase()))
+                .filter(record -> operation == null || operation.equalsIgnoreCase(record.getOperation()))
+                .toList();
+        return ResponseEntity.ok(records.subList(Math.max(0, records.size() - limit), records.size()));
+    }
+
+    @GetMapping("/regressions")
+    public ResponseEntity<RegressionReport> checkRegression(
+            @RequestParam String candidate,
+            @RequestParam(required = false) String baseline) {
+        Optional<BenchmarkRecord> candidateRecord = historyStore.findById(candidate);
+        if (candidateRecord.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        BenchmarkRecord run = candidateRecord.get();
+        // Without an explicit baseline, compare against the previous run of the same operation
+        Optional<BenchmarkRecord> baselineRecord = baseline != null
+                ? historyStore.findById(baseline)
+                : historyStore.findPrevious(run);
+        if (baselineRecord.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        RegressionReport report = regressionDetector.compare(baselineRecord.get(), run);
+        if (report.isRegression()) {
+            log.warn("Regression detected in {} {}: {}", report.getDatabase(), report.getOperation(), report.getFindings());
+        }
+        return ResponseEntity.ok(report);
+    }
+}
@@ -1,17 +1,24 @@
 package com.example.graph.controller;
 
+import com.example.graph.benchmark.BenchmarkHistoryStore;
+import com.example.graph.dto.BatchWriteResult;
 import com.example.graph.dto.PerformanceResult;
+import com.example.graph.generator.DatasetGenerator;
+import com.example.graph.ingest.AdaptiveBatchSizer;
+import com.example.graph.ingest.BackendTimings;
+import com.example.graph.ingest.BulkLoader;
+import com.example.graph.ingest.EdgeDeduplicator;
 import com.example.graph.service.GraphService;
-import com.example.graph.service.GraphService.RelationshipBatch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
 
 @RestController
 @RequestMapping("/api/bulk")
@@ -20,17 +27,25 @@ import java.util.UUID;
 public class BulkInsertController {
 
     private final GraphService graphService;
-    
-    private static final int BATCH_SIZE = 1000;
+    private final BulkLoader bulkLoader;
+    private final BenchmarkHistoryStore historyStore;
 
     @PostMapping("/insert-large-dataset")
     public ResponseEntity<PerformanceResult> insertLargeDataset(
             @RequestParam(defaultValue = "50000") int nodeCount,
-            @RequestParam(defaultValue = "200000") int relationshipCount) {
+            @RequestParam(defaultValue = "200000") int relationshipCount,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(defaultValue = "uniform") String topology,
+            @RequestParam(defaultValue = "0") double relationTypeSkew) {
         
         long overallStartTime = System.currentTimeMillis();
         
-        log.info("Starting bulk insert: {} nodes, {} relationships", nodeCount, relationshipCount);
+        log.info("Starting bulk insert: {} nodes, {} relationships, seed {}", nodeCount, relationshipCount, seed);
+        try {
+            bulkLoader.validateDataset(nodeCount, relationshipCount, topology, relationTypeSkew);
+        } catch (IllegalArgumentException e) {
+            return invalidRequest("BULK_INSERT_LARGE_DATASET", e.getMessage());
+        }
         
         try {
             // Clear existing data
@@ -38,15 +53,30 @@ public class BulkInsertController {
             graphService.deleteAllNodes();
             
             // Phase 1: Create nodes in batches
-            log.info("Creating {} nodes in batches of {}...", nodeCount, BATCH_SIZE);
-            List<String> allNodeIds = createNodesBatched(nodeCount);
+            AdaptiveBatchSizer sizer = bulkLoader.newBatchSizer();
+            log.info("Creating {} nodes in batches of {}...", nodeCount, sizer.nextSize());
+            BackendTimings timings = new BackendTimings();
+            DatasetGenerator generator;
+            LongFunction<String> nodeIdResolver;
+            if (seed != null) {
+                generator = bulkLoader.newGenerator(seed, nodeCount, relationshipCount, topology, relationTypeSkew);
+                bulkLoader.createNodesBatched(graphService, generator, timings, sizer);
+                nodeIdResolver = DatasetGenerator::nodeId;
+            } else {
+                List<String> allNodeIds = bulkLoader.createNodesBatched(graphService, nodeCount, timings, sizer);
+                generator = bulkLoader.newGenerator(ThreadLocalRandom.current().nextLong(), allNodeIds.size(),
+                        relationshipCount, topology, relationTypeSkew);
+                nodeIdResolver = index -> allNodeIds.get((int) index);
+            }
             
             // Force garbage collection between phases
             System.gc();
             
             // Phase 2: Create relationships in batches
-            log.info("Creating {} relationships in batches of {}...", relationshipCount, BATCH_SIZE);
-            createRelationshipsBatched(allNodeIds, relationshipCount);
+            log.info("Creating {} relationships in batches of {}...", relationshipCount, sizer.nextSize());
+            EdgeDeduplicator deduplicator = bulkLoader.newDeduplicator();
+            bulkLoader.createRelationshipsBatched(graphService, generator, nodeIdResolver, relationshipCount,
+                    deduplicator, timings, sizer);
             
             long overallEndTime = System.currentTimeMillis();
             long totalDuration = overallEndTime - overallStartTime;
@@ -55,23 +85,30 @@ public class BulkInsertController {
             long finalNodeCount = graphService.countNodes();
             long finalRelCount = graphService.countRelationships();
             
+            BatchWriteResult writes = timings.getWrites(graphService);
             PerformanceResult result = PerformanceResult.builder()
                     .database(graphService.getDatabaseType())
                     .operation("BULK_INSERT_LARGE_DATASET")
                     .executionTimeMs(totalDuration)
-                    .recordCount(nodeCount + relationshipCount)
+                    .recordCount(writes.getSucceeded())
+                    .seed(seed)
+                    .latency(timings.getLatency(graphService))
+                    .batchSizes(sizer.getHistory())
+                    .writes(writes)
                     .additionalInfo(String.format(
-                            "Created %d nodes (%.2f nodes/sec) and %d relationships (%.2f rels/sec) in %.2f seconds. " +
-                            "Final counts: %d nodes, %d relationships",
-                            nodeCount, (nodeCount * 1000.0 / totalDuration),
-                            relationshipCount, (relationshipCount * 1000.0 / totalDuration),
-                            totalDuration / 1000.0,
-                            finalNodeCount, finalRelCount
+                            "Committed %d of %d records (%.2f records/sec) in %.2f seconds, %d failed, %d retried. " +
+                            "Final counts: %d nodes, %d relationships. Topology: %s. %s",
+                            writes.getSucceeded(), nodeCount + relationshipCount,
+                            (writes.getSucceeded() * 1000.0 / totalDuration), totalDuration / 1000.0,
+                            writes.getFailed(), writes.getRetried(),
+                            finalNodeCount, finalRelCount, generator.getTopology().getName(),
+                            BulkLoader.describeDedup(deduplicator)
                     ))
                     .build();
             
             log.info("Bulk insert completed: {} ms", totalDuration);
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(historyStore.record(result, runConfig(nodeCount, relationshipCount,
+                    generator.getTopology().getName(), relationTypeSkew, sizer)));
             
         } catch (Exception e) {
             log.error("Error during bulk insert", e);
@@ -89,33 +126,49 @@ public class BulkInsertController {
 
     @PostMapping("/insert-nodes-only")
     public ResponseEntity<PerformanceResult> insertNodesOnly(
-            @RequestParam(defaultValue = "50000") int nodeCount) {
+            @RequestParam(defaultValue = "50000") int nodeCount,
+            @RequestParam(required = false) Long seed) {
         
         long startTime = System.currentTimeMillis();
         
-        log.info("Starting bulk node insert: {} nodes", nodeCount);
+        log.info("Starting bulk node insert: {} nodes, seed {}", nodeCount, seed);
         
         try {
-            List<String> nodeIds = createNodesBatched(nodeCount);
+            BackendTimings timings = new BackendTimings();
+            AdaptiveBatchSizer sizer = bulkLoader.newBatchSizer();
+            if (seed != null) {
+                bulkLoader.createNodesBatched(graphService,
+                        new DatasetGenerator(seed, nodeCount, BulkLoader.RELATION_TYPE_COUNT), timings, sizer);
+            } else {
+                bulkLoader.createNodesBatched(graphService, nodeCount, timings, sizer);
+            }
             
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
             
             long finalNodeCount = graphService.countNodes();
             
+            BatchWriteResult writes = timings.getWrites(graphService);
             PerformanceResult result = PerformanceResult.builder()
                     .database(graphService.getDatabaseType())
                     .operation("BULK_INSERT_NODES")
                     .executionTimeMs(duration)
-                    .recordCount(nodeCount)
+                    .recordCount(writes.getSucceeded())
+                    .seed(seed)
+                    .latency(timings.getLatency(graphService))
+                    .batchSizes(sizer.getHistory())
+                    .writes(writes)
                     .additionalInfo(String.format(
-                            "Created %d nodes in %.2f seconds (%.2f nodes/sec). Final count: %d",
-                            nodeCount, duration / 1000.0, (nodeCount * 1000.0 / duration), finalNodeCount
+                            "Committed %d of %d nodes in %.2f seconds (%.2f nodes/sec), %d failed, %d retried. " +
+                            "Final count: %d",
+                            writes.getSucceeded(), nodeCount, duration / 1000.0,
+                            (writes.getSucceeded() * 1000.0 / duration), writes.getFailed(), writes.getRetried(),
+                            finalNodeCount
                     ))
                     .build();
             
             log.info("Bulk node insert completed: {} ms", duration);
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(historyStore.record(result, runConfig(nodeCount, 0, null, 0, sizer)));
             
         } catch (Exception e) {
             log.error("Error during bulk node insert", e);
@@ -133,23 +186,46 @@ public class BulkInsertController {
 
     @PostMapping("/insert-relationships-only")
     public ResponseEntity<PerformanceResult> insertRelationshipsOnly(
-            @RequestParam(defaultValue = "200000") int relationshipCount) {
+            @RequestParam(defaultValue = "200000") int relationshipCount,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(defaultValue = "uniform") String topology,
+            @RequestParam(defaultValue = "0") double relationTypeSkew) {
         
+        try {
+            // Any positive node count will do: the real one is only known after reading the nodes
+            bulkLoader.validateDataset(1, relationshipCount, topology, relationTypeSkew);
+        } catch (IllegalArgumentException e) {
+            return invalidRequest("BULK_INSERT_RELATIONSHIPS", e.getMessage());
+        }
+
         log.info("Checking existing nodes for relationships...");
-        List<String> existingNodeIds = graphService.getAllNodes().stream()
-                .map(node -> node.getId())
-                .toList();
+        DatasetGenerator generator;
+        LongFunction<String> nodeIdResolver;
+        long existingNodeCount;
+        if (seed != null) {
+            // Seeded datasets use index-derived ids, so the node count is all we need to address them
+            existingNodeCount = graphService.countNodes();
+            if (existingNodeCount > 0 && !hasIndexDerivedIds(existingNodeCount)) {
+                return invalidRequest("BULK_INSERT_RELATIONSHIPS",
+                        "A seed needs nodes loaded by a seeded insert (ids node-000000000000 onwards); "
+                                + "reload the nodes with a seed or omit it");
+            }
+            generator = existingNodeCount > 0
+                    ? bulkLoader.newGenerator(seed, existingNodeCount, relationshipCount, topology, relationTypeSkew) : null;
+            nodeIdResolver = DatasetGenerator::nodeId;
+        } else {
+            List<String> existingNodeIds = graphService.getAllNodes().stream()
+                    .map(node -> node.getId())
+                    .toList();
+            existingNodeCount = existingNodeIds.size();
+            generator = existingNodeCount > 0 ? bulkLoader.newGenerator(ThreadLocalRandom.current().nextLong(),
+                    existingNodeCount, relationshipCount, topology, relationTypeSkew) : null;
+            nodeIdResolver = index -> existingNodeIds.get((int) index);
+        }
         
-        if (existingNodeIds.size() < 2) {
-            return ResponseEntity.badRequest().body(
-                    PerformanceResult.builder()
-                            .database(graphService.getDatabaseType())
-                            .operation("BULK_INSERT_RELATIONSHIPS")
-                            .executionTimeMs(-1)
-                            .recordCount(0)
-                            .additionalInfo("Error: Need at least 2 nodes in database. Found: " + existingNodeIds.size())
-                            .build()
-            );
+        if (existingNodeCount < 2) {
+            return invalidRequest("BULK_INSERT_RELATIONSHIPS",
+                    "Need at least 2 nodes in database. Found: " + existingNodeCount);
         }
         
         long startTime = System.currentTimeMillis();
@@ -157,26 +233,39 @@ public class BulkInsertController {
         log.info("Starting bulk relationship insert: {} relationships", relationshipCount);
         
         try {
-            createRelationshipsBatched(existingNodeIds, relationshipCount);
+            EdgeDeduplicator deduplicator = bulkLoader.newDeduplicator();
+            BackendTimings timings = new BackendTimings();
+            AdaptiveBatchSizer sizer = bulkLoader.newBatchSizer();
+            bulkLoader.createRelationshipsBatched(graphService, generator, nodeIdResolver, relationshipCount,
+                    deduplicator, timings, sizer);
             
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
             
             long finalRelCount = graphService.countRelationships();
             
+            BatchWriteResult writes = timings.getWrites(graphService);
             PerformanceResult result = PerformanceResult.builder()
                     .database(graphService.getDatabaseType())
                     .operation("BULK_INSERT_RELATIONSHIPS")
                     .executionTimeMs(duration)
-                    .recordCount(relationshipCount)
+                    .recordCount(writes.getSucceeded())
+                    .seed(seed)
+                    .latency(timings.getLatency(graphService))
+                    .batchSizes(sizer.getHistory())
+                    .writes(writes)
                     .additionalInfo(String.format(
-                            "Created %d relationships in %.2f seconds (%.2f rels/sec). Final count: %d",
-                            relationshipCount, duration / 1000.0, (relationshipCount * 1000.0 / duration), finalRelCount
+                            "Committed %d of %d relationships in %.2f seconds (%.2f rels/sec), %d failed, %d retried. " +
+                            "Final count: %d. %s",
+                            writes.getSucceeded(), relationshipCount, duration / 1000.0,
+                            (writes.getSucceeded() * 1000.0 / duration), writes.getFailed(), writes.getRetried(),
+                            finalRelCount, BulkLoader.describeDedup(deduplicator)
                     ))
                     .build();
             
             log.info("Bulk relationship insert completed: {} ms", duration);
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(historyStore.record(result, runConfig(existingNodeCount, relationshipCount,
+                    generator.getTopology().getName(), relationTypeSkew, sizer)));
             
         } catch (Exception e) {
             log.error("Error during bulk relationship insert", e);
@@ -192,66 +281,35 @@ public class BulkInsertController {
         }
     }
 
-    private List<String> createNodesBatched(int totalNodes) {
-        List<String> allNodeIds = new ArrayList<>();
-        int batches = (int) Math.ceil((double) totalNodes / BATCH_SIZE);
-        
-        for (int i = 0; i < batches; i++) {
-            int batchStart = i * BATCH_SIZE;
-            int batchEnd = Math.min(batchStart + BATCH_SIZE, totalNodes);
-            int batchSize = batchEnd - batchStart;
-            
-            List<String> batchNodeIds = new ArrayList<>(batchSize);
-            for (int j = 0; j < batchSize; j++) {
-                batchNodeIds.add("node-" + UUID.randomUUID());
-            }
-            
-            log.info("Creating node batch {}/{} ({} nodes)...", i + 1, batches, batchSize);
-            graphService.createNodesBatch(batchNodeIds);
-            allNodeIds.addAll(batchNodeIds);
-            
-            // Clear batch list to free memory
-            batchNodeIds.clear();
-            
-            // Periodic garbage collection hint every 10 batches
-            if ((i + 1) % 10 == 0) {
-                System.gc();
-            }
-        }
-        
-        return allNodeIds;
+    // Seeded loads number nodes 0..n-1, so both ends of that range must be present
+    private boolean hasIndexDerivedIds(long nodeCount) {
+        return graphService.getNode(DatasetGenerator.nodeId(0)).isPresent()
+                && graphService.getNode(DatasetGenerator.nodeId(nodeCount - 1)).isPresent();
     }
 
-    private void createRelationshipsBatched(List<String> nodeIds, int totalRelationships) {
-        Random random = new Random();
-        int nodeCount = nodeIds.size();
-        int batches = (int) Math.ceil((double) totalRelationships / BATCH_SIZE);
-        
-        for (int i = 0; i < batches; i++) {
-            int batchStart = i * BATCH_SIZE;
-            int batchEnd = Math.min(batchStart + BATCH_SIZE, totalRelationships);
-            int batchSize = batchEnd - batchStart;
-            
-            List<RelationshipBatch> batchRelationships = new ArrayList<>(batchSize);
-            for (int j = 0; j < batchSize; j++) {
-                String sourceId = nodeIds.get(random.nextInt(nodeCount));
-                String targetId = nodeIds.get(random.nextInt(nodeCount));
-                Long relationTypeId = (long) (random.nextInt(10) + 1);
-                
-                batchRelationships.add(new RelationshipBatch(sourceId, targetId, relationTypeId));
-            }
-            
-            log.info("Creating relationship batch {}/{} ({} relationships)...", i + 1, batches, batchSize);
-            graphService.createRelationshipsBatch(batchRelationships);
-            
-            // Clear batch list to free memory
-            batchRelationships.clear();
-            
-            // Periodic garbage collection hint every 10 batches
-            if ((i + 1) % 10 == 0) {
-                System.gc();
-            }
-        }
+    private ResponseEntity<PerformanceResult> invalidRequest(String operation, String message) {
+        return ResponseEntity.badRequest().body(
+                PerformanceResult.builder()
+                        .database(graphService.getDatabaseType())
+                        .operation(operation)
+                        .executionTimeMs(-1)
+                        .recordCount(0)
+                        .additionalInfo("Error: " + message)
+                        .build()
+        );
+    }
+
+    private Map<String, Object> runConfig(long nodeCount, long relationshipCount, String topology,
+                                          double relationTypeSkew, AdaptiveBatchSizer sizer) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("nodeCount", nodeCount);
+        config.put("relationshipCount", relationshipCount);
+        config.put("topology", topology);
+        config.put("relationTypeSkew", relationTypeSkew);
+        config.put("batchSize", sizer.getHistory().get(0).getBatchSize());
+        config.put("adaptiveBatching", sizer.isAdaptive());
+        config.put("dedup", bulkLoader.isDedupEnabled());
+        return config;
     }
 
     @DeleteMapping("/clear-all")
@@ -0,0 +1,51 @@
+package com.example.graph.controller;
+
+import com.example.graph.dto.ComparisonReport;
+import com.example.graph.service.ComparisonRunner;
+import com.example.graph.service.GraphServiceRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/compare")
+@RequiredArgsConstructor
+@Slf4j
+public class ComparisonController {
+
+    private final ComparisonRunner comparisonRunner;
+    private final GraphServiceRegistry registry;
+
+    @GetMapping("/backends")
+    public ResponseEntity<Collection<String>> getBackends() {
+        return ResponseEntity.ok(registry.getNames());
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<ComparisonReport> run(
+            @RequestParam(required = false) List<String> backends,
+            @RequestParam(defaultValue = "5000") int nodeCount,
+            @RequestParam(defaultValue = "20000") int relationshipCount,
+            @RequestParam(defaultValue = "42") long seed,
+            @RequestParam(defaultValue = "uniform") String topology,
+            @RequestParam(defaultValue = "0") double relationTypeSkew,
+            @RequestParam(defaultValue = ComparisonRunner.MODE_INTERLEAVED) String mode,
+            @RequestParam(defaultValue = "10") int readRepetitions) {
+
+        List<String> names = backends != null ? backends : new ArrayList<>(registry.getNames());
+        log.info("Running comparison on {} ({} mode): {} nodes, {} relationships, seed {}",
+                names, mode, nodeCount, relationshipCount, seed);
+        try {
+            return ResponseEntity.ok(comparisonRunner.run(names, nodeCount, relationshipCount, seed,
+                    topology, relationTypeSkew, mode, readRepetitions));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid comparison request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.graph.controller;
+
+import com.example.graph.dto.ExportReport;
+import com.example.graph.export.GraphExporter;
+import com.example.graph.service.GraphServiceRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private final GraphExporter graphExporter;
+    private final GraphServiceRegistry registry;
+
+    // format: ndjson or csv; compression: gzip or none; resume continues from <name>.checkpoint.json
+    @PostMapping
+    public ResponseEntity<ExportReport> export(
+            @RequestParam(required = false) String backend,
+            @RequestParam(defaultValue = "graph-export") String name,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String compression,
+            @RequestParam(required = false) Integer chunkSize,
+            @RequestParam(defaultValue = "false") boolean resume) throws IOException {
+        try {
+            return ResponseEntity.ok(graphExporter.export(backend != null ? registry.get(backend) : registry.getPrimary(),
+                    name, format, compression, chunkSize, resume));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid export request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.graph.controller;
+
+import com.example.graph.dto.RecordingStatus;
+import com.example.graph.jfr.FlightRecordingManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/jfr/recording")
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecordingController {
+
+    private final FlightRecordingManager recordingManager;
+
+    @GetMapping
+    public ResponseEntity<RecordingStatus> getStatus() {
+        return ResponseEntity.ok(recordingManager.getStatus());
+    }
+
+    // settings: a JDK settings name such as "default" or "profile"
+    @PostMapping("/start")
+    public ResponseEntity<RecordingStatus> start(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String settings) {
+        try {
+            return ResponseEntity.ok(recordingManager.start(name, settings));
+        } catch (IllegalStateException e) {
+            log.warn("Recording not started: {}", e.getMessage());
+            return ResponseEntity.status(409).body(recordingManager.getStatus());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid recording request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<RecordingStatus> stop() throws IOException {
+        return ResponseEntity.ok(recordingManager.stop());
+    }
+}
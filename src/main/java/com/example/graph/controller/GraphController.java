@@ -3,21 +3,38 @@ package com.example.graph.controller;
 import com.example.graph.domain.CiNode;
 import com.example.graph.dto.CreateNodeRequest;
 import com.example.graph.dto.CreateRelationshipRequest;
+import com.example.graph.dto.NodeDegree;
+import com.example.graph.dto.RelationshipPage;
+import com.example.graph.ingest.MutationStreamProcessor;
 import com.example.graph.service.GraphService;
-import lombok.RequiredArgsConstructor;
+import com.example.graph.workload.WorkloadCapture;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/graph")
-@RequiredArgsConstructor
 @Slf4j
 public class GraphController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final GraphService graphService;
+    private final MutationStreamProcessor mutationStreamProcessor;
+
+    public GraphController(GraphService graphService, WorkloadCapture workloadCapture,
+                           MutationStreamProcessor mutationStreamProcessor) {
+        // API traffic is what a captured workload replays
+        this.graphService = workloadCapture.wrap(graphService);
+        this.mutationStreamProcessor = mutationStreamProcessor;
+    }
 
     @PostMapping("/nodes")
     public ResponseEntity<CiNode> createNode(@RequestBody CreateNodeRequest request) {
@@ -35,6 +52,15 @@ public class GraphController {
         return ResponseEntity.ok().build();
     }
 
+    // NDJSON of upsertNode/upsertEdge/deleteNode mutations, applied in chunks while the body is read;
+    // answers one acknowledgement line per committed chunk and a final totals line
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> applyMutations(InputStream body) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(out -> mutationStreamProcessor.process(graphService, body, out));
+    }
+
     @GetMapping("/nodes/{id}")
     public ResponseEntity<CiNode> getNode(@PathVariable String id) {
         return graphService.getNode(id)
@@ -69,13 +95,63 @@ public class GraphController {
         return ResponseEntity.ok(graphService.countRelationships());
     }
 
+    @GetMapping("/stats/relationships/by-type")
+    public ResponseEntity<Map<Long, Long>> countRelationshipsByType() {
+        return ResponseEntity.ok(graphService.countRelationshipsByType());
+    }
+
+    @GetMapping("/stats/degree/top")
+    public ResponseEntity<List<NodeDegree>> topNodesByDegree(
+            @RequestParam(defaultValue = "out") String direction,
+            @RequestParam(defaultValue = "10") int k) {
+        Boolean incoming = incoming(direction);
+        if (incoming == null || k < 1 || k > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(graphService.topNodesByDegree(incoming, k));
+    }
+
+    @GetMapping("/stats/degree/histogram")
+    public ResponseEntity<Map<Long, Long>> degreeHistogram(@RequestParam(defaultValue = "out") String direction) {
+        Boolean incoming = incoming(direction);
+        if (incoming == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(graphService.degreeHistogram(incoming));
+    }
+
     @GetMapping("/nodes/by-relation-type/{relationTypeId}")
     public ResponseEntity<List<CiNode>> getNodesByRelationType(@PathVariable Long relationTypeId) {
         return ResponseEntity.ok(graphService.getNodesByRelationTypeId(relationTypeId));
     }
 
+    @GetMapping("/nodes/{id}/relationships")
+    public ResponseEntity<RelationshipPage> getRelationships(
+            @PathVariable String id,
+            @RequestParam(required = false) Long relationTypeId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(graphService.getRelationships(id, relationTypeId, after, limit));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid relationship page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/database-type")
     public ResponseEntity<String> getDatabaseType() {
         return ResponseEntity.ok(graphService.getDatabaseType());
     }
+
+    private static Boolean incoming(String direction) {
+        return switch (direction) {
+            case "out" -> false;
+            case "in" -> true;
+            default -> null;
+        };
+    }
 }
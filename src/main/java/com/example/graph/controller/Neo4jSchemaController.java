@@ -0,0 +1,40 @@
+package com.example.graph.controller;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.config.Neo4jModelConfig;
+import com.example.graph.dto.MigrationResult;
+import com.example.graph.service.RelationshipModelMigration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/neo4j/relationship-model")
+@ConditionalOnGraphBackend("neo4j")
+@RequiredArgsConstructor
+@Slf4j
+public class Neo4jSchemaController {
+
+    private final RelationshipModelMigration migration;
+    private final Neo4jModelConfig modelConfig;
+
+    @GetMapping
+    public ResponseEntity<String> getRelationshipModel() {
+        return ResponseEntity.ok(modelConfig.isTypedRelationships() ? "typed" : "property");
+    }
+
+    // Run before switching graph.neo4j.relationship-model, reads only see the configured model
+    @PostMapping("/migrate")
+    public ResponseEntity<MigrationResult> migrate(
+            @RequestParam String target,
+            @RequestParam(required = false) Integer chunkSize) {
+        log.info("Migrating Neo4j relationships to the {} model", target);
+        try {
+            return ResponseEntity.ok(migration.migrate(target, chunkSize));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid migration request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
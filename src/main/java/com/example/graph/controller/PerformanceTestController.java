@@ -1,5 +1,8 @@
 package com.example.graph.controller;
 
+import com.example.graph.benchmark.BenchmarkHistoryStore;
+import com.example.graph.benchmark.LatencyRecorder;
+import com.example.graph.cache.RelationTypeResultCache;
 import com.example.graph.dto.PerformanceResult;
 import com.example.graph.service.GraphService;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -18,14 +22,19 @@ import java.util.UUID;
 public class PerformanceTestController {
 
     private final GraphService graphService;
+    private final BenchmarkHistoryStore historyStore;
+    private final RelationTypeResultCache relationTypeCache;
 
     @PostMapping("/test/create-nodes")
     public ResponseEntity<PerformanceResult> testCreateNodes(@RequestParam(defaultValue = "1000") int count) {
+        LatencyRecorder latencies = new LatencyRecorder();
         long startTime = System.currentTimeMillis();
         
         for (int i = 0; i < count; i++) {
             String nodeId = "node-" + UUID.randomUUID();
+            long opStart = System.nanoTime();
             graphService.createNode(nodeId);
+            latencies.record(System.nanoTime() - opStart);
         }
         
         long endTime = System.currentTimeMillis();
@@ -36,11 +45,12 @@ public class PerformanceTestController {
                 .operation("CREATE_NODES")
                 .executionTimeMs(duration)
                 .recordCount(count)
+                .latency(latencies.summarize())
                 .additionalInfo(String.format("Average: %.2f ms/node", (double) duration / count))
                 .build();
 
         log.info("Performance test - Create {} nodes: {} ms", count, duration);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(historyStore.record(result, Map.of("count", count)));
     }
 
     @PostMapping("/test/create-relationships")
@@ -52,10 +62,13 @@ public class PerformanceTestController {
             nodeIds.add(nodeId);
         }
 
+        LatencyRecorder latencies = new LatencyRecorder();
         long startTime = System.currentTimeMillis();
         
         for (int i = 0; i < count - 1; i++) {
+            long opStart = System.nanoTime();
             graphService.createRelationship(nodeIds.get(i), nodeIds.get(i + 1), (long) (i % 10));
+            latencies.record(System.nanoTime() - opStart);
         }
         
         long endTime = System.currentTimeMillis();
@@ -66,11 +79,12 @@ public class PerformanceTestController {
                 .operation("CREATE_RELATIONSHIPS")
                 .executionTimeMs(duration)
                 .recordCount(count - 1)
+                .latency(latencies.summarize())
                 .additionalInfo(String.format("Average: %.2f ms/relationship", (double) duration / (count - 1)))
                 .build();
 
         log.info("Performance test - Create {} relationships: {} ms", count - 1, duration);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(historyStore.record(result, Map.of("count", count)));
     }
 
     @GetMapping("/test/read-all-nodes")
@@ -91,11 +105,13 @@ public class PerformanceTestController {
                 .build();
 
         log.info("Performance test - Read all nodes: {} ms ({} nodes)", duration, nodes.size());
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(historyStore.record(result, Map.of()));
     }
 
     @GetMapping("/test/read-by-relation-type")
     public ResponseEntity<PerformanceResult> testReadByRelationType(@RequestParam(defaultValue = "1") Long relationTypeId) {
+        // Time the query itself, not the result cache in front of it
+        relationTypeCache.invalidateAll();
         long startTime = System.currentTimeMillis();
         
         List<?> nodes = graphService.getNodesByRelationTypeId(relationTypeId);
@@ -112,7 +128,7 @@ public class PerformanceTestController {
                 .build();
 
         log.info("Performance test - Read by relation type {}: {} ms ({} nodes)", relationTypeId, duration, nodes.size());
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(historyStore.record(result, Map.of("relationTypeId", relationTypeId)));
     }
 
     @PostMapping("/test/full-suite")
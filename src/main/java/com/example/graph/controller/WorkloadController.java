@@ -0,0 +1,82 @@
+package com.example.graph.controller;
+
+import com.example.graph.config.WorkloadConfig;
+import com.example.graph.dto.CaptureStatus;
+import com.example.graph.dto.ReplayReport;
+import com.example.graph.service.GraphServiceRegistry;
+import com.example.graph.workload.WorkloadCapture;
+import com.example.graph.workload.WorkloadReplayer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/workload")
+@RequiredArgsConstructor
+@Slf4j
+public class WorkloadController {
+
+    private final WorkloadCapture workloadCapture;
+    private final WorkloadReplayer workloadReplayer;
+    private final GraphServiceRegistry registry;
+    private final WorkloadConfig workloadConfig;
+
+    @GetMapping("/capture")
+    public ResponseEntity<CaptureStatus> getCaptureStatus() {
+        return ResponseEntity.ok(workloadCapture.getStatus());
+    }
+
+    // file: bare log name inside graph.workload.directory
+    @PostMapping("/capture/start")
+    public ResponseEntity<CaptureStatus> startCapture(@RequestParam(required = false) String file) throws IOException {
+        try {
+            return ResponseEntity.ok(workloadCapture.start(
+                    workloadCapture.logFile(file != null ? file : workloadConfig.getCaptureFile())));
+        } catch (IllegalArgumentException e) {
+            log.warn("Capture not started: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Capture not started: {}", e.getMessage());
+            return ResponseEntity.status(409).body(workloadCapture.getStatus());
+        }
+    }
+
+    @PostMapping("/capture/stop")
+    public ResponseEntity<CaptureStatus> stopCapture() throws IOException {
+        return ResponseEntity.ok(workloadCapture.stop());
+    }
+
+    // speed: time scale such as 1 or 10, or "max" to replay as fast as the captured concurrency allows
+    @PostMapping("/replay")
+    public ResponseEntity<ReplayReport> replay(
+            @RequestParam(required = false) String file,
+            @RequestParam(required = false) String backend,
+            @RequestParam(defaultValue = "1") String speed) throws IOException, InterruptedException {
+        Path logFile;
+        try {
+            logFile = workloadCapture.logFile(file != null ? file : workloadConfig.getCaptureFile());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid replay request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (!Files.isReadable(logFile)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            double scale = "max".equalsIgnoreCase(speed) ? 0 : Double.parseDouble(speed);
+            if (scale < 0) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(workloadReplayer.replay(logFile,
+                    backend != null ? registry.get(backend) : registry.getPrimary(), scale));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid replay request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.example.graph.domain;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.neo4j.core.schema.Id;
 import org.springframework.data.neo4j.core.schema.Node;
 import org.springframework.data.neo4j.core.schema.Relationship;
@@ -21,7 +23,10 @@ public class CiNode {
     @Id
     private String id;
 
+    // Cyclic graphs would recurse forever through the relationship targets
     @Relationship(type = "RELATES_TO", direction = Relationship.Direction.OUTGOING)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @Builder.Default
     private Set<CiRelationship> outgoingRelations = new HashSet<>();
 }
@@ -0,0 +1,17 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchSizeSample {
+    private long batchIndex;
+    private int batchSize;
+    private double perRecordMicros;
+    private String reason;
+}
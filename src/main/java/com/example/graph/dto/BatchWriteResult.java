@@ -0,0 +1,37 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record accounting for batch writes. {@code succeeded} counts records the backend
+ * acknowledged, {@code skipped} records dropped on purpose (in-batch duplicates),
+ * {@code failed} records rejected after all retries and {@code retried} records that
+ * had to be sent again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchWriteResult {
+    private long attempted;
+    private long succeeded;
+    private long skipped;
+    private long failed;
+    private long retried;
+
+    public static BatchWriteResult succeeded(long records) {
+        return new BatchWriteResult(records, records, 0, 0, 0);
+    }
+
+    public BatchWriteResult add(BatchWriteResult other) {
+        attempted += other.attempted;
+        succeeded += other.succeeded;
+        skipped += other.skipped;
+        failed += other.failed;
+        retried += other.retried;
+        return this;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BenchmarkRecord {
+    private String runId;
+    private String timestamp;
+    private String gitCommit;
+    private String jvm;
+    private int availableProcessors;
+    private String database;
+    private String operation;
+    private Long seed;
+    private Map<String, Object> config;
+    private long executionTimeMs;
+    private long recordCount;
+    private double throughputPerSec;
+    private LatencySummary latency;
+}
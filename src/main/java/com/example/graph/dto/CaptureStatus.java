@@ -0,0 +1,18 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CaptureStatus {
+    private boolean capturing;
+    private String file;
+    private long startedAtEpochMillis;
+    private long written;
+    private long dropped;
+}
@@ -0,0 +1,25 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComparisonReport {
+    private long seed;
+    private String topology;
+    private int nodeCount;
+    private int relationshipCount;
+    private String mode;
+    private String baseline;
+    private List<PerformanceResult> results;
+    // operation -> backend -> executionTime / baseline executionTime
+    private Map<String, Map<String, Double>> ratios;
+}
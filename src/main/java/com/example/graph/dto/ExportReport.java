@@ -0,0 +1,34 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one export run. Node, relationship and chunk counts are totals across resumed
+ * runs; bytes and rates cover this run only, {@code bytesWritten} being what reached disk
+ * after compression.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportReport {
+    private String backend;
+    private String format;
+    private String compression;
+    private String nodesFile;
+    private String relationshipsFile;
+    private String checkpointFile;
+    private boolean resumed;
+    private boolean complete;
+    private long chunks;
+    private long nodes;
+    private long relationships;
+    private long bytesWritten;
+    private long uncompressedBytes;
+    private long executionTimeMs;
+    private double bytesPerSecond;
+    private double recordsPerSecond;
+}
@@ -0,0 +1,16 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** A node with its outgoing relationships, as streamed by a graph export. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportedNode {
+    private String id;
+    private List<RelationshipPage.Entry> relationships;
+}
@@ -0,0 +1,27 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a {@code POST /api/graph/batch} stream: {@code upsertNode} and
+ * {@code deleteNode} take {@code id}, {@code upsertEdge} takes source, target and
+ * relationTypeId.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GraphMutation {
+    public static final String UPSERT_NODE = "upsertNode";
+    public static final String UPSERT_EDGE = "upsertEdge";
+    public static final String DELETE_NODE = "deleteNode";
+
+    private String op;
+    private String id;
+    private String sourceId;
+    private String targetId;
+    private Long relationTypeId;
+}
@@ -0,0 +1,21 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatencySummary {
+    private long count;
+    private double meanMs;
+    private double stdDevMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p95Ms;
+    private double p99Ms;
+    private double maxMs;
+}
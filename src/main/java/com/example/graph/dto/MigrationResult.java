@@ -0,0 +1,20 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MigrationResult {
+    private String targetModel;
+    private List<Long> relationTypeIds;
+    private long relationshipsMigrated;
+    private int chunks;
+    private long executionTimeMs;
+}
@@ -0,0 +1,29 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Acknowledgement line of a mutation stream. One is written after every committed chunk;
+ * the last line has {@code done} set and totals for the whole stream, or {@code error}
+ * set when the stream stopped at {@code line}. Chunks acknowledged before an error stay
+ * committed; when the backend failed a chunk, {@code line} is the chunk's first line and
+ * {@code error} names its line range, which may be partly applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MutationAck {
+    private long chunk;
+    private long line;
+    private long mutations;
+    private BatchWriteResult nodes;
+    private BatchWriteResult relationships;
+    private BatchWriteResult deletedNodes;
+    private long elapsedMs;
+    private boolean done;
+    private String error;
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +17,9 @@ public class PerformanceResult {
     private long executionTimeMs;
     private long recordCount;
     private String additionalInfo;
+    private Long seed;
+    private LatencySummary latency;
+    private String runId;
+    private List<BatchSizeSample> batchSizes;
+    private BatchWriteResult writes;
 }
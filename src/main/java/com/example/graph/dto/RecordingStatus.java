@@ -0,0 +1,20 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecordingStatus {
+    private boolean recording;
+    private String name;
+    private String settings;
+    private long startedAtEpochMillis;
+    private long durationMs;
+    private String file;
+    private long sizeBytes;
+}
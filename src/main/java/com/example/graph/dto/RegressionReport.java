@@ -0,0 +1,32 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegressionReport {
+    private String baselineRunId;
+    private String candidateRunId;
+    private String database;
+    private String operation;
+    private double baselineThroughputPerSec;
+    private double candidateThroughputPerSec;
+    private double throughputChange;
+    private double baselineMeanLatencyMs;
+    private double candidateMeanLatencyMs;
+    private double latencyChange;
+    private double baselineP95Ms;
+    private double candidateP95Ms;
+    private double tStatistic;
+    private double degreesOfFreedom;
+    private boolean significant;
+    private boolean regression;
+    private List<String> findings;
+}
@@ -0,0 +1,64 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a node's outgoing relationships, ordered by (relationTypeId, targetId).
+ * {@code nextCursor} is set when the page is full; passing it back as {@code after}
+ * continues from the last entry without counting or skipping the earlier ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelationshipPage {
+    private String sourceId;
+    private List<Entry> relationships;
+    private String nextCursor;
+
+    public static RelationshipPage of(String sourceId, List<Entry> relationships, int limit) {
+        String nextCursor = relationships.size() < limit ? null
+                : new Cursor(relationships.get(relationships.size() - 1)).encode();
+        return new RelationshipPage(sourceId, relationships, nextCursor);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private long relationTypeId;
+        private String targetId;
+    }
+
+    /** Position after which the next page starts; the start of the list when absent. */
+    public record Cursor(long relationTypeId, String targetId) {
+
+        public static final Cursor START = new Cursor(Long.MIN_VALUE, "");
+
+        Cursor(Entry entry) {
+            this(entry.getRelationTypeId(), entry.getTargetId());
+        }
+
+        public static Cursor parse(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return START;
+            }
+            // Node ids may contain ':' themselves, the type id never does
+            int separator = cursor.indexOf(':');
+            try {
+                return new Cursor(Long.parseLong(cursor.substring(0, separator)), cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid relationship cursor: " + cursor);
+            }
+        }
+
+        public String encode() {
+            return relationTypeId + ":" + targetId;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.graph.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Outcome of replaying a captured workload against one backend. {@code speed} is the time
+ * scale (10 = ten times faster than captured), null when replayed as fast as possible.
+ * {@code maxDispatchLagMs} shows how far the replayer fell behind the scaled schedule.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplayReport {
+    private String file;
+    private String database;
+    private Double speed;
+    private long calls;
+    private long failed;
+    private long skipped;
+    private int peakConcurrency;
+    private long capturedDurationMs;
+    private long wallTimeMs;
+    private double maxDispatchLagMs;
+    private Map<String, OperationReplay> operations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OperationReplay {
+        private long calls;
+        private long failed;
+        private long capturedFailed;
+        private LatencySummary captured;
+        private LatencySummary replayed;
+    }
+}
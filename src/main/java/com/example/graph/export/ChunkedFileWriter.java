@@ -0,0 +1,95 @@
+package com.example.graph.export;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends text to an export file one chunk at a time. With gzip every chunk is its own
+ * member, so the file is valid after each {@link #endChunk()} and can be cut back to that
+ * length and appended to again; gzip readers decode concatenated members as one stream.
+ */
+final class ChunkedFileWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final OutputStream file;
+    private final boolean gzip;
+    private final long startBytes;
+    private Writer chunk;
+    private long uncompressedBytes;
+
+    /** Opens {@code path} cut back to {@code validBytes}, the length at the last checkpoint. */
+    ChunkedFileWriter(Path path, long validBytes, boolean gzip) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(validBytes);
+        channel.position(validBytes);
+        // Ending a gzip member must not close the file underneath it
+        file = new FilterOutputStream(Channels.newOutputStream(channel)) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        this.gzip = gzip;
+        this.startBytes = validBytes;
+    }
+
+    Writer chunk() throws IOException {
+        if (chunk == null) {
+            OutputStream counted = new FilterOutputStream(gzip ? new GZIPOutputStream(file, BUFFER_SIZE) : file) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    uncompressedBytes++;
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    out.write(bytes, offset, length);
+                    uncompressedBytes += length;
+                }
+            };
+            chunk = new BufferedWriter(new OutputStreamWriter(counted, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+        return chunk;
+    }
+
+    /** Completes the current chunk on disk and returns the file length to checkpoint. */
+    long endChunk() throws IOException {
+        if (chunk != null) {
+            chunk.close();
+            chunk = null;
+        }
+        channel.force(false);
+        return channel.position();
+    }
+
+    long getBytesWritten() throws IOException {
+        return channel.position() - startBytes;
+    }
+
+    long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.graph.export;
+
+/**
+ * Progress of an export after its last completed chunk: the backend cursor to continue
+ * from and the length both files had when the chunk was flushed. Anything past those
+ * lengths belongs to an unfinished chunk and is truncated on resume.
+ */
+record ExportCheckpoint(String backend, String format, String compression, int chunkSize, String cursor,
+                        long chunks, long nodes, long relationships,
+                        long nodesFileBytes, long relationshipsFileBytes, boolean complete) {
+
+    static ExportCheckpoint start(String backend, String format, String compression, int chunkSize) {
+        return new ExportCheckpoint(backend, format, compression, chunkSize, null, 0, 0, 0, 0, 0, false);
+    }
+
+    ExportCheckpoint next(String nextCursor, long chunkNodes, long chunkRelationships,
+                          long nodesBytes, long relationshipsBytes) {
+        return new ExportCheckpoint(backend, format, compression, chunkSize, nextCursor, chunks + 1,
+                nodes + chunkNodes, relationships + chunkRelationships, nodesBytes, relationshipsBytes,
+                nextCursor == null);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.graph.export;
+
+import com.example.graph.config.ExportConfig;
+import com.example.graph.dto.ExportReport;
+import com.example.graph.dto.ExportedNode;
+import com.example.graph.dto.RelationshipPage;
+import com.example.graph.service.GraphService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Streams a whole graph out of a backend into a nodes file and a relationships file, as
+ * NDJSON or CSV, optionally gzip-compressed. The backend hands over one chunk of nodes at a
+ * time and every record is written as it arrives, so memory stays at one chunk whatever
+ * the graph size. After each chunk both files are flushed and a checkpoint is saved next
+ * to them; an interrupted export resumes from the last checkpoint.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GraphExporter {
+
+    private static final String NDJSON = "ndjson";
+    private static final String CSV = "csv";
+    private static final String GZIP = "gzip";
+    private static final String NONE = "none";
+
+    private final ExportConfig config;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exports {@code source} as {@code <name>.nodes.<format>[.gz]} and
+     * {@code <name>.relationships.<format>[.gz]} in the export directory. With {@code resume}
+     * and a checkpoint of an unfinished export of the same backend, continues that export
+     * in its original format; otherwise starts over.
+     */
+    public ExportReport export(GraphService source, String name, String format, String compression,
+                               Integer chunkSize, boolean resume) throws IOException {
+        if (name == null || name.isBlank() || name.contains("/") || name.contains("\\")) {
+            throw new IllegalArgumentException("Invalid export name: " + name);
+        }
+        Path directory = Path.of(config.getDirectory());
+        Files.createDirectories(directory);
+        Path checkpointFile = directory.resolve(name + ".checkpoint.json");
+
+        ExportCheckpoint checkpoint = resume && Files.exists(checkpointFile)
+                ? objectMapper.readValue(checkpointFile.toFile(), ExportCheckpoint.class)
+                : null;
+        boolean resumed = checkpoint != null && !checkpoint.complete();
+        if (resumed && !checkpoint.backend().equals(source.getDatabaseType())) {
+            throw new IllegalArgumentException("Checkpoint " + checkpointFile + " belongs to an export from "
+                    + checkpoint.backend());
+        }
+        if (!resumed) {
+            checkpoint = ExportCheckpoint.start(source.getDatabaseType(),
+                    option(format, config.getFormat(), NDJSON, CSV),
+                    option(compression, config.getCompression(), GZIP, NONE),
+                    chunkSize != null ? chunkSize : config.getChunkSize());
+            if (checkpoint.chunkSize() < 1) {
+                throw new IllegalArgumentException("Chunk size must be positive");
+            }
+        }
+
+        String suffix = "." + checkpoint.format() + (GZIP.equals(checkpoint.compression()) ? ".gz" : "");
+        Path nodesFile = directory.resolve(name + ".nodes" + suffix);
+        Path relationshipsFile = directory.resolve(name + ".relationships" + suffix);
+        boolean csv = CSV.equals(checkpoint.format());
+        boolean gzip = GZIP.equals(checkpoint.compression());
+        log.info("{} export of {} to {} and {}", resumed ? "Resuming" : "Starting", checkpoint.backend(),
+                nodesFile, relationshipsFile);
+
+        long start = System.nanoTime();
+        try (ChunkedFileWriter nodes = new ChunkedFileWriter(nodesFile, checkpoint.nodesFileBytes(), gzip);
+             ChunkedFileWriter relationships = new ChunkedFileWriter(relationshipsFile,
+                     checkpoint.relationshipsFileBytes(), gzip)) {
+            if (csv && checkpoint.chunks() == 0) {
+                nodes.chunk().write("id\n");
+                relationships.chunk().write("sourceId,targetId,relationTypeId\n");
+            }
+            while (!checkpoint.complete()) {
+                ChunkWriter chunk = new ChunkWriter(nodes.chunk(), relationships.chunk(), csv);
+                String cursor;
+                try {
+                    cursor = source.exportChunk(checkpoint.cursor(), checkpoint.chunkSize(), chunk::write);
+                    chunk.finish();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                checkpoint = checkpoint.next(cursor, chunk.nodes, chunk.relationships,
+                        nodes.endChunk(), relationships.endChunk());
+                save(checkpoint, checkpointFile);
+            }
+
+            long nanos = Math.max(1, System.nanoTime() - start);
+            long bytesWritten = nodes.getBytesWritten() + relationships.getBytesWritten();
+            ExportReport report = ExportReport.builder()
+                    .backend(checkpoint.backend())
+                    .format(checkpoint.format())
+                    .compression(checkpoint.compression())
+                    .nodesFile(nodesFile.toAbsolutePath().toString())
+                    .relationshipsFile(relationshipsFile.toAbsolutePath().toString())
+                    .checkpointFile(checkpointFile.toAbsolutePath().toString())
+                    .resumed(resumed)
+                    .complete(true)
+                    .chunks(checkpoint.chunks())
+                    .nodes(checkpoint.nodes())
+                    .relationships(checkpoint.relationships())
+                    .bytesWritten(bytesWritten)
+                    .uncompressedBytes(nodes.getUncompressedBytes() + relationships.getUncompressedBytes())
+                    .executionTimeMs(nanos / 1_000_000)
+                    .bytesPerSecond(bytesWritten * 1e9 / nanos)
+                    .recordsPerSecond((checkpoint.nodes() + checkpoint.relationships()) * 1e9 / nanos)
+                    .build();
+            log.info("Exported {} nodes and {} relationships from {} ({} bytes, {} bytes/s)", report.getNodes(),
+                    report.getRelationships(), report.getBackend(), bytesWritten, (long) report.getBytesPerSecond());
+            return report;
+        }
+    }
+
+    private void save(ExportCheckpoint checkpoint, Path checkpointFile) throws IOException {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        objectMapper.writeValue(temp.toFile(), checkpoint);
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String option(String value, String defaultValue, String... allowed) {
+        String chosen = (value != null ? value : defaultValue).toLowerCase(Locale.ROOT);
+        for (String option : allowed) {
+            if (option.equals(chosen)) {
+                return option;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export option: " + chosen);
+    }
+
+    /** Writes the records of one chunk; the backend calls it once per node. */
+    private final class ChunkWriter {
+
+        private final Writer nodesOut;
+        private final Writer relationshipsOut;
+        private final JsonGenerator nodesJson;
+        private final JsonGenerator relationshipsJson;
+        private long nodes;
+        private long relationships;
+
+        ChunkWriter(Writer nodesOut, Writer relationshipsOut, boolean csv) throws IOException {
+            this.nodesOut = nodesOut;
+            this.relationshipsOut = relationshipsOut;
+            this.nodesJson = csv ? null : generator(nodesOut);
+            this.relationshipsJson = csv ? null : generator(relationshipsOut);
+        }
+
+        private JsonGenerator generator(Writer out) throws IOException {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return generator;
+        }
+
+        void write(ExportedNode node) {
+            try {
+                if (nodesJson != null) {
+                    nodesJson.writeStartObject();
+                    nodesJson.writeStringField("id", node.getId());
+                    nodesJson.writeEndObject();
+                    nodesJson.writeRaw('\n');
+                } else {
+                    nodesOut.write(csvField(node.getId()));
+                    nodesOut.write('\n');
+                }
+                nodes++;
+                for (RelationshipPage.Entry relationship : node.getRelationships()) {
+                    if (relationshipsJson != null) {
+                        relationshipsJson.writeStartObject();
+                        relationshipsJson.writeStringField("sourceId", node.getId());
+                        relationshipsJson.writeStringField("targetId", relationship.getTargetId());
+                        relationshipsJson.writeNumberField("relationTypeId", relationship.getRelationTypeId());
+                        relationshipsJson.writeEndObject();
+                        relationshipsJson.writeRaw('\n');
+                    } else {
+                        relationshipsOut.write(csvField(node.getId()));
+                        relationshipsOut.write(',');
+                        relationshipsOut.write(csvField(relationship.getTargetId()));
+                        relationshipsOut.write(',');
+                        relationshipsOut.write(Long.toString(relationship.getRelationTypeId()));
+                        relationshipsOut.write('\n');
+                    }
+                    relationships++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (nodesJson != null) {
+                nodesJson.flush();
+                relationshipsJson.flush();
+            }
+        }
+
+        private static String csvField(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.graph.generator;
+
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic dataset generator. Node ids are derived from their index and every
+ * edge is a pure function of (seed, edgeIndex, attempt), so the same seed yields the
+ * same graph on every backend, independent of batch boundaries and of how many threads
+ * generate it, and the generator itself holds no per-node or per-edge state.
+ */
+public class DatasetGenerator {
+
+    public static final String NODE_ID_PREFIX = "node-";
+    public static final int NODE_ID_DIGITS = 12;
+
+    /** Counters per edge draw reserved for the topology; the last stream picks the relation type. */
+    public static final int TOPOLOGY_STREAMS = 63;
+
+    /** Independent draws per edge: the first attempt and up to this many minus one resamples. */
+    public static final int MAX_ATTEMPTS_PER_EDGE = 1 << 10;
+
+    /** Edges generated per parallel task; blocks of several chunks are spread across cores. */
+    public static final int PARALLEL_CHUNK = 1024;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int STREAMS_PER_EDGE = TOPOLOGY_STREAMS + 1;
+
+    private final long seed;
+    private final long nodeCount;
+    private final GraphTopology topology;
+    private final RelationTypeDistribution relationTypes;
+
+    public DatasetGenerator(long seed, long nodeCount, int relationTypeCount) {
+        this(seed, nodeCount, new UniformTopology(), new RelationTypeDistribution(relationTypeCount, 0));
+    }
+
+    public DatasetGenerator(long seed, long nodeCount, GraphTopology topology, RelationTypeDistribution relationTypes) {
+        if (nodeCount < 1) {
+            throw new IllegalArgumentException("nodeCount must be positive");
+        }
+        this.seed = seed;
+        this.nodeCount = nodeCount;
+        this.topology = topology;
+        this.relationTypes = relationTypes;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public GraphTopology getTopology() {
+        return topology;
+    }
+
+    public RelationTypeDistribution getRelationTypes() {
+        return relationTypes;
+    }
+
+    /**
+     * Fixed-width id for a node index, e.g. {@code node-000000000042}.
+     */
+    public static String nodeId(long index) {
+        char[] chars = new char[NODE_ID_PREFIX.length() + NODE_ID_DIGITS];
+        NODE_ID_PREFIX.getChars(0, NODE_ID_PREFIX.length(), chars, 0);
+        long remaining = index;
+        for (int i = chars.length - 1; i >= NODE_ID_PREFIX.length(); i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Writes source index, target index and relationTypeId of an edge into {@code out}.
+     * A different {@code attempt} in {@code [0, MAX_ATTEMPTS_PER_EDGE)} gives an independent
+     * draw for resampling rejected edges.
+     */
+    public void edge(long edgeIndex, int attempt, long[] out) {
+        if (attempt < 0 || attempt >= MAX_ATTEMPTS_PER_EDGE) {
+            throw new IllegalArgumentException("attempt must be in [0, " + MAX_ATTEMPTS_PER_EDGE + "): " + attempt);
+        }
+        long base = (edgeIndex * MAX_ATTEMPTS_PER_EDGE + attempt) * STREAMS_PER_EDGE;
+        topology.endpoints(this, edgeIndex, base, out);
+        out[2] = relationTypes.sample(unitAt(base + TOPOLOGY_STREAMS));
+    }
+
+    /**
+     * Fills {@code block} with the first-attempt draws of edges
+     * {@code [firstEdgeIndex, firstEdgeIndex + count)}, splitting large blocks across cores.
+     */
+    public void fill(long firstEdgeIndex, int count, EdgeBlock block) {
+        block.reset(firstEdgeIndex, count);
+        int chunks = (count + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(chunk -> {
+            long[] out = new long[3];
+            int end = Math.min(count, (chunk + 1) * PARALLEL_CHUNK);
+            for (int i = chunk * PARALLEL_CHUNK; i < end; i++) {
+                edge(firstEdgeIndex + i, 0, out);
+                block.set(i, out[0], out[1], out[2]);
+            }
+        });
+    }
+
+    /**
+     * Uniform double in [0, 1) for the given counter.
+     */
+    public double unitAt(long counter) {
+        return (randomAt(counter) >>> 11) * 0x1.0p-53;
+    }
+
+    public long randomAt(long counter) {
+        return mix64(seed + counter * GOLDEN_GAMMA);
+    }
+
+    public static long bounded(long random, long bound) {
+        return Math.floorMod(random, bound);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.graph.generator;
+
+/**
+ * Primitive, reusable buffer of generated edges: endpoints stay as node indices until
+ * the batch is serialized.
+ */
+public class EdgeBlock {
+
+    private final long[] sources;
+    private final long[] targets;
+    private final long[] relationTypeIds;
+    private long firstEdgeIndex;
+    private int size;
+
+    public EdgeBlock(int capacity) {
+        this.sources = new long[capacity];
+        this.targets = new long[capacity];
+        this.relationTypeIds = new long[capacity];
+    }
+
+    public int capacity() {
+        return sources.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getFirstEdgeIndex() {
+        return firstEdgeIndex;
+    }
+
+    public long source(int i) {
+        return sources[i];
+    }
+
+    public long target(int i) {
+        return targets[i];
+    }
+
+    public long relationTypeId(int i) {
+        return relationTypeIds[i];
+    }
+
+    void reset(long firstEdgeIndex, int size) {
+        if (size > sources.length) {
+            throw new IllegalArgumentException("Block capacity " + sources.length + " exceeded: " + size);
+        }
+        this.firstEdgeIndex = firstEdgeIndex;
+        this.size = size;
+    }
+
+    void set(int i, long source, long target, long relationTypeId) {
+        sources[i] = source;
+        targets[i] = target;
+        relationTypeIds[i] = relationTypeId;
+    }
+}
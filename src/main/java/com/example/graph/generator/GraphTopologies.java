@@ -0,0 +1,19 @@
+package com.example.graph.generator;
+
+public final class GraphTopologies {
+
+    private GraphTopologies() {
+    }
+
+    public static GraphTopology create(String name, long nodeCount, long relationshipCount) {
+        return switch (name.toLowerCase()) {
+            case "uniform" -> new UniformTopology();
+            case "rmat", "r-mat" -> new RmatTopology();
+            case "ba", "barabasi-albert", "preferential-attachment" ->
+                    new PreferentialAttachmentTopology((relationshipCount + nodeCount - 1) / Math.max(1, nodeCount));
+            case "tree", "service-tree" -> new ServiceTreeTopology();
+            default -> throw new IllegalArgumentException("Unknown topology: " + name
+                    + ". Options: uniform, rmat, preferential-attachment, service-tree");
+        };
+    }
+}
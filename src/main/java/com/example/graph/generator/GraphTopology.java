@@ -0,0 +1,17 @@
+package com.example.graph.generator;
+
+/**
+ * Shape of the generated edge set. Implementations must be stateless and draw all
+ * randomness from {@link DatasetGenerator#unitAt}/{@link DatasetGenerator#randomAt}
+ * using counters in {@code [counterBase, counterBase + DatasetGenerator.TOPOLOGY_STREAMS)},
+ * so edges can be generated in any order and on any thread.
+ */
+public interface GraphTopology {
+
+    String getName();
+
+    /**
+     * Writes the source index to {@code out[0]} and the target index to {@code out[1]}.
+     */
+    void endpoints(DatasetGenerator generator, long edgeIndex, long counterBase, long[] out);
+}
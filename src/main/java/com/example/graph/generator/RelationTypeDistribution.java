@@ -0,0 +1,46 @@
+package com.example.graph.generator;
+
+import java.util.Arrays;
+
+/**
+ * Zipf distribution over relationTypeIds {@code 1..typeCount}: type {@code k} is drawn
+ * with weight {@code 1 / k^skew}. A skew of 0 is uniform; around 1.2 a couple of
+ * relation types dominate, as in real CMDBs.
+ */
+public class RelationTypeDistribution {
+
+    private final double[] cumulative;
+    private final double skew;
+
+    public RelationTypeDistribution(int typeCount, double skew) {
+        if (typeCount < 1 || skew < 0) {
+            throw new IllegalArgumentException("typeCount must be positive and skew non-negative");
+        }
+        this.skew = skew;
+        this.cumulative = new double[typeCount];
+        double total = 0;
+        for (int k = 1; k <= typeCount; k++) {
+            total += 1.0 / Math.pow(k, skew);
+            cumulative[k - 1] = total;
+        }
+        for (int i = 0; i < typeCount; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    public int getTypeCount() {
+        return cumulative.length;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public long sample(double u) {
+        int index = Arrays.binarySearch(cumulative, u);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cumulative.length - 1) + 1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.graph.generator;
+
+/**
+ * CMDB-like hierarchy: the first {@code nodeCount - 1} edges form a tree where every CI
+ * depends on its parent ({@code (i - 1) / fanout}), and the remaining edges link random
+ * CIs to the shared services in the top levels of the tree (databases, load balancers),
+ * which become the supernodes.
+ */
+public class ServiceTreeTopology implements GraphTopology {
+
+    private final int fanout;
+    private final int sharedLevels;
+
+    public ServiceTreeTopology() {
+        this(8, 2);
+    }
+
+    public ServiceTreeTopology(int fanout, int sharedLevels) {
+        if (fanout < 1 || sharedLevels < 1) {
+            throw new IllegalArgumentException("fanout and sharedLevels must be positive");
+        }
+        this.fanout = fanout;
+        this.sharedLevels = sharedLevels;
+    }
+
+    @Override
+    public String getName() {
+        return "service-tree";
+    }
+
+    @Override
+    public void endpoints(DatasetGenerator generator, long edgeIndex, long counterBase, long[] out) {
+        long nodeCount = generator.getNodeCount();
+        if (edgeIndex < nodeCount - 1) {
+            long child = edgeIndex + 1;
+            out[0] = child;
+            out[1] = (child - 1) / fanout;
+            return;
+        }
+        out[0] = DatasetGenerator.bounded(generator.randomAt(counterBase), nodeCount);
+        out[1] = DatasetGenerator.bounded(generator.randomAt(counterBase + 1), Math.min(nodeCount, sharedPoolSize()));
+    }
+
+    private long sharedPoolSize() {
+        long size = 0;
+        long levelSize = 1;
+        for (int level = 0; level <= sharedLevels; level++) {
+            size += levelSize;
+            levelSize *= fanout;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.graph.generator;
+
+public class UniformTopology implements GraphTopology {
+
+    @Override
+    public String getName() {
+        return "uniform";
+    }
+
+    @Override
+    public void endpoints(DatasetGenerator generator, long edgeIndex, long counterBase, long[] out) {
+        long nodeCount = generator.getNodeCount();
+        out[0] = DatasetGenerator.bounded(generator.randomAt(counterBase), nodeCount);
+        out[1] = DatasetGenerator.bounded(generator.randomAt(counterBase + 1), nodeCount);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.graph.ingest;
+
+import com.example.graph.dto.BatchSizeSample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AIMD batch-size controller. Grows the batch additively while the per-record latency
+ * keeps improving (or stays within a tolerance of the best seen), backs off additively
+ * when it degrades, and halves the batch on a failed write (timeout, 4xx/5xx). Every
+ * size change is kept so the run result shows where the load settled.
+ */
+public class AdaptiveBatchSizer {
+
+    private static final double TOLERANCE = 0.05;
+    private static final double SMOOTHING = 0.3;
+
+    private final boolean adaptive;
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final List<BatchSizeSample> history = new ArrayList<>();
+
+    private int currentSize;
+    private long batchIndex;
+    private double smoothedPerRecordNanos = Double.NaN;
+    private double bestPerRecordNanos = Double.MAX_VALUE;
+
+    public AdaptiveBatchSizer(boolean adaptive, int initialSize, int minSize, int maxSize, int step) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid batch size bounds: " + minSize + ".." + maxSize);
+        }
+        this.adaptive = adaptive;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = Math.max(1, step);
+        this.currentSize = adaptive ? clamp(initialSize) : initialSize;
+        history.add(sample(Double.NaN, "initial"));
+    }
+
+    public static AdaptiveBatchSizer fixed(int size) {
+        return new AdaptiveBatchSizer(false, size, 1, Math.max(1, size), 1);
+    }
+
+    public int nextSize() {
+        return currentSize;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public void onSuccess(int size, long nanos) {
+        batchIndex++;
+        if (!adaptive || size == 0) {
+            return;
+        }
+        double perRecord = (double) nanos / size;
+        smoothedPerRecordNanos = Double.isNaN(smoothedPerRecordNanos)
+                ? perRecord : SMOOTHING * perRecord + (1 - SMOOTHING) * smoothedPerRecordNanos;
+
+        if (smoothedPerRecordNanos <= bestPerRecordNanos * (1 + TOLERANCE)) {
+            bestPerRecordNanos = Math.min(bestPerRecordNanos, smoothedPerRecordNanos);
+            resize(currentSize + step, "improving");
+        } else {
+            resize(currentSize - step, "degrading");
+        }
+    }
+
+    public void onFailure() {
+        batchIndex++;
+        if (!adaptive) {
+            return;
+        }
+        // Larger batches are what timed out, so forget the optimum measured at the old size
+        bestPerRecordNanos = Double.MAX_VALUE;
+        smoothedPerRecordNanos = Double.NaN;
+        resize(currentSize / 2, "failure");
+    }
+
+    public List<BatchSizeSample> getHistory() {
+        return history;
+    }
+
+    private void resize(int size, String reason) {
+        int clamped = clamp(size);
+        if (clamped != currentSize) {
+            currentSize = clamped;
+            history.add(sample(smoothedPerRecordNanos, reason));
+        }
+    }
+
+    private BatchSizeSample sample(double perRecordNanos, String reason) {
+        return BatchSizeSample.builder()
+                .batchIndex(batchIndex)
+                .batchSize(currentSize)
+                .perRecordMicros(Double.isNaN(perRecordNanos) ? 0 : perRecordNanos / 1000.0)
+                .reason(reason)
+                .build();
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
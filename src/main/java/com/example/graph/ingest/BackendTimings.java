@@ -0,0 +1,46 @@
+package com.example.graph.ingest;
+
+import com.example.graph.benchmark.LatencyRecorder;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.LatencySummary;
+import com.example.graph.service.GraphService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulated write time, per-batch latencies and committed-record counts per backend
+ * when the same batches are sent to one or several backends.
+ */
+public class BackendTimings {
+
+    private final Map<String, Long> nanosByBackend = new LinkedHashMap<>();
+    private final Map<String, LatencyRecorder> latenciesByBackend = new LinkedHashMap<>();
+    private final Map<String, BatchWriteResult> writesByBackend = new LinkedHashMap<>();
+
+    public void record(GraphService backend, long nanos) {
+        nanosByBackend.merge(backend.getDatabaseType(), nanos, Long::sum);
+        latenciesByBackend.computeIfAbsent(backend.getDatabaseType(), name -> new LatencyRecorder()).record(nanos);
+    }
+
+    public void recordWrite(GraphService backend, BatchWriteResult result) {
+        writesByBackend.computeIfAbsent(backend.getDatabaseType(), name -> new BatchWriteResult()).add(result);
+    }
+
+    public long getMillis(GraphService backend) {
+        return nanosByBackend.getOrDefault(backend.getDatabaseType(), 0L) / 1_000_000;
+    }
+
+    public LatencySummary getLatency(GraphService backend) {
+        LatencyRecorder recorder = latenciesByBackend.get(backend.getDatabaseType());
+        return recorder != null ? recorder.summarize() : LatencySummary.builder().build();
+    }
+
+    public BatchWriteResult getWrites(GraphService backend) {
+        return writesByBackend.getOrDefault(backend.getDatabaseType(), new BatchWriteResult());
+    }
+
+    public Map<String, Long> getNanosByBackend() {
+        return nanosByBackend;
+    }
+}
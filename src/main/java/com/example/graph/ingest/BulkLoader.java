@@ -0,0 +1,305 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.IngestConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.generator.DatasetGenerator;
+import com.example.graph.generator.EdgeBlock;
+import com.example.graph.generator.GraphTopologies;
+import com.example.graph.generator.RelationTypeDistribution;
+import com.example.graph.jfr.BulkLoadBatchEvent;
+import com.example.graph.service.GraphService;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Batched node and relationship loading shared by the bulk-insert endpoints and the
+ * comparison runner. Every generated batch is written to each target backend in turn,
+ * so several backends can be loaded with literally the same data; with
+ * {@code interleave} the backend order is reversed on every other batch so drift
+ * (JIT, caches, network) does not favour whichever backend goes first.
+ * <p>
+ * Edges are generated in fixed-size blocks, independent of the write batch size chosen
+ * by the {@link AdaptiveBatchSizer}, so adaptive runs still load the seeded dataset.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkLoader {
+
+    public static final int RELATION_TYPE_COUNT = 10;
+
+    // Enough parallel chunks per block to keep every core busy generating the next block
+    private static final int GENERATION_BLOCK_SIZE = DatasetGenerator.PARALLEL_CHUNK
+            * Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final String NODES = "nodes";
+    private static final String RELATIONSHIPS = "relationships";
+
+    private final IngestConfig ingestConfig;
+
+    public DatasetGenerator newGenerator(long seed, long nodeCount, long relationshipCount,
+                                         String topology, double relationTypeSkew) {
+        return new DatasetGenerator(seed, nodeCount,
+                GraphTopologies.create(topology, nodeCount, relationshipCount),
+                new RelationTypeDistribution(RELATION_TYPE_COUNT, relationTypeSkew));
+    }
+
+    /**
+     * Rejects an unknown topology or an invalid skew with the same checks as
+     * {@link #newGenerator}, so callers can fail before clearing or writing anything.
+     */
+    public void validateDataset(long nodeCount, long relationshipCount, String topology, double relationTypeSkew) {
+        if (nodeCount < 1 || relationshipCount < 0) {
+            throw new IllegalArgumentException("nodeCount must be positive and relationshipCount non-negative");
+        }
+        GraphTopologies.create(topology, nodeCount, relationshipCount);
+        new RelationTypeDistribution(RELATION_TYPE_COUNT, relationTypeSkew);
+    }
+
+    public EdgeDeduplicator newDeduplicator() {
+        return ingestConfig.isDedupEnabled() ? ingestConfig.newDeduplicator() : null;
+    }
+
+    public AdaptiveBatchSizer newBatchSizer() {
+        return ingestConfig.newBatchSizer();
+    }
+
+    public boolean isDedupEnabled() {
+        return ingestConfig.isDedupEnabled();
+    }
+
+    public static String describeDedup(EdgeDeduplicator deduplicator) {
+        if (deduplicator == null) {
+            return "Deduplication disabled";
+        }
+        return String.format("Deduplication: %d distinct edges, resampled %d duplicates and %d self-loops",
+                deduplicator.getAccepted(), deduplicator.getDuplicates(), deduplicator.getSelfLoops());
+    }
+
+    public List<String> createNodesBatched(GraphService graphService, int totalNodes, BackendTimings timings,
+                                           AdaptiveBatchSizer sizer) {
+        List<String> allNodeIds = new ArrayList<>();
+        int batchIndex = 0;
+        
+        while (allNodeIds.size() < totalNodes) {
+            int batchSize = Math.min(sizer.nextSize(), totalNodes - allNodeIds.size());
+            
+            List<String> batchNodeIds = new ArrayList<>(batchSize);
+            for (int j = 0; j < batchSize; j++) {
+                batchNodeIds.add("node-" + UUID.randomUUID());
+            }
+            
+            log.info("Creating node batch {} ({} nodes, {}/{} total)...",
+                    ++batchIndex, batchSize, allNodeIds.size() + batchSize, totalNodes);
+            write(List.of(graphService), NODES, batchNodeIds, batchIndex, false, timings, sizer,
+                    (target, batch) -> target.createNodesBatch(batch));
+            allNodeIds.addAll(batchNodeIds);
+            
+            // Periodic garbage collection hint every 10 batches
+            if (batchIndex % 10 == 0) {
+                System.gc();
+            }
+        }
+        
+        return allNodeIds;
+    }
+
+    public void createNodesBatched(GraphService graphService, DatasetGenerator generator, BackendTimings timings,
+                                   AdaptiveBatchSizer sizer) {
+        createNodesBatched(List.of(graphService), generator, false, timings, sizer);
+    }
+
+    public void createNodesBatched(List<GraphService> targets, DatasetGenerator generator,
+                                   boolean interleave, BackendTimings timings) {
+        // Several backends must see identical batches, so the size cannot adapt to any one of them
+        createNodesBatched(targets, generator, interleave, timings, AdaptiveBatchSizer.fixed(ingestConfig.getBatchSize()));
+    }
+
+    private void createNodesBatched(List<GraphService> targets, DatasetGenerator generator,
+                                    boolean interleave, BackendTimings timings, AdaptiveBatchSizer sizer) {
+        long totalNodes = generator.getNodeCount();
+        long created = 0;
+        int batchIndex = 0;
+
+        while (created < totalNodes) {
+            int batchSize = (int) Math.min(sizer.nextSize(), totalNodes - created);
+
+            List<String> batchNodeIds = new ArrayList<>(batchSize);
+            for (int j = 0; j < batchSize; j++) {
+                batchNodeIds.add(DatasetGenerator.nodeId(created + j));
+            }
+
+            log.info("Creating node batch {} ({} nodes, {}/{} total)...",
+                    ++batchIndex, batchSize, created + batchSize, totalNodes);
+            write(targets, NODES, batchNodeIds, batchIndex, interleave, timings, sizer,
+                    (target, batch) -> target.createNodesBatch(batch));
+            created += batchSize;
+        }
+    }
+
+    public void createRelationshipsBatched(GraphService graphService, DatasetGenerator generator,
+                                           LongFunction<String> nodeIdResolver, int totalRelationships,
+                                           EdgeDeduplicator deduplicator, BackendTimings timings,
+                                           AdaptiveBatchSizer sizer) {
+        createRelationshipsBatched(List.of(graphService), generator, nodeIdResolver, totalRelationships,
+                deduplicator, false, timings, sizer);
+    }
+
+    public void createRelationshipsBatched(List<GraphService> targets, DatasetGenerator generator,
+                                           LongFunction<String> nodeIdResolver, int totalRelationships,
+                                           EdgeDeduplicator deduplicator, boolean interleave,
+                                           BackendTimings timings) {
+        createRelationshipsBatched(targets, generator, nodeIdResolver, totalRelationships, deduplicator,
+                interleave, timings, AdaptiveBatchSizer.fixed(ingestConfig.getBatchSize()));
+    }
+
+    private void createRelationshipsBatched(List<GraphService> targets, DatasetGenerator generator,
+                                            LongFunction<String> nodeIdResolver, int totalRelationships,
+                                            EdgeDeduplicator deduplicator, boolean interleave,
+                                            BackendTimings timings, AdaptiveBatchSizer sizer) {
+        long[] edge = new long[3];
+        int blocks = (totalRelationships + GENERATION_BLOCK_SIZE - 1) / GENERATION_BLOCK_SIZE;
+        // Two buffers so the next block is generated on other cores while the current one is written
+        EdgeBlock[] buffers = {new EdgeBlock(GENERATION_BLOCK_SIZE), new EdgeBlock(GENERATION_BLOCK_SIZE)};
+        CompletableFuture<EdgeBlock> pending = blocks > 0
+                ? generateAsync(generator, 0, totalRelationships, buffers[0]) : null;
+        int nextBlock = 0;
+        ArrayDeque<RelationshipBatch> ready = new ArrayDeque<>();
+        int written = 0;
+        int batchIndex = 0;
+        
+        while (nextBlock < blocks || !ready.isEmpty()) {
+            int batchSize = sizer.nextSize();
+            while (ready.size() < batchSize && nextBlock < blocks) {
+                EdgeBlock block = pending.join();
+                nextBlock++;
+                if (nextBlock < blocks) {
+                    pending = generateAsync(generator, nextBlock * GENERATION_BLOCK_SIZE, totalRelationships,
+                            buffers[nextBlock % 2]);
+                }
+                
+                for (int j = 0; j < block.size(); j++) {
+                    long edgeIndex = block.getFirstEdgeIndex() + j;
+                    edge[0] = block.source(j);
+                    edge[1] = block.target(j);
+                    edge[2] = block.relationTypeId(j);
+
+                    // Resample duplicates and self-loops so every backend receives the requested number of distinct edges
+                    for (int attempt = 1; attempt <= ingestConfig.getMaxResampleAttempts(); attempt++) {
+                        if (deduplicator == null || deduplicator.accept(edge[0], edge[1], edge[2])) {
+                            // Ids are only materialized as strings for the edges waiting to be sent
+                            ready.add(new RelationshipBatch(
+                                    nodeIdResolver.apply(edge[0]), nodeIdResolver.apply(edge[1]), edge[2]));
+                            break;
+                        }
+                        generator.edge(edgeIndex, attempt, edge);
+                    }
+                }
+            }
+            
+            List<RelationshipBatch> batchRelationships = new ArrayList<>(Math.min(batchSize, ready.size()));
+            while (batchRelationships.size() < batchSize && !ready.isEmpty()) {
+                batchRelationships.add(ready.poll());
+            }
+            if (batchRelationships.isEmpty()) {
+                break;
+            }
+            written += batchRelationships.size();
+            
+            log.info("Creating relationship batch {} ({} relationships, {}/{} total)...",
+                    ++batchIndex, batchRelationships.size(), written, totalRelationships);
+            write(targets, RELATIONSHIPS, batchRelationships, batchIndex, interleave, timings, sizer,
+                    (target, batch) -> target.createRelationshipsBatch(batch));
+            
+            // Periodic garbage collection hint every 10 batches
+            if (batchIndex % 10 == 0) {
+                System.gc();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch to every target, feeding latency and failures back into the sizer.
+     * A batch that throws is re-split at the (possibly reduced) size and retried until
+     * {@code graph.ingest.batch.max-consecutive-failures} is reached, whether or not the
+     * size adapts. Records the backend rejected are not resent, but still count as a
+     * failure for the sizer. Every attempt is recorded as a {@link BulkLoadBatchEvent}.
+     */
+    private <T> void write(List<GraphService> targets, String kind, List<T> batch, int batchIndex,
+                           boolean interleave, BackendTimings timings, AdaptiveBatchSizer sizer,
+                           BatchWriter<T> writer) {
+        for (GraphService target : order(targets, batchIndex, interleave)) {
+            writeWithBackoff(target, kind, batch, batchIndex, timings, sizer, writer, 0);
+        }
+    }
+
+    private <T> void writeWithBackoff(GraphService target, String kind, List<T> batch, int batchIndex,
+                                      BackendTimings timings, AdaptiveBatchSizer sizer, BatchWriter<T> writer,
+                                      int failures) {
+        long start = System.nanoTime();
+        BatchWriteResult result;
+        try (BulkLoadBatchEvent event = BulkLoadBatchEvent.begin(target.getDatabaseType(), kind, batchIndex,
+                batch.size(), failures)) {
+            result = writer.write(target, batch);
+            event.completed(result.getSucceeded(), result.getFailed());
+        } catch (RuntimeException e) {
+            if (failures + 1 >= ingestConfig.getMaxConsecutiveFailures()) {
+                throw e;
+            }
+            sizer.onFailure();
+            timings.recordWrite(target, BatchWriteResult.builder().retried(batch.size()).build());
+            log.warn("Batch of {} failed on {} ({}), retrying with batches of {}",
+                    batch.size(), target.getDatabaseType(), e.getMessage(), sizer.nextSize());
+            forEachChunk(batch, sizer.nextSize(),
+                    chunk -> writeWithBackoff(target, kind, chunk, batchIndex, timings, sizer, writer, failures + 1));
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        timings.record(target, nanos);
+        timings.recordWrite(target, result);
+        if (result.getFailed() > 0) {
+            sizer.onFailure();
+        } else {
+            sizer.onSuccess((int) result.getSucceeded(), nanos);
+        }
+    }
+
+    private static <T> void forEachChunk(List<T> items, int chunkSize, Consumer<List<T>> action) {
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            action.accept(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+    }
+
+    private static List<GraphService> order(List<GraphService> targets, int batchIndex, boolean interleave) {
+        if (!interleave || targets.size() < 2 || batchIndex % 2 == 0) {
+            return targets;
+        }
+        List<GraphService> reversed = new ArrayList<>(targets);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    private static CompletableFuture<EdgeBlock> generateAsync(DatasetGenerator generator, int blockStart,
+                                                              int totalRelationships, EdgeBlock block) {
+        int blockSize = Math.min(GENERATION_BLOCK_SIZE, totalRelationships - blockStart);
+        return CompletableFuture.supplyAsync(() -> {
+            generator.fill(blockStart, blockSize, block);
+            return block;
+        });
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter<T> {
+        BatchWriteResult write(GraphService target, List<T> batch);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.graph.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Splits edges into rounds of groups that never share an endpoint, so the groups of one
+ * round can be committed concurrently without lock waits or deadlocks. Endpoints are
+ * hashed into an even number of buckets. The first round holds one group per bucket with
+ * the edges inside it; every cross-bucket edge belongs to a pair of buckets, and the pairs
+ * are laid out as a round-robin tournament, so each following round is a set of disjoint
+ * pairs and every pair appears exactly once.
+ */
+public final class ConflictFreeScheduler {
+
+    private ConflictFreeScheduler() {
+    }
+
+    public static <T> List<List<List<T>>> schedule(List<T> edges, Function<T, String> source,
+                                                   Function<T, String> target, int buckets) {
+        int even = Math.max(2, buckets + (buckets & 1));
+        List<T>[][] pairs = newPairs(even);
+        for (T edge : edges) {
+            int a = bucket(source.apply(edge), even);
+            int b = bucket(target.apply(edge), even);
+            pairs[Math.min(a, b)][Math.max(a, b)].add(edge);
+        }
+
+        List<List<List<T>>> rounds = new ArrayList<>(even);
+        List<List<T>> diagonal = new ArrayList<>();
+        for (int b = 0; b < even; b++) {
+            addIfNotEmpty(diagonal, pairs[b][b]);
+        }
+        addIfNotEmpty(rounds, diagonal);
+        // Circle method: bucket even-1 stays put while the others rotate
+        int rotating = even - 1;
+        for (int round = 0; round < rotating; round++) {
+            List<List<T>> groups = new ArrayList<>(even / 2);
+            addIfNotEmpty(groups, pairs[round][rotating]);
+            for (int k = 1; k < even / 2; k++) {
+                int a = (round + k) % rotating;
+                int b = (round - k + rotating) % rotating;
+                addIfNotEmpty(groups, pairs[Math.min(a, b)][Math.max(a, b)]);
+            }
+            addIfNotEmpty(rounds, groups);
+        }
+        return rounds;
+    }
+
+    static int bucket(String id, int buckets) {
+        // Spread String.hashCode, whose low bits are weak for ids sharing a prefix
+        int hash = id.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), buckets);
+    }
+
+    private static <T> List<T>[][] newPairs(int buckets) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<T>[][] pairs = new List[buckets][buckets];
+        for (int a = 0; a < buckets; a++) {
+            for (int b = a; b < buckets; b++) {
+                pairs[a][b] = new ArrayList<>();
+            }
+        }
+        return pairs;
+    }
+
+    private static <E> void addIfNotEmpty(List<E> target, E group) {
+        if (group instanceof List<?> list && list.isEmpty()) {
+            return;
+        }
+        target.add(group);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.graph.ingest;
+
+import com.example.graph.util.LongHashSet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks (source, target, relationTypeId) triples seen during a write run so that
+ * duplicate and self-loop edges never reach a backend. Endpoint ids are interned to
+ * dense int indices and each relation type keeps its own primitive set of packed
+ * (source, target) pairs, so a key costs one long instead of three objects.
+ */
+public class EdgeDeduplicator {
+
+    private static final long MAX_INDEX = 0xFFFFFFFFL;
+
+    private final boolean dropSelfLoops;
+    private final Map<String, Integer> internedIds = new HashMap<>();
+    private final Map<Long, LongHashSet> seenByType = new HashMap<>();
+
+    private long duplicates;
+    private long selfLoops;
+
+    public EdgeDeduplicator(boolean dropSelfLoops) {
+        this.dropSelfLoops = dropSelfLoops;
+    }
+
+    public boolean accept(String sourceId, String targetId, Long relationTypeId) {
+        if (sourceId.equals(targetId)) {
+            return acceptSelfLoop(relationTypeId, intern(sourceId));
+        }
+        return accept(intern(sourceId), intern(targetId), relationTypeId);
+    }
+
+    public boolean accept(long sourceIndex, long targetIndex, Long relationTypeId) {
+        if (sourceIndex < 0 || sourceIndex > MAX_INDEX || targetIndex < 0 || targetIndex > MAX_INDEX) {
+            throw new IllegalArgumentException("Node index out of range for deduplication: "
+                    + sourceIndex + " -> " + targetIndex);
+        }
+        if (sourceIndex == targetIndex) {
+            return acceptSelfLoop(relationTypeId, sourceIndex);
+        }
+        return markSeen(sourceIndex, targetIndex, relationTypeId);
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getSelfLoops() {
+        return selfLoops;
+    }
+
+    public long getAccepted() {
+        long accepted = 0;
+        for (LongHashSet seen : seenByType.values()) {
+            accepted += seen.size();
+        }
+        return accepted;
+    }
+
+    private boolean acceptSelfLoop(Long relationTypeId, long index) {
+        if (dropSelfLoops) {
+            selfLoops++;
+            return false;
+        }
+        return markSeen(index, index, relationTypeId);
+    }
+
+    private boolean markSeen(long sourceIndex, long targetIndex, Long relationTypeId) {
+        LongHashSet seen = seenByType.computeIfAbsent(relationTypeId, type -> new LongHashSet());
+        if (seen.add((sourceIndex << 32) | targetIndex)) {
+            return true;
+        }
+        duplicates++;
+        return false;
+    }
+
+    private long intern(String id) {
+        Integer index = internedIds.get(id);
+        if (index == null) {
+            index = internedIds.size();
+            internedIds.put(id, index);
+        }
+        return index;
+    }
+}
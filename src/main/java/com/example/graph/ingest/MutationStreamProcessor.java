@@ -0,0 +1,180 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.IngestConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.GraphMutation;
+import com.example.graph.dto.MutationAck;
+import com.example.graph.service.GraphService;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies an NDJSON stream of {@link GraphMutation}s as it is read, so memory stays bounded
+ * by one chunk however long the stream is. Upserts are collected into a chunk of node and
+ * edge batches (nodes are written first, so edges may refer to nodes of the same chunk);
+ * a delete after upserts, or an upsert after deletes, closes the chunk early so mutations
+ * touching the same node keep their order. Each committed chunk is acknowledged with a
+ * {@link MutationAck} line and flushed to the client.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MutationStreamProcessor {
+
+    private final IngestConfig config;
+    private final ObjectMapper objectMapper;
+
+    public MutationAck process(GraphService target, InputStream in, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        Chunk chunk = new Chunk();
+        MutationAck total = MutationAck.builder()
+                .nodes(new BatchWriteResult())
+                .relationships(new BatchWriteResult())
+                .deletedNodes(new BatchWriteResult())
+                .build();
+        try (MappingIterator<GraphMutation> mutations = objectMapper.readerFor(GraphMutation.class).readValues(in)) {
+            long lastLine = 0;
+            while (true) {
+                long line;
+                try {
+                    if (!mutations.hasNextValue()) {
+                        break;
+                    }
+                    GraphMutation mutation = mutations.nextValue();
+                    line = mutations.getCurrentLocation().getLineNr();
+                    if (chunk.conflictsWith(mutation.getOp())) {
+                        commit(target, chunk, lastLine, total, out);
+                    }
+                    chunk.add(mutation, line);
+                } catch (JsonProcessingException e) {
+                    return fail(out, total, e.getLocation() != null ? e.getLocation().getLineNr() : lastLine + 1,
+                            e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    return fail(out, total, mutations.getCurrentLocation().getLineNr(), e.getMessage());
+                }
+                lastLine = line;
+                if (chunk.size() >= config.getStreamChunkSize()) {
+                    commit(target, chunk, lastLine, total, out);
+                }
+            }
+            commit(target, chunk, lastLine, total, out);
+        } catch (RuntimeException e) {
+            log.error("Mutation stream failed after {} chunks", total.getChunk(), e);
+            if (chunk.size() == 0) {
+                return fail(out, total, total.getLine() + 1, e.getMessage());
+            }
+            // The backend failed somewhere in the uncommitted chunk; part of it may already be applied
+            return fail(out, total, chunk.firstLine, String.format("Chunk of lines %d-%d failed: %s",
+                    chunk.firstLine, chunk.lastLine, e.getMessage()));
+        }
+        total.setDone(true);
+        total.setElapsedMs(System.currentTimeMillis() - started);
+        write(out, total);
+        return total;
+    }
+
+    private void commit(GraphService target, Chunk chunk, long line, MutationAck total, OutputStream out)
+            throws IOException {
+        if (chunk.size() == 0) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        MutationAck ack = MutationAck.builder()
+                .chunk(total.getChunk() + 1)
+                .line(line)
+                .mutations(chunk.size())
+                .build();
+        if (!chunk.nodes.isEmpty()) {
+            ack.setNodes(target.createNodesBatch(chunk.nodes));
+            total.getNodes().add(ack.getNodes());
+        }
+        if (!chunk.edges.isEmpty()) {
+            ack.setRelationships(target.createRelationshipsBatch(chunk.edges));
+            total.getRelationships().add(ack.getRelationships());
+        }
+        if (!chunk.deletes.isEmpty()) {
+            ack.setDeletedNodes(target.deleteNodesBatch(chunk.deletes));
+            total.getDeletedNodes().add(ack.getDeletedNodes());
+        }
+        ack.setElapsedMs(System.currentTimeMillis() - started);
+        total.setChunk(ack.getChunk());
+        total.setLine(line);
+        total.setMutations(total.getMutations() + chunk.size());
+        chunk.clear();
+        write(out, ack);
+    }
+
+    private MutationAck fail(OutputStream out, MutationAck total, long line, String error) throws IOException {
+        log.warn("Stopping mutation stream at line {}: {}", line, error);
+        total.setLine(line);
+        total.setError(error);
+        write(out, total);
+        return total;
+    }
+
+    private void write(OutputStream out, MutationAck ack) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(ack));
+        out.write('\n');
+        out.flush();
+    }
+
+    private static final class Chunk {
+        private List<String> nodes = new ArrayList<>();
+        private List<RelationshipBatch> edges = new ArrayList<>();
+        private List<String> deletes = new ArrayList<>();
+        private long firstLine;
+        private long lastLine;
+
+        boolean conflictsWith(String op) {
+            return GraphMutation.DELETE_NODE.equals(op) ? !nodes.isEmpty() || !edges.isEmpty() : !deletes.isEmpty();
+        }
+
+        void add(GraphMutation mutation, long line) {
+            String op = mutation.getOp();
+            if (GraphMutation.UPSERT_NODE.equals(op)) {
+                nodes.add(required(mutation.getId(), "id"));
+            } else if (GraphMutation.UPSERT_EDGE.equals(op)) {
+                edges.add(new RelationshipBatch(required(mutation.getSourceId(), "sourceId"),
+                        required(mutation.getTargetId(), "targetId"),
+                        required(mutation.getRelationTypeId(), "relationTypeId")));
+            } else if (GraphMutation.DELETE_NODE.equals(op)) {
+                deletes.add(required(mutation.getId(), "id"));
+            } else {
+                throw new IllegalArgumentException("Unknown mutation op: " + op);
+            }
+            if (size() == 1) {
+                firstLine = line;
+            }
+            lastLine = line;
+        }
+
+        int size() {
+            return nodes.size() + edges.size() + deletes.size();
+        }
+
+        void clear() {
+            // Fresh lists: a backend or the workload capture may still hold the committed ones
+            nodes = new ArrayList<>();
+            edges = new ArrayList<>();
+            deletes = new ArrayList<>();
+        }
+
+        private static <T> T required(T value, String field) {
+            if (value == null || value instanceof String text && text.isEmpty()) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.config.IngestConfig;
+import com.example.graph.repository.CiNodeRepository;
+import com.example.graph.util.StringBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process Bloom filter of every Neo4j {@code CiNode} id, so relationship writes can
+ * reject endpoints that definitely do not exist without a database round-trip. Possibly
+ * present endpoints are still checked by the write statement's own {@code MATCH}.
+ * <p>
+ * The filter is built from an id scan at startup (until then every id might exist), ids
+ * are added as nodes are created, and deletes, which a Bloom filter cannot remove, trigger
+ * a background rebuild once they pass {@code rebuild-deleted-ratio}. Creates hold a read
+ * lock until their transaction completes and a rebuild scans under the write lock, so a
+ * node committed while the filter is rebuilt cannot be missed; ingest pauses for the scan.
+ * A failed scan leaves the filter off and is retried with exponential backoff on the next
+ * create, delete or lookup.
+ */
+@Component
+@ConditionalOnGraphBackend("neo4j")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class NodeExistenceFilter implements ApplicationRunner {
+
+    private static final int SCAN_PAGE_SIZE = 50_000;
+    private static final long RETRY_BASE_DELAY_MS = 1_000;
+    private static final long RETRY_MAX_DELAY_MS = 300_000;
+
+    private final IngestConfig config;
+    private final CiNodeRepository ciNodeRepository;
+    private final Counter rejected;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "node-existence-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Null until the first scan completes or after it failed: every id might exist
+    private volatile StringBloomFilter filter;
+    private volatile int failedScans;
+    private volatile long retryNotBefore;
+
+    public NodeExistenceFilter(IngestConfig config, CiNodeRepository ciNodeRepository, MeterRegistry registry) {
+        this.config = config;
+        this.ciNodeRepository = ciNodeRepository;
+        this.rejected = Counter.builder("graph.ingest.existence-filter.rejected")
+                .description("Relationship endpoints rejected by the node existence filter")
+                .register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (config.isExistenceFilterEnabled()) {
+            rebuild();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /** True only when {@code id} was never created since the last scan. */
+    public boolean isDefinitelyAbsent(String id) {
+        StringBloomFilter current = filter;
+        if (current == null) {
+            retryFailedScan();
+            return false;
+        }
+        if (!config.isExistenceFilterEnabled() || current.mightContain(id)) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    /** Records ids about to be created; call before the write so no reader sees the node first. */
+    public void adding(Collection<String> ids) {
+        if (!config.isExistenceFilterEnabled()) {
+            return;
+        }
+        lock.readLock().lock();
+        StringBloomFilter current = filter;
+        try {
+            if (current != null) {
+                ids.forEach(current::put);
+            }
+        } finally {
+            unlockAfterCompletion();
+        }
+        if (current == null) {
+            retryFailedScan();
+        } else if (current.getInsertions() > current.getCapacity()) {
+            scheduleRebuild("capacity reached");
+        }
+    }
+
+    public void deleted(long nodes) {
+        StringBloomFilter current = filter;
+        if (current == null) {
+            retryFailedScan();
+        } else if (deleted.addAndGet(nodes)
+                > config.getExistenceFilterRebuildDeletedRatio() * current.getInsertions()) {
+            scheduleRebuild(deleted.get() + " deleted ids");
+        }
+    }
+
+    public void cleared() {
+        if (!config.isExistenceFilterEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            filter = newFilter(0);
+            deleted.set(0);
+            failedScans = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces the filter with one scanned from the database, blocking creates meanwhile. */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            StringBloomFilter next = newFilter(ciNodeRepository.count());
+            String after = "";
+            List<String> page;
+            do {
+                page = ciNodeRepository.findIdsAfter(after, SCAN_PAGE_SIZE);
+                page.forEach(next::put);
+                after = page.isEmpty() ? after : page.get(page.size() - 1);
+            } while (page.size() == SCAN_PAGE_SIZE);
+            filter = next;
+            deleted.set(0);
+            failedScans = 0;
+            log.info("Node existence filter rebuilt from {} ids ({} bits) in {} ms", next.getInsertions(),
+                    next.getBitSize(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            filter = null;
+            long delay = Math.min(RETRY_MAX_DELAY_MS, RETRY_BASE_DELAY_MS << Math.min(failedScans, 20));
+            failedScans++;
+            retryNotBefore = System.currentTimeMillis() + delay;
+            log.warn("Node existence filter disabled, retrying the scan in {} ms: {}", delay, e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+            rebuildScheduled.set(false);
+        }
+    }
+
+    private StringBloomFilter newFilter(long nodes) {
+        // Room to grow to twice the current size before the next capacity rebuild
+        return new StringBloomFilter(Math.max(config.getExistenceFilterExpectedNodes(), nodes * 2),
+                config.getExistenceFilterFalsePositiveRate());
+    }
+
+    private void retryFailedScan() {
+        if (failedScans > 0 && config.isExistenceFilterEnabled()
+                && System.currentTimeMillis() >= retryNotBefore) {
+            scheduleRebuild("retrying after " + failedScans + " failed scans");
+        }
+    }
+
+    private void scheduleRebuild(String reason) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            log.info("Scheduling node existence filter rebuild: {}", reason);
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void unlockAfterCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.readLock().unlock();
+            }
+        });
+    }
+}
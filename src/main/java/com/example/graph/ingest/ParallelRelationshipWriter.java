@@ -0,0 +1,180 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.config.IngestConfig;
+import com.example.graph.dto.BatchWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.exceptions.Neo4jException;
+import org.neo4j.driver.exceptions.RetryableException;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Commits a large Neo4j relationship batch as several concurrent transactions. The rows
+ * are split by {@link ConflictFreeScheduler} into rounds whose groups touch disjoint
+ * nodes, each group is written in its own transaction on the worker pool, and a round
+ * finishes before the next starts. Disjoint nodes remove most lock waits, but an existing
+ * relationship between two buckets sits in both of their chains, so commits can still
+ * deadlock; those and other transient failures are retried with jittered backoff.
+ *
+ * <p>Groups run in explicit driver transactions rather than Spring-managed ones, which
+ * report a failed commit as the rollback that follows it and so hide the deadlock. The
+ * batch is therefore not atomic: once any group has committed, a failing group does not
+ * raise but is reported as failed, and the rounds after it are not attempted, so a caller
+ * retrying the exception cannot write the committed groups twice.
+ */
+@Component
+@ConditionalOnGraphBackend("neo4j")
+@Slf4j
+public class ParallelRelationshipWriter {
+
+    private static final long BASE_BACKOFF_MS = 10;
+
+    private final IngestConfig config;
+    private final Driver driver;
+    private final DatabaseSelectionProvider databaseSelectionProvider;
+    private final Counter transientRetries;
+    private ExecutorService workers;
+
+    public ParallelRelationshipWriter(IngestConfig config, Driver driver,
+                                      DatabaseSelectionProvider databaseSelectionProvider, MeterRegistry registry) {
+        this.config = config;
+        this.driver = driver;
+        this.databaseSelectionProvider = databaseSelectionProvider;
+        this.transientRetries = Counter.builder("graph.ingest.parallel.transient-retries")
+                .description("Relationship groups retried after a deadlock or other transient error")
+                .register(registry);
+    }
+
+    private synchronized ExecutorService workers() {
+        if (workers == null) {
+            AtomicInteger threads = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(config.getParallelism(), runnable -> {
+                Thread thread = new Thread(runnable, "neo4j-ingest-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workers;
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    public boolean appliesTo(int rows) {
+        return config.getParallelism() > 1 && rows >= config.getParallelMinBatchSize();
+    }
+
+    /**
+     * @param statements renders the statements writing one group; each must return the
+     *                   number of relationships it wrote as its single value
+     * @return {@code succeeded} counts the relationships written by committed groups and
+     * {@code failed} every other row, including those of failed and unattempted groups
+     * @throws RuntimeException the first group failure, only when no group has committed
+     */
+    public BatchWriteResult write(List<Map<String, Object>> rows,
+                                  Function<List<Map<String, Object>>, List<Query>> statements) {
+        List<List<List<Map<String, Object>>>> rounds = ConflictFreeScheduler.schedule(rows,
+                row -> (String) row.get("sourceId"), row -> (String) row.get("targetId"),
+                2 * config.getParallelism());
+        ExecutorService pool = workers();
+        long written = 0;
+        int committedGroups = 0;
+        int failedGroups = 0;
+        RuntimeException firstFailure = null;
+        int round = 0;
+        while (round < rounds.size() && firstFailure == null) {
+            List<Future<Long>> groups = new ArrayList<>(rounds.get(round).size());
+            for (List<Map<String, Object>> group : rounds.get(round)) {
+                groups.add(pool.submit(() -> writeWithRetry(statements.apply(group))));
+            }
+            // Every group of the round is awaited so none is still committing when this returns
+            for (Future<Long> group : groups) {
+                try {
+                    written += group.get();
+                    committedGroups++;
+                } catch (ExecutionException e) {
+                    failedGroups++;
+                    if (firstFailure == null) {
+                        firstFailure = e.getCause() instanceof RuntimeException cause
+                                ? cause : new RuntimeException(e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failedGroups++;
+                    if (firstFailure == null) {
+                        firstFailure = new RuntimeException("Interrupted while writing relationships", e);
+                    }
+                }
+            }
+            round++;
+        }
+        if (firstFailure != null) {
+            if (committedGroups == 0) {
+                throw firstFailure;
+            }
+            log.warn("Relationship batch partially committed: {} groups committed, {} failed, {} of {} rounds "
+                    + "not attempted: {}", committedGroups, failedGroups, rounds.size() - round, rounds.size(),
+                    firstFailure.getMessage());
+        } else {
+            log.debug("Wrote {} relationships in {} conflict-free rounds", written, rounds.size());
+        }
+        return BatchWriteResult.builder()
+                .attempted(rows.size())
+                .succeeded(written)
+                .failed(rows.size() - written)
+                .build();
+    }
+
+    // The database spring.data.neo4j.database selects for the repositories, not the server default
+    private SessionConfig sessionConfig() {
+        String database = databaseSelectionProvider.getDatabaseSelection().getValue();
+        return database != null ? SessionConfig.forDatabase(database) : SessionConfig.defaultConfig();
+    }
+
+    private long writeWithRetry(List<Query> statements) throws InterruptedException {
+        try (Session session = driver.session(sessionConfig())) {
+            for (int attempt = 0; ; attempt++) {
+                try (Transaction tx = session.beginTransaction()) {
+                    long written = 0;
+                    for (Query statement : statements) {
+                        written += tx.run(statement).single().get(0).asLong();
+                    }
+                    tx.commit();
+                    return written;
+                } catch (Neo4jException e) {
+                    if (attempt >= config.getParallelTransientRetries() || !(e instanceof RetryableException)) {
+                        throw e;
+                    }
+                    transientRetries.increment();
+                    long backoff = BASE_BACKOFF_MS << Math.min(attempt, 10);
+                    log.debug("Retrying relationship group after transient error: {}", e.getMessage());
+                    Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff + 1));
+                }
+            }
+        }
+    }
+}
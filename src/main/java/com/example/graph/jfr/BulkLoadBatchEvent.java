@@ -0,0 +1,102 @@
+package com.example.graph.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One bulk-load batch written to one backend, including attempts that failed and were
+ * split. Wire bytes are added by the client calls made on the same thread while the
+ * batch is open.
+ */
+@Name("com.example.graph.BulkLoadBatch")
+@Label("Bulk Load Batch")
+@Category({"Graph Performance", "Bulk Load"})
+@Description("A node or relationship batch written by the bulk loader")
+@StackTrace(false)
+public final class BulkLoadBatchEvent extends Event implements AutoCloseable {
+
+    private static final ThreadLocal<BulkLoadBatchEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Backend")
+    private String backend;
+
+    @Label("Kind")
+    @Description("nodes or relationships")
+    private String kind;
+
+    @Label("Batch Index")
+    private int batchIndex;
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    @Label("Attempt")
+    @Description("Consecutive failures before this attempt")
+    private int attempt;
+
+    @Label("Succeeded")
+    private long succeeded;
+
+    @Label("Failed Records")
+    private long failedRecords;
+
+    @Label("Failed")
+    @Description("The write threw and the batch was split or given up")
+    private boolean failed = true;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    private long bytesSent;
+
+    @Label("Bytes Received")
+    @DataAmount
+    private long bytesReceived;
+
+    private transient BulkLoadBatchEvent outer;
+
+    public static BulkLoadBatchEvent begin(String backend, String kind, int batchIndex, int batchSize, int attempt) {
+        BulkLoadBatchEvent event = new BulkLoadBatchEvent();
+        event.backend = backend;
+        event.kind = kind;
+        event.batchIndex = batchIndex;
+        event.batchSize = batchSize;
+        event.attempt = attempt;
+        event.outer = CURRENT.get();
+        CURRENT.set(event);
+        event.begin();
+        return event;
+    }
+
+    /** Adds wire bytes to the batch open on this thread, if any. */
+    public static void addBytes(long sent, long received) {
+        BulkLoadBatchEvent event = CURRENT.get();
+        if (event != null) {
+            event.bytesSent += sent;
+            event.bytesReceived += received;
+        }
+    }
+
+    public void completed(long succeeded, long failedRecords) {
+        this.succeeded = succeeded;
+        this.failedRecords = failedRecords;
+        failed = false;
+    }
+
+    @Override
+    public void close() {
+        end();
+        if (outer != null) {
+            CURRENT.set(outer);
+        } else {
+            CURRENT.remove();
+        }
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.graph.jfr;
+
+import com.example.graph.config.JfrConfig;
+import com.example.graph.dto.RecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+
+/**
+ * Starts and stops one in-process flight recording at a time, typically around a
+ * benchmark run. The JDK settings are applied and the graph events enabled on top.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecordingManager {
+
+    private final JfrConfig config;
+
+    private Recording recording;
+    private String settings;
+
+    public synchronized RecordingStatus start(String name, String settingsName) {
+        // The name becomes the dump file name in the recording directory
+        if (name != null && (name.isBlank() || name.contains("/") || name.contains("\\"))) {
+            throw new IllegalArgumentException("Invalid recording name: " + name);
+        }
+        if (recording != null) {
+            throw new IllegalStateException("Recording " + recording.getName() + " is already running");
+        }
+        String chosen = settingsName != null ? settingsName : config.getSettings();
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(chosen);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + chosen, e);
+        }
+        Recording started = new Recording(configuration);
+        started.setName(name != null ? name : "graph-" + Instant.now().toEpochMilli());
+        started.setToDisk(true);
+        started.enable(GraphOperationEvent.class);
+        started.enable(BulkLoadBatchEvent.class);
+        started.enable(TigerGraphRequestEvent.class);
+        started.start();
+        recording = started;
+        settings = chosen;
+        log.info("Started flight recording {} with {} settings", started.getName(), chosen);
+        return getStatus();
+    }
+
+    public synchronized RecordingStatus stop() throws IOException {
+        if (recording == null) {
+            return getStatus();
+        }
+        Recording stopped = recording;
+        recording = null;
+        try {
+            stopped.stop();
+            Path directory = Path.of(config.getDirectory());
+            Files.createDirectories(directory);
+            Path file = directory.resolve(stopped.getName() + ".jfr");
+            stopped.dump(file);
+            log.info("Flight recording {} written to {}", stopped.getName(), file.toAbsolutePath());
+            RecordingStatus status = status(stopped, false);
+            status.setFile(file.toAbsolutePath().toString());
+            status.setSizeBytes(Files.size(file));
+            return status;
+        } finally {
+            stopped.close();
+        }
+    }
+
+    public synchronized RecordingStatus getStatus() {
+        return recording == null ? RecordingStatus.builder().build() : status(recording, true);
+    }
+
+    @PreDestroy
+    synchronized void closeOnShutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private RecordingStatus status(Recording current, boolean running) {
+        Instant started = current.getStartTime();
+        Instant ended = running || current.getStopTime() == null ? Instant.now() : current.getStopTime();
+        return RecordingStatus.builder()
+                .recording(running)
+                .name(current.getName())
+                .settings(settings)
+                .startedAtEpochMillis(started.toEpochMilli())
+                .durationMs(ended.toEpochMilli() - started.toEpochMilli())
+                .build();
+    }
+}
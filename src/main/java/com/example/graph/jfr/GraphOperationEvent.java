@@ -0,0 +1,59 @@
+package com.example.graph.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code GraphService} call on a backend. The event is committed on close; a call that
+ * throws before {@link #completed(long)} is recorded as failed.
+ */
+@Name("com.example.graph.GraphOperation")
+@Label("Graph Operation")
+@Category({"Graph Performance", "Backend"})
+@Description("A graph service call against one backend")
+@StackTrace(false)
+public final class GraphOperationEvent extends Event implements AutoCloseable {
+
+    @Label("Backend")
+    private String backend;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Records")
+    @Description("Records passed to the call")
+    private long records;
+
+    @Label("Completed")
+    @Description("Records written or read back")
+    private long completed;
+
+    @Label("Failed")
+    private boolean failed = true;
+
+    public static GraphOperationEvent begin(String backend, String operation, long records) {
+        GraphOperationEvent event = new GraphOperationEvent();
+        event.backend = backend;
+        event.operation = operation;
+        event.records = records;
+        event.begin();
+        return event;
+    }
+
+    public void completed(long records) {
+        completed = records;
+        failed = false;
+    }
+
+    @Override
+    public void close() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
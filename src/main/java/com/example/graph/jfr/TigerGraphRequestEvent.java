@@ -0,0 +1,65 @@
+package com.example.graph.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One {@code TigerGraphClient} call with the time spent in each of its phases, the same
+ * breakdown as the {@code tigergraph.client.phase} timers.
+ */
+@Name("com.example.graph.TigerGraphRequest")
+@Label("TigerGraph Request")
+@Category({"Graph Performance", "TigerGraph Client"})
+@Description("A TigerGraph REST++ client call broken down into phases")
+@StackTrace(false)
+public final class TigerGraphRequestEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("HTTP Requests")
+    @Description("Requests sent, including retries and split batches")
+    public int requests;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    public long bytesSent;
+
+    @Label("Bytes Received")
+    @DataAmount
+    public long bytesReceived;
+
+    @Label("Build")
+    @Timespan
+    public long build;
+
+    @Label("Serialize")
+    @Timespan
+    public long serialize;
+
+    @Label("Send")
+    @Timespan
+    public long send;
+
+    @Label("First Byte")
+    @Timespan
+    public long firstByte;
+
+    @Label("Body Read")
+    @Timespan
+    public long bodyRead;
+
+    @Label("Parse")
+    @Timespan
+    public long parse;
+
+    @Label("Backoff")
+    @Timespan
+    public long backoff;
+}
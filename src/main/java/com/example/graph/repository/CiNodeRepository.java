@@ -7,13 +7,37 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public interface CiNodeRepository extends Neo4jRepository<CiNode, String> {
-    
+
+    String MERGE_RELATIONSHIPS = "UNWIND $rows AS row " +
+            "MATCH (s:CiNode {id: row.sourceId}) MATCH (t:CiNode {id: row.targetId}) " +
+            "MERGE (s)-[r:RELATES_TO {relationTypeId: row.relationTypeId}]->(t) RETURN count(r)";
+
+    String CREATE_RELATIONSHIPS = "UNWIND $rows AS row " +
+            "MATCH (s:CiNode {id: row.sourceId}) MATCH (t:CiNode {id: row.targetId}) " +
+            "CREATE (s)-[r:RELATES_TO {relationTypeId: row.relationTypeId}]->(t) RETURN count(r)";
+
     @Query("MATCH (n:CiNode)-[r:RELATES_TO]->(m:CiNode) WHERE r.relationTypeId = $relationTypeId RETURN n, collect(r), collect(m)")
     List<CiNode> findByRelationTypeId(@Param("relationTypeId") Long relationTypeId);
     
     @Query("MATCH ()-[r:RELATES_TO]->() RETURN count(r)")
     long countRelationships();
+
+    @Query("MATCH (n:CiNode) WHERE n.id > $afterId RETURN n.id ORDER BY n.id LIMIT $limit")
+    List<String> findIdsAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    @Query("UNWIND $ids AS id MERGE (n:CiNode {id: id}) RETURN count(n)")
+    long mergeNodes(@Param("ids") List<String> ids);
+
+    @Query("UNWIND $ids AS id MATCH (n:CiNode {id: id}) DETACH DELETE n RETURN count(*)")
+    long deleteNodes(@Param("ids") List<String> ids);
+
+    @Query(MERGE_RELATIONSHIPS)
+    long mergeRelationships(@Param("rows") List<Map<String, Object>> rows);
+
+    @Query(CREATE_RELATIONSHIPS)
+    long createRelationships(@Param("rows") List<Map<String, Object>> rows);
 }
@@ -0,0 +1,64 @@
+package com.example.graph.repository;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.dto.NodeDegree;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregations computed by Neo4j so only the result crosses the wire. Degrees come from
+ * {@code COUNT {}} subqueries, which Neo4j answers from the node's degree store instead of
+ * walking its relationships. In the typed model every relationship of a {@code CiNode} is
+ * a CI edge, so the degree is taken over all types.
+ */
+@Repository
+@ConditionalOnGraphBackend("neo4j")
+@RequiredArgsConstructor
+public class GraphAnalyticsRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    // Property model only; typed relationship counts come from the count store per type
+    public Map<Long, Long> countByRelationTypeId() {
+        Map<Long, Long> counts = new TreeMap<>();
+        neo4jClient.query("MATCH ()-[r:RELATES_TO]->() "
+                        + "RETURN r.relationTypeId AS relationTypeId, count(*) AS relationships")
+                .fetch().all()
+                .forEach(row -> counts.put(((Number) row.get("relationTypeId")).longValue(),
+                        ((Number) row.get("relationships")).longValue()));
+        return counts;
+    }
+
+    public List<NodeDegree> findTopByDegree(boolean incoming, int limit, boolean typed) {
+        return List.copyOf(neo4jClient.query("MATCH (n:CiNode) "
+                        + "WITH n, COUNT { " + pattern(incoming, typed) + " } AS degree "
+                        + "ORDER BY degree DESC, n.id LIMIT $limit "
+                        + "RETURN n.id AS id, degree")
+                .bind(limit).to("limit")
+                .fetchAs(NodeDegree.class)
+                .mappedBy((typeSystem, record) -> new NodeDegree(record.get("id").asString(),
+                        record.get("degree").asLong()))
+                .all());
+    }
+
+    public Map<Long, Long> degreeHistogram(boolean incoming, boolean typed) {
+        Map<Long, Long> histogram = new TreeMap<>();
+        neo4jClient.query("MATCH (n:CiNode) "
+                        + "WITH COUNT { " + pattern(incoming, typed) + " } AS degree "
+                        + "RETURN degree, count(*) AS nodes")
+                .fetch().all()
+                .forEach(row -> histogram.put(((Number) row.get("degree")).longValue(),
+                        ((Number) row.get("nodes")).longValue()));
+        return histogram;
+    }
+
+    private static String pattern(boolean incoming, boolean typed) {
+        String relationship = typed ? "[]" : "[:RELATES_TO]";
+        return incoming ? "(n)<-" + relationship + "-()" : "(n)-" + relationship + "->()";
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.graph.repository;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.dto.ExportedNode;
+import com.example.graph.dto.RelationshipPage;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.graph.config.Neo4jModelConfig.TYPED_RELATIONSHIP_PREFIX;
+
+/**
+ * Keyset chunks of nodes in id order with their outgoing relationships, for exports. The
+ * {@code ci_node_id} constraint index serves the ordering, so a chunk costs the same at
+ * the end of the graph as at the start.
+ */
+@Repository
+@ConditionalOnGraphBackend("neo4j")
+@RequiredArgsConstructor
+public class GraphExportRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    public List<ExportedNode> findChunk(String afterId, int limit, boolean typed) {
+        String relationship = typed
+                ? "(s)-[r]->(t:CiNode) WHERE type(r) STARTS WITH $prefix"
+                : "(s)-[r:RELATES_TO]->(t:CiNode)";
+        return List.copyOf(neo4jClient.query("MATCH (s:CiNode) WHERE s.id > $afterId "
+                        + "WITH s ORDER BY s.id LIMIT $limit "
+                        + "OPTIONAL MATCH " + relationship + " "
+                        + "WITH s, collect(CASE WHEN t IS NULL THEN null "
+                        + "ELSE {relationTypeId: r.relationTypeId, targetId: t.id} END) AS relationships "
+                        + "RETURN s.id AS id, relationships ORDER BY id")
+                .bindAll(Map.of("afterId", afterId, "limit", limit, "prefix", TYPED_RELATIONSHIP_PREFIX))
+                .fetchAs(ExportedNode.class)
+                .mappedBy((typeSystem, record) -> {
+                    List<RelationshipPage.Entry> relationships = new ArrayList<>();
+                    for (Value edge : record.get("relationships").values()) {
+                        relationships.add(new RelationshipPage.Entry(
+                                edge.get("relationTypeId").asLong(), edge.get("targetId").asString()));
+                    }
+                    return new ExportedNode(record.get("id").asString(), relationships);
+                })
+                .all());
+    }
+}
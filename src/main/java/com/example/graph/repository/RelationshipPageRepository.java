@@ -0,0 +1,62 @@
+package com.example.graph.repository;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.dto.RelationshipPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.graph.config.Neo4jModelConfig.TYPED_RELATIONSHIP_PREFIX;
+import static com.example.graph.config.Neo4jModelConfig.typedRelationship;
+
+/**
+ * Keyset pages over one node's outgoing relationships. Only ids and relationTypeIds are
+ * returned, so a page of a supernode never maps its other relationships or their targets.
+ */
+@Repository
+@ConditionalOnGraphBackend("neo4j")
+@RequiredArgsConstructor
+public class RelationshipPageRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    public List<RelationshipPage.Entry> findPage(String sourceId, Long relationTypeId, RelationshipPage.Cursor after,
+                                                 int limit, boolean typed) {
+        String relationship;
+        String typeFilter;
+        if (!typed) {
+            relationship = "r:RELATES_TO";
+            typeFilter = "($relationTypeId IS NULL OR r.relationTypeId = $relationTypeId)";
+        } else if (relationTypeId != null) {
+            relationship = "r:`" + typedRelationship(relationTypeId) + "`";
+            typeFilter = "true";
+        } else {
+            relationship = "r";
+            typeFilter = "type(r) STARTS WITH $prefix";
+        }
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("sourceId", sourceId);
+        parameters.put("relationTypeId", relationTypeId);
+        parameters.put("prefix", TYPED_RELATIONSHIP_PREFIX);
+        parameters.put("afterRelationTypeId", after.relationTypeId());
+        parameters.put("afterTargetId", after.targetId());
+        parameters.put("limit", limit);
+
+        // ORDER BY with LIMIT is planned as a top-k sort, memory stays at one page
+        return List.copyOf(neo4jClient.query("MATCH (s:CiNode {id: $sourceId})-[" + relationship + "]->(t:CiNode) "
+                        + "WHERE " + typeFilter + " AND (r.relationTypeId > $afterRelationTypeId "
+                        + "OR (r.relationTypeId = $afterRelationTypeId AND t.id > $afterTargetId)) "
+                        + "RETURN r.relationTypeId AS relationTypeId, t.id AS targetId "
+                        + "ORDER BY relationTypeId, targetId LIMIT $limit")
+                .bindAll(parameters)
+                .fetchAs(RelationshipPage.Entry.class)
+                .mappedBy((typeSystem, record) -> new RelationshipPage.Entry(
+                        record.get("relationTypeId").asLong(), record.get("targetId").asString()))
+                .all());
+    }
+}
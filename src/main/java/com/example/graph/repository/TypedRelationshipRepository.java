@@ -0,0 +1,155 @@
+package com.example.graph.repository;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.domain.CiNode;
+import com.example.graph.domain.CiRelationship;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Query;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+import static com.example.graph.config.Neo4jModelConfig.TYPED_RELATIONSHIP_PREFIX;
+import static com.example.graph.config.Neo4jModelConfig.typedRelationship;
+
+/**
+ * Cypher for the typed relationship model, where each relationTypeId is its own relationship
+ * type ({@code RELATES_TO_3}). Neo4j 5 cannot parameterize a relationship type, so the type is
+ * rendered from the numeric id into the statement and rows are written one type at a time.
+ * Typed relationships keep the {@code relationTypeId} property so they can be migrated back.
+ */
+@Repository
+@ConditionalOnGraphBackend("neo4j")
+@RequiredArgsConstructor
+public class TypedRelationshipRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    private static final String MERGE_PATTERN = "MERGE (s)-[r:%s]->(t) ON CREATE SET r.relationTypeId = $relationTypeId";
+    private static final String CREATE_PATTERN = "CREATE (s)-[r:%s {relationTypeId: $relationTypeId}]->(t)";
+
+    public long mergeRelationships(List<Map<String, Object>> rows) {
+        return write(relationshipStatements(rows, true));
+    }
+
+    public long createRelationships(List<Map<String, Object>> rows) {
+        return write(relationshipStatements(rows, false));
+    }
+
+    /** One statement per relation type, for callers that run them in their own transaction. */
+    public List<Query> relationshipStatements(List<Map<String, Object>> rows, boolean merge) {
+        Map<Long, List<Map<String, Object>>> byType = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            Object relationTypeId = row.get("relationTypeId");
+            if (relationTypeId == null) {
+                throw new IllegalArgumentException("relationTypeId is required for typed relationships");
+            }
+            byType.computeIfAbsent(((Number) relationTypeId).longValue(), id -> new ArrayList<>()).add(row);
+        }
+
+        List<Query> statements = new ArrayList<>(byType.size());
+        for (Map.Entry<Long, List<Map<String, Object>>> entry : byType.entrySet()) {
+            statements.add(new Query("UNWIND $rows AS row "
+                    + "MATCH (s:CiNode {id: row.sourceId}) MATCH (t:CiNode {id: row.targetId}) "
+                    + String.format(merge ? MERGE_PATTERN : CREATE_PATTERN, quoted(entry.getKey()))
+                    + " RETURN count(r)", Map.of("rows", entry.getValue(), "relationTypeId", entry.getKey())));
+        }
+        return statements;
+    }
+
+    public List<CiNode> findByRelationTypeId(long relationTypeId) {
+        Collection<Map<String, Object>> records = neo4jClient.query(
+                        "MATCH (n:CiNode)-[:" + quoted(relationTypeId) + "]->(m:CiNode) "
+                                + "RETURN n.id AS id, collect(m.id) AS targets")
+                .fetch().all();
+
+        List<CiNode> nodes = new ArrayList<>(records.size());
+        for (Map<String, Object> record : records) {
+            Set<CiRelationship> relations = new HashSet<>();
+            for (Object target : (List<?>) record.get("targets")) {
+                relations.add(CiRelationship.builder()
+                        .relationTypeId(relationTypeId)
+                        .target(CiNode.builder().id((String) target).build())
+                        .build());
+            }
+            nodes.add(CiNode.builder().id((String) record.get("id")).outgoingRelations(relations).build());
+        }
+        return nodes;
+    }
+
+    public long countRelationships() {
+        return countByRelationTypeId().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public Map<Long, Long> countByRelationTypeId() {
+        // Per-type counts come from the count store, a single unlabelled count would include other types
+        Map<Long, Long> counts = new TreeMap<>();
+        for (long relationTypeId : findRelationTypeIds()) {
+            long relationships = neo4jClient.query("MATCH ()-[r:" + quoted(relationTypeId) + "]->() RETURN count(r)")
+                    .fetchAs(Long.class).one().orElse(0L);
+            // A type token outlives its last relationship
+            if (relationships > 0) {
+                counts.put(relationTypeId, relationships);
+            }
+        }
+        return counts;
+    }
+
+    public List<Long> findRelationTypeIds() {
+        Collection<String> types = neo4jClient.query("CALL db.relationshipTypes() YIELD relationshipType "
+                        + "WHERE relationshipType STARTS WITH $prefix RETURN relationshipType")
+                .bind(TYPED_RELATIONSHIP_PREFIX).to("prefix")
+                .fetchAs(String.class).all();
+        List<Long> ids = new ArrayList<>(types.size());
+        for (String type : types) {
+            try {
+                ids.add(Long.parseLong(type.substring(TYPED_RELATIONSHIP_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        return ids;
+    }
+
+    public List<Long> findPropertyRelationTypeIds() {
+        return new ArrayList<>(neo4jClient.query(
+                        "MATCH ()-[r:RELATES_TO]->() RETURN DISTINCT r.relationTypeId AS relationTypeId")
+                .fetchAs(Long.class).all());
+    }
+
+    public long convertToTyped(long relationTypeId, int chunkSize) {
+        return neo4jClient.query("MATCH (s:CiNode)-[r:RELATES_TO {relationTypeId: $relationTypeId}]->(t:CiNode) "
+                        + "WITH s, r, t LIMIT $limit "
+                        + "CREATE (s)-[n:" + quoted(relationTypeId) + "]->(t) SET n = properties(r) "
+                        + "DELETE r RETURN count(n)")
+                .bind(relationTypeId).to("relationTypeId")
+                .bind(chunkSize).to("limit")
+                .fetchAs(Long.class).one().orElse(0L);
+    }
+
+    public long convertToProperty(long relationTypeId, int chunkSize) {
+        return neo4jClient.query("MATCH (s:CiNode)-[r:" + quoted(relationTypeId) + "]->(t:CiNode) "
+                        + "WITH s, r, t LIMIT $limit "
+                        + "CREATE (s)-[n:RELATES_TO]->(t) SET n = properties(r), n.relationTypeId = $relationTypeId "
+                        + "DELETE r RETURN count(n)")
+                .bind(relationTypeId).to("relationTypeId")
+                .bind(chunkSize).to("limit")
+                .fetchAs(Long.class).one().orElse(0L);
+    }
+
+    private long write(List<Query> statements) {
+        long written = 0;
+        for (Query statement : statements) {
+            written += neo4jClient.query(statement.text())
+                    .bindAll(statement.parameters().asMap())
+                    .fetchAs(Long.class).one().orElse(0L);
+        }
+        return written;
+    }
+
+    private static String quoted(long relationTypeId) {
+        // Backticks keep negative ids valid identifiers
+        return "`" + typedRelationship(relationTypeId) + "`";
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.graph.service;
+
+import com.example.graph.benchmark.BenchmarkHistoryStore;
+import com.example.graph.cache.RelationTypeResultCache;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.ComparisonReport;
+import com.example.graph.dto.PerformanceResult;
+import com.example.graph.generator.DatasetGenerator;
+import com.example.graph.ingest.BackendTimings;
+import com.example.graph.ingest.BulkLoader;
+import com.example.graph.ingest.EdgeDeduplicator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs one seeded workload against several registered backends in the same JVM, either
+ * one backend after the other ({@code sequential}) or batch by batch with alternating
+ * order ({@code interleaved}), and reports per-backend timings side by side.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComparisonRunner {
+
+    public static final String MODE_SEQUENTIAL = "sequential";
+    public static final String MODE_INTERLEAVED = "interleaved";
+
+    private final GraphServiceRegistry registry;
+    private final BulkLoader bulkLoader;
+    private final BenchmarkHistoryStore historyStore;
+    private final RelationTypeResultCache relationTypeCache;
+
+    public ComparisonReport run(List<String> backendNames, int nodeCount, int relationshipCount, long seed,
+                                String topology, double relationTypeSkew, String mode, int readRepetitions) {
+        List<GraphService> backends = registry.get(backendNames);
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("At least one backend is required");
+        }
+        boolean interleaved = MODE_INTERLEAVED.equalsIgnoreCase(mode);
+        List<PerformanceResult> results = new ArrayList<>();
+
+        if (interleaved) {
+            results.addAll(runWorkload(backends, nodeCount, relationshipCount, seed, topology,
+                    relationTypeSkew, true, readRepetitions));
+        } else {
+            for (GraphService backend : backends) {
+                results.addAll(runWorkload(List.of(backend), nodeCount, relationshipCount, seed, topology,
+                        relationTypeSkew, false, readRepetitions));
+            }
+        }
+
+        String baseline = backends.get(0).getDatabaseType();
+        return ComparisonReport.builder()
+                .seed(seed)
+                .topology(topology)
+                .nodeCount(nodeCount)
+                .relationshipCount(relationshipCount)
+                .mode(interleaved ? MODE_INTERLEAVED : MODE_SEQUENTIAL)
+                .baseline(baseline)
+                .results(results)
+                .ratios(ratios(results, baseline))
+                .build();
+    }
+
+    private List<PerformanceResult> runWorkload(List<GraphService> backends, int nodeCount, int relationshipCount,
+                                                long seed, String topology, double relationTypeSkew,
+                                                boolean interleave, int readRepetitions) {
+        List<PerformanceResult> results = new ArrayList<>();
+        DatasetGenerator generator = bulkLoader.newGenerator(seed, nodeCount, relationshipCount, topology, relationTypeSkew);
+
+        for (GraphService backend : backends) {
+            log.info("Comparison: clearing {}", backend.getDatabaseType());
+            backend.deleteAllNodes();
+        }
+
+        BackendTimings nodeTimings = new BackendTimings();
+        bulkLoader.createNodesBatched(backends, generator, interleave, nodeTimings);
+
+        // One deduplicator for all backends: every backend receives exactly the same edges
+        EdgeDeduplicator deduplicator = bulkLoader.newDeduplicator();
+        BackendTimings relationshipTimings = new BackendTimings();
+        bulkLoader.createRelationshipsBatched(backends, generator, DatasetGenerator::nodeId, relationshipCount,
+                deduplicator, interleave, relationshipTimings);
+
+        BackendTimings readTimings = new BackendTimings();
+        Map<String, Long> readRecords = new LinkedHashMap<>();
+        for (int i = 0; i < readRepetitions; i++) {
+            List<GraphService> order = new ArrayList<>(backends);
+            if (interleave && i % 2 == 1) {
+                Collections.reverse(order);
+            }
+            long relationTypeId = (i % BulkLoader.RELATION_TYPE_COUNT) + 1;
+            for (GraphService backend : order) {
+                // Compare the databases, not a cached result
+                relationTypeCache.invalidateAll();
+                long start = System.nanoTime();
+                int size = backend.getNodesByRelationTypeId(relationTypeId).size();
+                readTimings.record(backend, System.nanoTime() - start);
+                readRecords.merge(backend.getDatabaseType(), (long) size, Long::sum);
+            }
+        }
+
+        for (GraphService backend : backends) {
+            String database = backend.getDatabaseType();
+            long finalNodes = backend.countNodes();
+            long finalRelationships = backend.countRelationships();
+            String counts = String.format("Final counts: %d nodes, %d relationships", finalNodes, finalRelationships);
+
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("nodeCount", nodeCount);
+            config.put("relationshipCount", relationshipCount);
+            config.put("topology", topology);
+            config.put("relationTypeSkew", relationTypeSkew);
+            config.put("interleaved", interleave);
+            config.put("backends", backends.stream().map(GraphService::getDatabaseType).toList());
+
+            results.add(historyStore.record(result(database, "COMPARE_LOAD_NODES", nodeTimings, backend,
+                    nodeCount, seed, counts), config));
+            results.add(historyStore.record(result(database, "COMPARE_LOAD_RELATIONSHIPS", relationshipTimings, backend,
+                    relationshipCount, seed, counts + ". " + BulkLoader.describeDedup(deduplicator)), config));
+            results.add(historyStore.record(result(database, "COMPARE_READ_BY_RELATION_TYPE", readTimings, backend,
+                    readRecords.getOrDefault(database, 0L), seed,
+                    String.format("%d reads over relation types 1..%d", readRepetitions,
+                            Math.min(readRepetitions, BulkLoader.RELATION_TYPE_COUNT))), config));
+        }
+        return results;
+    }
+
+    private static PerformanceResult result(String database, String operation, BackendTimings timings,
+                                            GraphService backend, long records, long seed, String info) {
+        BatchWriteResult writes = timings.getWrites(backend);
+        return PerformanceResult.builder()
+                .database(database)
+                .operation(operation)
+                .executionTimeMs(timings.getMillis(backend))
+                // Load operations report what the backend committed, not what was sent
+                .recordCount(writes.getAttempted() > 0 ? writes.getSucceeded() : records)
+                .seed(seed)
+                .latency(timings.getLatency(backend))
+                .writes(writes.getAttempted() > 0 ? writes : null)
+                .additionalInfo(info)
+                .build();
+    }
+
+    private static Map<String, Map<String, Double>> ratios(List<PerformanceResult> results, String baseline) {
+        Map<String, Long> baselineTimes = new LinkedHashMap<>();
+        for (PerformanceResult result : results) {
+            if (result.getDatabase().equals(baseline)) {
+                baselineTimes.put(result.getOperation(), result.getExecutionTimeMs());
+            }
+        }
+        Map<String, Map<String, Double>> ratios = new LinkedHashMap<>();
+        for (PerformanceResult result : results) {
+            Long reference = baselineTimes.get(result.getOperation());
+            double ratio = reference == null || reference == 0
+                    ? Double.NaN : (double) result.getExecutionTimeMs() / reference;
+            ratios.computeIfAbsent(result.getOperation(), op -> new LinkedHashMap<>())
+                    .put(result.getDatabase(), ratio);
+        }
+        return ratios;
+    }
+}
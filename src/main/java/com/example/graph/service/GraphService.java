@@ -1,9 +1,15 @@
 package com.example.graph.service;
 
 import com.example.graph.domain.CiNode;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.ExportedNode;
+import com.example.graph.dto.NodeDegree;
+import com.example.graph.dto.RelationshipPage;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GraphService {
     
@@ -25,12 +31,30 @@ public interface GraphService {
     
     List<CiNode> getNodesByRelationTypeId(Long relationTypeId);
     
+    // Keyset-paged outgoing relationships of one node (optionally of one relationTypeId); cost is per page, not per degree
+    RelationshipPage getRelationships(String nodeId, Long relationTypeId, String after, int limit);
+    
     String getDatabaseType();
     
-    // Bulk insert methods for optimization
-    List<CiNode> createNodesBatch(List<String> nodeIds);
+    // Aggregations computed in the database: edges per relationTypeId, the k nodes with the most
+    // outgoing (or incoming) edges, and the number of nodes per degree (degree 0 included)
+    Map<Long, Long> countRelationshipsByType();
+    
+    List<NodeDegree> topNodesByDegree(boolean incoming, int k);
+    
+    Map<Long, Long> degreeHistogram(boolean incoming);
+    
+    // Streams one chunk of about chunkSize nodes with their outgoing edges to the sink; start with a null
+    // cursor and pass back the returned one, null once every node has been exported
+    String exportChunk(String cursor, int chunkSize, Consumer<ExportedNode> sink);
+    
+    // Bulk insert methods for optimization; results count what the backend actually committed
+    BatchWriteResult createNodesBatch(List<String> nodeIds);
+    
+    BatchWriteResult createRelationshipsBatch(List<RelationshipBatch> relationships);
     
-    void createRelationshipsBatch(List<RelationshipBatch> relationships);
+    // Deletes the nodes with their edges; ids without a node count as failed
+    BatchWriteResult deleteNodesBatch(List<String> nodeIds);
     
     class RelationshipBatch {
         public String sourceId;
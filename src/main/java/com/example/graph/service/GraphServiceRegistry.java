@@ -0,0 +1,57 @@
+package com.example.graph.service;
+
+import com.example.graph.config.GraphBackendCondition;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All {@link GraphService} backends registered in this process, keyed by lower-case
+ * database type ({@code neo4j}, {@code tigergraph}).
+ */
+@Component
+public class GraphServiceRegistry {
+
+    private final Map<String, GraphService> backends = new LinkedHashMap<>();
+    private final String primaryName;
+
+    public GraphServiceRegistry(List<GraphService> services, Environment environment) {
+        for (GraphService service : services) {
+            backends.put(service.getDatabaseType().toLowerCase(), service);
+        }
+        this.primaryName = GraphBackendCondition.primaryBackend(environment).toLowerCase();
+    }
+
+    public GraphService get(String name) {
+        GraphService service = backends.get(name.trim().toLowerCase());
+        if (service == null) {
+            throw new IllegalArgumentException("Backend not registered: " + name + ". Available: " + backends.keySet());
+        }
+        return service;
+    }
+
+    public List<GraphService> get(Collection<String> names) {
+        List<GraphService> services = new ArrayList<>(names.size());
+        for (String name : names) {
+            services.add(get(name));
+        }
+        return services;
+    }
+
+    public GraphService getPrimary() {
+        return get(primaryName);
+    }
+
+    public Collection<String> getNames() {
+        return backends.keySet();
+    }
+
+    public Collection<GraphService> getAll() {
+        return backends.values();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.graph.service;
+
+import com.example.graph.cache.RelationTypeResultCache;
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.config.Neo4jModelConfig;
+import com.example.graph.dto.MigrationResult;
+import com.example.graph.repository.TypedRelationshipRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Converts existing Neo4j relationships between the property and typed models. Every chunk
+ * commits on its own, so a large graph never needs one huge transaction and an interrupted
+ * migration can simply be started again.
+ */
+@Service
+@ConditionalOnGraphBackend("neo4j")
+@RequiredArgsConstructor
+@Slf4j
+public class RelationshipModelMigration {
+
+    private final TypedRelationshipRepository typedRelationshipRepository;
+    private final Neo4jModelConfig modelConfig;
+    private final RelationTypeResultCache relationTypeCache;
+
+    public MigrationResult migrate(String targetModel, Integer chunkSize) {
+        boolean toTyped = switch (targetModel.toLowerCase()) {
+            case "typed" -> true;
+            case "property" -> false;
+            default -> throw new IllegalArgumentException("Unknown relationship model: " + targetModel);
+        };
+        int chunk = chunkSize != null ? chunkSize : modelConfig.getMigrationChunkSize();
+        if (chunk <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+
+        long start = System.currentTimeMillis();
+        List<Long> relationTypeIds = toTyped
+                ? typedRelationshipRepository.findPropertyRelationTypeIds()
+                : typedRelationshipRepository.findRelationTypeIds();
+        long migrated = 0;
+        int chunks = 0;
+        for (long relationTypeId : relationTypeIds) {
+            long converted;
+            do {
+                converted = toTyped
+                        ? typedRelationshipRepository.convertToTyped(relationTypeId, chunk)
+                        : typedRelationshipRepository.convertToProperty(relationTypeId, chunk);
+                migrated += converted;
+                chunks++;
+                // Reads of the other model see a partly migrated type until the loop finishes
+                relationTypeCache.invalidate(List.of(relationTypeId));
+            } while (converted == chunk);
+            log.info("Migrated relationTypeId {} to the {} model ({} relationships so far)",
+                    relationTypeId, targetModel, migrated);
+        }
+
+        return MigrationResult.builder()
+                .targetModel(targetModel.toLowerCase())
+                .relationTypeIds(relationTypeIds)
+                .relationshipsMigrated(migrated)
+                .chunks(chunks)
+                .executionTimeMs(System.currentTimeMillis() - start)
+                .build();
+    }
+}
@@ -1,138 +1,319 @@
 package com.example.graph.service.impl;
 
+import com.example.graph.cache.RelationTypeResultCache;
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.config.IngestConfig;
+import com.example.graph.config.Neo4jModelConfig;
 import com.example.graph.domain.CiNode;
-import com.example.graph.domain.CiRelationship;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.ExportedNode;
+import com.example.graph.dto.NodeDegree;
+import com.example.graph.dto.RelationshipPage;
+import com.example.graph.ingest.EdgeDeduplicator;
+import com.example.graph.ingest.NodeExistenceFilter;
+import com.example.graph.ingest.ParallelRelationshipWriter;
+import com.example.graph.jfr.GraphOperationEvent;
 import com.example.graph.repository.CiNodeRepository;
+import com.example.graph.repository.GraphAnalyticsRepository;
+import com.example.graph.repository.GraphExportRepository;
+import com.example.graph.repository.RelationshipPageRepository;
+import com.example.graph.repository.TypedRelationshipRepository;
 import com.example.graph.service.GraphService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.neo4j.driver.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
-@ConditionalOnProperty(name = "graph.database.type", havingValue = "neo4j", matchIfMissing = true)
+@ConditionalOnGraphBackend("neo4j")
 @RequiredArgsConstructor
 @Slf4j
 public class Neo4jGraphService implements GraphService {
 
+    private static final String DATABASE_TYPE = "Neo4j";
+
     private final CiNodeRepository ciNodeRepository;
+    private final IngestConfig ingestConfig;
+    private final Neo4jModelConfig modelConfig;
+    private final TypedRelationshipRepository typedRelationshipRepository;
+    private final RelationshipPageRepository relationshipPageRepository;
+    private final GraphExportRepository graphExportRepository;
+    private final GraphAnalyticsRepository graphAnalyticsRepository;
+    private final RelationTypeResultCache relationTypeCache;
+    private final NodeExistenceFilter existenceFilter;
+    private final ParallelRelationshipWriter parallelWriter;
 
     @Override
     @Transactional
     public CiNode createNode(String id) {
-        CiNode node = CiNode.builder()
-                .id(id)
-                .build();
-        return ciNodeRepository.save(node);
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createNode", 1)) {
+            CiNode node = CiNode.builder()
+                    .id(id)
+                    .build();
+            existenceFilter.adding(List.of(id));
+            CiNode saved = ciNodeRepository.save(node);
+            event.completed(1);
+            return saved;
+        }
     }
 
     @Override
     @Transactional
     public void createRelationship(String sourceId, String targetId, Long relationTypeId) {
-        Optional<CiNode> sourceOpt = ciNodeRepository.findById(sourceId);
-        Optional<CiNode> targetOpt = ciNodeRepository.findById(targetId);
-
-        if (sourceOpt.isEmpty() || targetOpt.isEmpty()) {
-            throw new RuntimeException("Source or target node not found");
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createRelationship", 1)) {
+            if (existenceFilter.isDefinitelyAbsent(sourceId) || existenceFilter.isDefinitelyAbsent(targetId)) {
+                throw new RuntimeException("Source or target node not found");
+            }
+            // Saving the source entity would rewrite its whole relationship set, a hub costs O(degree)
+            Map<String, Object> row = new HashMap<>();
+            row.put("sourceId", sourceId);
+            row.put("targetId", targetId);
+            row.put("relationTypeId", relationTypeId);
+            if (writeRelationships(List.of(row)) == 0) {
+                throw new RuntimeException("Source or target node not found");
+            }
+            relationTypeCache.invalidate(Collections.singletonList(relationTypeId));
+            event.completed(1);
         }
-
-        CiNode source = sourceOpt.get();
-        CiNode target = targetOpt.get();
-
-        CiRelationship relationship = CiRelationship.builder()
-                .relationTypeId(relationTypeId)
-                .target(target)
-                .build();
-
-        source.getOutgoingRelations().add(relationship);
-        ciNodeRepository.save(source);
     }
 
     @Override
     public Optional<CiNode> getNode(String id) {
-        return ciNodeRepository.findById(id);
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getNode", 1)) {
+            Optional<CiNode> node = ciNodeRepository.findById(id);
+            event.completed(node.isPresent() ? 1 : 0);
+            return node;
+        }
     }
 
     @Override
     public List<CiNode> getAllNodes() {
-        return ciNodeRepository.findAll();
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getAllNodes", 0)) {
+            List<CiNode> nodes = ciNodeRepository.findAll();
+            event.completed(nodes.size());
+            return nodes;
+        }
     }
 
     @Override
     @Transactional
     public void deleteNode(String id) {
-        ciNodeRepository.deleteById(id);
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "deleteNode", 1)) {
+            ciNodeRepository.deleteById(id);
+            relationTypeCache.invalidateAll();
+            existenceFilter.deleted(1);
+            event.completed(1);
+        }
     }
 
     @Override
     @Transactional
     public void deleteAllNodes() {
-        ciNodeRepository.deleteAll();
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "deleteAllNodes", 0)) {
+            ciNodeRepository.deleteAll();
+            relationTypeCache.invalidateAll();
+            existenceFilter.cleared();
+            event.completed(0);
+        }
     }
 
     @Override
     public long countNodes() {
-        return ciNodeRepository.count();
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "countNodes", 0)) {
+            long count = ciNodeRepository.count();
+            event.completed(count);
+            return count;
+        }
     }
 
     @Override
     public long countRelationships() {
-        return ciNodeRepository.countRelationships();
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "countRelationships", 0)) {
+            long count = modelConfig.isTypedRelationships()
+                    ? typedRelationshipRepository.countRelationships()
+                    : ciNodeRepository.countRelationships();
+            event.completed(count);
+            return count;
+        }
     }
 
     @Override
     public List<CiNode> getNodesByRelationTypeId(Long relationTypeId) {
-        return ciNodeRepository.findByRelationTypeId(relationTypeId);
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getNodesByRelationTypeId", 0)) {
+            List<CiNode> nodes = relationTypeCache.get(relationTypeId, () -> modelConfig.isTypedRelationships()
+                    ? typedRelationshipRepository.findByRelationTypeId(relationTypeId)
+                    : ciNodeRepository.findByRelationTypeId(relationTypeId));
+            event.completed(nodes.size());
+            return nodes;
+        }
+    }
+
+    @Override
+    public RelationshipPage getRelationships(String nodeId, Long relationTypeId, String after, int limit) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getRelationships", limit)) {
+            List<RelationshipPage.Entry> page = relationshipPageRepository.findPage(nodeId, relationTypeId,
+                    RelationshipPage.Cursor.parse(after), limit, modelConfig.isTypedRelationships());
+            event.completed(page.size());
+            return RelationshipPage.of(nodeId, page, limit);
+        }
+    }
+
+    @Override
+    public String exportChunk(String cursor, int chunkSize, Consumer<ExportedNode> sink) {
+        // The cursor is the last exported node id
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "exportChunk", chunkSize)) {
+            List<ExportedNode> chunk = graphExportRepository.findChunk(cursor != null ? cursor : "", chunkSize,
+                    modelConfig.isTypedRelationships());
+            chunk.forEach(sink);
+            event.completed(chunk.size());
+            return chunk.size() < chunkSize ? null : chunk.get(chunk.size() - 1).getId();
+        }
     }
 
     @Override
     public String getDatabaseType() {
-        return "Neo4j";
+        return DATABASE_TYPE;
+    }
+
+    @Override
+    public Map<Long, Long> countRelationshipsByType() {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "countRelationshipsByType", 0)) {
+            Map<Long, Long> counts = modelConfig.isTypedRelationships()
+                    ? typedRelationshipRepository.countByRelationTypeId()
+                    : graphAnalyticsRepository.countByRelationTypeId();
+            event.completed(counts.size());
+            return counts;
+        }
+    }
+
+    @Override
+    public List<NodeDegree> topNodesByDegree(boolean incoming, int k) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "topNodesByDegree", 0)) {
+            List<NodeDegree> top = graphAnalyticsRepository.findTopByDegree(incoming, k,
+                    modelConfig.isTypedRelationships());
+            event.completed(top.size());
+            return top;
+        }
+    }
+
+    @Override
+    public Map<Long, Long> degreeHistogram(boolean incoming) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "degreeHistogram", 0)) {
+            Map<Long, Long> histogram = graphAnalyticsRepository.degreeHistogram(incoming,
+                    modelConfig.isTypedRelationships());
+            event.completed(histogram.size());
+            return histogram;
+        }
     }
 
     @Override
     @Transactional
-    public List<CiNode> createNodesBatch(List<String> nodeIds) {
-        List<CiNode> nodes = new ArrayList<>();
-        for (String id : nodeIds) {
-            CiNode node = CiNode.builder()
-                    .id(id)
+    public BatchWriteResult createNodesBatch(List<String> nodeIds) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createNodesBatch", nodeIds.size())) {
+            existenceFilter.adding(nodeIds);
+            long merged = ciNodeRepository.mergeNodes(nodeIds);
+            event.completed(merged);
+            return BatchWriteResult.builder()
+                    .attempted(nodeIds.size())
+                    .succeeded(merged)
+                    .failed(nodeIds.size() - merged)
                     .build();
-            nodes.add(node);
         }
-        return ciNodeRepository.saveAll(nodes);
     }
 
     @Override
     @Transactional
-    public void createRelationshipsBatch(List<RelationshipBatch> relationships) {
-        Map<String, CiNode> nodeCache = new HashMap<>();
-        
+    public BatchWriteResult createRelationshipsBatch(List<RelationshipBatch> relationships) {
+        // Not atomic once the parallel writer applies: its groups commit in their own transactions
+        // and a failure after some have committed is reported as failed rows rather than thrown
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createRelationshipsBatch",
+                relationships.size())) {
+            BatchWriteResult result = writeRelationshipsBatch(relationships);
+            event.completed(result.getSucceeded());
+            return result;
+        }
+    }
+
+    @Override
+    @Transactional
+    public BatchWriteResult deleteNodesBatch(List<String> nodeIds) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "deleteNodesBatch", nodeIds.size())) {
+            // A repeated id would be matched and counted twice by the same statement
+            List<String> distinct = new ArrayList<>(new LinkedHashSet<>(nodeIds));
+            long deleted = ciNodeRepository.deleteNodes(distinct);
+            relationTypeCache.invalidateAll();
+            existenceFilter.deleted(deleted);
+            event.completed(deleted);
+            return BatchWriteResult.builder()
+                    .attempted(nodeIds.size())
+                    .succeeded(deleted)
+                    .skipped(nodeIds.size() - distinct.size())
+                    .failed(distinct.size() - deleted)
+                    .build();
+        }
+    }
+
+    private BatchWriteResult writeRelationshipsBatch(List<RelationshipBatch> relationships) {
+        EdgeDeduplicator deduplicator = ingestConfig.isDedupEnabled() ? ingestConfig.newDeduplicator() : null;
+        List<Map<String, Object>> rows = new ArrayList<>(relationships.size());
+        int absent = 0;
+
         for (RelationshipBatch rel : relationships) {
-            if (!nodeCache.containsKey(rel.sourceId)) {
-                ciNodeRepository.findById(rel.sourceId).ifPresent(node -> nodeCache.put(rel.sourceId, node));
+            if (deduplicator != null && !deduplicator.accept(rel.sourceId, rel.targetId, rel.relationTypeId)) {
+                continue;
             }
-            if (!nodeCache.containsKey(rel.targetId)) {
-                ciNodeRepository.findById(rel.targetId).ifPresent(node -> nodeCache.put(rel.targetId, node));
+            if (existenceFilter.isDefinitelyAbsent(rel.sourceId) || existenceFilter.isDefinitelyAbsent(rel.targetId)) {
+                absent++;
+                continue;
             }
+            Map<String, Object> row = new HashMap<>();
+            row.put("sourceId", rel.sourceId);
+            row.put("targetId", rel.targetId);
+            row.put("relationTypeId", rel.relationTypeId);
+            rows.add(row);
         }
 
-        for (RelationshipBatch rel : relationships) {
-            CiNode source = nodeCache.get(rel.sourceId);
-            CiNode target = nodeCache.get(rel.targetId);
-            
-            if (source != null && target != null) {
-                CiRelationship relationship = CiRelationship.builder()
-                        .relationTypeId(rel.relationTypeId)
-                        .target(target)
-                        .build();
-                source.getOutgoingRelations().add(relationship);
-            }
+        if (deduplicator != null && rows.size() + absent < relationships.size()) {
+            log.debug("Dropped {} duplicate and {} self-loop relationships from batch of {}",
+                    deduplicator.getDuplicates(), deduplicator.getSelfLoops(), relationships.size());
+        }
+
+        // Rows whose endpoints do not exist match nothing and are reported as failed, like those filtered out
+        long written = parallelWriter.appliesTo(rows.size())
+                ? parallelWriter.write(rows, this::relationshipStatements).getSucceeded()
+                : writeRelationships(rows);
+        Set<Long> touched = new HashSet<>();
+        rows.forEach(row -> touched.add((Long) row.get("relationTypeId")));
+        relationTypeCache.invalidate(touched);
+        return BatchWriteResult.builder()
+                .attempted(relationships.size())
+                .succeeded(written)
+                .skipped(relationships.size() - rows.size() - absent)
+                .failed(rows.size() + absent - written)
+                .build();
+    }
+
+    private long writeRelationships(List<Map<String, Object>> rows) {
+        if (modelConfig.isTypedRelationships()) {
+            return ingestConfig.isIdempotentWrites()
+                    ? typedRelationshipRepository.mergeRelationships(rows)
+                    : typedRelationshipRepository.createRelationships(rows);
+        }
+        return ingestConfig.isIdempotentWrites()
+                ? ciNodeRepository.mergeRelationships(rows)
+                : ciNodeRepository.createRelationships(rows);
+    }
+
+    private List<Query> relationshipStatements(List<Map<String, Object>> rows) {
+        if (modelConfig.isTypedRelationships()) {
+            return typedRelationshipRepository.relationshipStatements(rows, ingestConfig.isIdempotentWrites());
         }
-        
-        ciNodeRepository.saveAll(nodeCache.values());
+        return List.of(new Query(ingestConfig.isIdempotentWrites()
+                ? CiNodeRepository.MERGE_RELATIONSHIPS
+                : CiNodeRepository.CREATE_RELATIONSHIPS, Map.of("rows", rows)));
     }
 }
@@ -1,31 +1,50 @@
 package com.example.graph.service.impl;
 
 import com.example.graph.client.TigerGraphClient;
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.config.TigerGraphConfig;
 import com.example.graph.domain.CiNode;
 import com.example.graph.domain.CiRelationship;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.ExportedNode;
+import com.example.graph.dto.NodeDegree;
+import com.example.graph.dto.RelationshipPage;
+import com.example.graph.jfr.GraphOperationEvent;
 import com.example.graph.service.GraphService;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 @Service
-@ConditionalOnProperty(name = "graph.database.type", havingValue = "tigergraph")
+@ConditionalOnGraphBackend("tigergraph")
 @RequiredArgsConstructor
 @Slf4j
 public class TigerGraphService implements GraphService {
 
     private final TigerGraphClient tigerGraphClient;
+    private final TigerGraphConfig tigerGraphConfig;
     private static final String VERTEX_TYPE = "CiNode";
     private static final String EDGE_TYPE = "RELATES_TO";
+    private static final String REVERSE_EDGE_TYPE = "REVERSE_RELATES_TO";
+    private static final String BY_RELATION_TYPE_QUERY = "getNodesByRelationType";
+    private static final String PAGE_QUERY = "pageRelationships";
+    private static final String EXPORT_QUERY = "exportCiGraph";
+    private static final String DELETE_QUERY = "deleteCiNodes";
+    private static final String COUNT_RELATIONSHIPS_QUERY = "countRelationships";
+    private static final String TOP_DEGREE_QUERY = "topCiNodesByDegree";
+    private static final String DEGREE_HISTOGRAM_QUERY = "ciDegreeHistogram";
+    private static final String DATABASE_TYPE = "TigerGraph";
 
     @Override
     public CiNode createNode(String id) {
-        try {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createNode", 1)) {
             tigerGraphClient.upsertVertex(VERTEX_TYPE, id);
+            event.completed(1);
             return CiNode.builder().id(id).build();
         } catch (Exception e) {
             log.error("Error creating node in TigerGraph", e);
@@ -35,8 +54,9 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public void createRelationship(String sourceId, String targetId, Long relationTypeId) {
-        try {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createRelationship", 1)) {
             tigerGraphClient.upsertEdge(VERTEX_TYPE, sourceId, EDGE_TYPE, VERTEX_TYPE, targetId, relationTypeId);
+            event.completed(1);
         } catch (Exception e) {
             log.error("Error creating relationship in TigerGraph", e);
             throw new RuntimeException("Failed to create relationship", e);
@@ -45,8 +65,9 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public Optional<CiNode> getNode(String id) {
-        try {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getNode", 1)) {
             JsonNode vertex = tigerGraphClient.getVertex(VERTEX_TYPE, id);
+            event.completed(vertex != null ? 1 : 0);
             if (vertex == null) {
                 return Optional.empty();
             }
@@ -59,12 +80,20 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public List<CiNode> getAllNodes() {
-        try {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getAllNodes", 0)) {
+            if (tigerGraphConfig.getScanPartitions() > 1) {
+                Queue<CiNode> nodes = new ConcurrentLinkedQueue<>();
+                tigerGraphClient.scanVertices(tigerGraphConfig.getScanQuery(), tigerGraphConfig.getScanPartitions(),
+                        tigerGraphConfig.getScanMaxInFlight(), vertex -> nodes.add(jsonNodeToCiNode(vertex)));
+                event.completed(nodes.size());
+                return new ArrayList<>(nodes);
+            }
             List<JsonNode> vertices = tigerGraphClient.getAllVertices(VERTEX_TYPE);
             List<CiNode> nodes = new ArrayList<>();
             for (JsonNode vertex : vertices) {
                 nodes.add(jsonNodeToCiNode(vertex));
             }
+            event.completed(nodes.size());
             return nodes;
         } catch (Exception e) {
             log.error("Error getting all nodes from TigerGraph", e);
@@ -74,8 +103,9 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public void deleteNode(String id) {
-        try {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "deleteNode", 1)) {
             tigerGraphClient.deleteVertex(VERTEX_TYPE, id);
+            event.completed(1);
         } catch (Exception e) {
             log.error("Error deleting node from TigerGraph", e);
             throw new RuntimeException("Failed to delete node", e);
@@ -84,8 +114,9 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public void deleteAllNodes() {
-        try {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "deleteAllNodes", 0)) {
             tigerGraphClient.deleteAllVertices(VERTEX_TYPE);
+            event.completed(0);
         } catch (Exception e) {
             log.error("Error deleting all nodes from TigerGraph", e);
             throw new RuntimeException("Failed to delete all nodes", e);
@@ -94,8 +125,10 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public long countNodes() {
-        try {
-            return tigerGraphClient.countVertices(VERTEX_TYPE);
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "countNodes", 0)) {
+            long count = tigerGraphClient.countVertices(VERTEX_TYPE);
+            event.completed(count);
+            return count;
         } catch (Exception e) {
             log.error("Error counting nodes in TigerGraph", e);
             return 0;
@@ -104,8 +137,10 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public long countRelationships() {
-        try {
-            return tigerGraphClient.countEdges(EDGE_TYPE);
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "countRelationships", 0)) {
+            long count = tigerGraphClient.countEdges(EDGE_TYPE);
+            event.completed(count);
+            return count;
         } catch (Exception e) {
             log.error("Error counting relationships in TigerGraph", e);
             return 0;
@@ -114,24 +149,139 @@ public class TigerGraphService implements GraphService {
 
     @Override
     public List<CiNode> getNodesByRelationTypeId(Long relationTypeId) {
-        log.warn("getNodesByRelationTypeId not fully implemented for TigerGraph - requires custom GSQL query");
-        return new ArrayList<>();
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getNodesByRelationTypeId", 0)) {
+            JsonNode result = tigerGraphClient.runQuery(BY_RELATION_TYPE_QUERY, Map.of("relTypeId", relationTypeId));
+            List<CiNode> nodes = new ArrayList<>();
+            for (JsonNode vertex : result.path("results").path(0).path("Result")) {
+                nodes.add(toCiNode(vertex));
+            }
+            event.completed(nodes.size());
+            return nodes;
+        } catch (Exception e) {
+            log.error("Error getting nodes by relation type from TigerGraph", e);
+            throw new RuntimeException("Failed to get nodes by relation type", e);
+        }
+    }
+
+    @Override
+    public RelationshipPage getRelationships(String nodeId, Long relationTypeId, String after, int limit) {
+        RelationshipPage.Cursor cursor = RelationshipPage.Cursor.parse(after);
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("src", nodeId);
+        params.put("filterByType", relationTypeId != null);
+        params.put("relationTypeId", relationTypeId != null ? relationTypeId : 0);
+        params.put("afterRelationTypeId", cursor.relationTypeId());
+        params.put("afterTargetId", cursor.targetId());
+        params.put("pageSize", limit);
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "getRelationships", limit)) {
+            JsonNode result = tigerGraphClient.runQuery(PAGE_QUERY, params);
+            List<RelationshipPage.Entry> page = new ArrayList<>(limit);
+            for (JsonNode edge : result.path("results").path(0).path("page")) {
+                page.add(new RelationshipPage.Entry(edge.path("relationTypeId").asLong(),
+                        edge.path("targetId").asText()));
+            }
+            event.completed(page.size());
+            return RelationshipPage.of(nodeId, page, limit);
+        } catch (Exception e) {
+            log.error("Error paging relationships in TigerGraph", e);
+            throw new RuntimeException("Failed to page relationships", e);
+        }
+    }
+
+    @Override
+    public String exportChunk(String cursor, int chunkSize, Consumer<ExportedNode> sink) {
+        // Chunks are hash partitions of the vertex set, the cursor is "<next partition>/<partitions>"
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "exportChunk", chunkSize)) {
+            int partition = 0;
+            int partitions;
+            if (cursor == null) {
+                partitions = (int) Math.max(1, (countNodes() + chunkSize - 1) / chunkSize);
+            } else {
+                String[] position = cursor.split("/");
+                try {
+                    partition = Integer.parseInt(position[0]);
+                    partitions = Integer.parseInt(position[1]);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid export cursor: " + cursor);
+                }
+            }
+            long exported = tigerGraphClient.scanPartition(EXPORT_QUERY, partition, partitions,
+                    vertex -> sink.accept(toExportedNode(vertex)));
+            event.completed(exported);
+            return partition + 1 < partitions ? (partition + 1) + "/" + partitions : null;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error exporting partition {} from TigerGraph", cursor, e);
+            throw new RuntimeException("Failed to export graph", e);
+        }
     }
 
     @Override
     public String getDatabaseType() {
-        return "TigerGraph";
+        return DATABASE_TYPE;
     }
 
     @Override
-    public List<CiNode> createNodesBatch(List<String> nodeIds) {
-        try {
-            tigerGraphClient.upsertVerticesBatch(VERTEX_TYPE, nodeIds);
-            List<CiNode> nodes = new ArrayList<>();
-            for (String id : nodeIds) {
-                nodes.add(CiNode.builder().id(id).build());
+    public Map<Long, Long> countRelationshipsByType() {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "countRelationshipsByType", 0)) {
+            JsonNode result = tigerGraphClient.runQuery(COUNT_RELATIONSHIPS_QUERY, Map.of());
+            Map<Long, Long> counts = longMap(result.path("results").path(0).path("@@byType"));
+            event.completed(counts.size());
+            return counts;
+        } catch (Exception e) {
+            log.error("Error counting relationships by type in TigerGraph", e);
+            throw new RuntimeException("Failed to count relationships by type", e);
+        }
+    }
+
+    @Override
+    public List<NodeDegree> topNodesByDegree(boolean incoming, int k) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "topNodesByDegree", 0)) {
+            // In-degree is the out-degree of the reverse edge type
+            JsonNode result = tigerGraphClient.runQuery(TOP_DEGREE_QUERY,
+                    Map.of("edgeType", incoming ? REVERSE_EDGE_TYPE : EDGE_TYPE, "k", k));
+            List<NodeDegree> top = new ArrayList<>(k);
+            for (JsonNode node : result.path("results").path(0).path("top")) {
+                top.add(new NodeDegree(node.path("id").asText(), node.path("degree").asLong()));
             }
-            return nodes;
+            event.completed(top.size());
+            return top;
+        } catch (Exception e) {
+            log.error("Error ranking nodes by degree in TigerGraph", e);
+            throw new RuntimeException("Failed to rank nodes by degree", e);
+        }
+    }
+
+    @Override
+    public Map<Long, Long> degreeHistogram(boolean incoming) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "degreeHistogram", 0)) {
+            JsonNode result = tigerGraphClient.runQuery(DEGREE_HISTOGRAM_QUERY,
+                    Map.of("edgeType", incoming ? REVERSE_EDGE_TYPE : EDGE_TYPE));
+            Map<Long, Long> histogram = longMap(result.path("results").path(0).path("histogram"));
+            event.completed(histogram.size());
+            return histogram;
+        } catch (Exception e) {
+            log.error("Error building degree histogram in TigerGraph", e);
+            throw new RuntimeException("Failed to build degree histogram", e);
+        }
+    }
+
+    // GSQL prints a MapAccum as a JSON object whose keys are the stringified map keys
+    private static Map<Long, Long> longMap(JsonNode map) {
+        Map<Long, Long> values = new TreeMap<>();
+        map.fields().forEachRemaining(entry -> values.put(Long.parseLong(entry.getKey()), entry.getValue().asLong()));
+        return values;
+    }
+
+    @Override
+    public BatchWriteResult createNodesBatch(List<String> nodeIds) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createNodesBatch", nodeIds.size())) {
+            BatchWriteResult result = tigerGraphConfig.isLoadingJobIngest()
+                    ? tigerGraphClient.loadVerticesCsv(VERTEX_TYPE, nodeIds)
+                    : tigerGraphClient.upsertVerticesBatch(VERTEX_TYPE, nodeIds);
+            event.completed(result.getSucceeded());
+            return result;
         } catch (Exception e) {
             log.error("Error creating nodes batch in TigerGraph", e);
             throw new RuntimeException("Failed to create nodes batch", e);
@@ -139,23 +289,68 @@ public class TigerGraphService implements GraphService {
     }
 
     @Override
-    public void createRelationshipsBatch(List<RelationshipBatch> relationships) {
-        try {
-            List<Map<String, Object>> edgeData = new ArrayList<>();
-            for (RelationshipBatch rel : relationships) {
-                Map<String, Object> edge = new HashMap<>();
-                edge.put("sourceId", rel.sourceId);
-                edge.put("targetId", rel.targetId);
-                edge.put("relationTypeId", rel.relationTypeId);
-                edgeData.add(edge);
-            }
-            tigerGraphClient.upsertEdgesBatch(VERTEX_TYPE, EDGE_TYPE, VERTEX_TYPE, edgeData);
+    public BatchWriteResult createRelationshipsBatch(List<RelationshipBatch> relationships) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "createRelationshipsBatch",
+                relationships.size())) {
+            BatchWriteResult result = tigerGraphConfig.isLoadingJobIngest()
+                    ? tigerGraphClient.loadEdgesCsv(EDGE_TYPE, relationships)
+                    : upsertEdges(relationships);
+            event.completed(result.getSucceeded());
+            return result;
         } catch (Exception e) {
             log.error("Error creating relationships batch in TigerGraph", e);
             throw new RuntimeException("Failed to create relationships batch", e);
         }
     }
 
+    @Override
+    public BatchWriteResult deleteNodesBatch(List<String> nodeIds) {
+        try (GraphOperationEvent event = GraphOperationEvent.begin(DATABASE_TYPE, "deleteNodesBatch", nodeIds.size())) {
+            List<String> distinct = new ArrayList<>(new LinkedHashSet<>(nodeIds));
+            BatchWriteResult result = tigerGraphClient.deleteVerticesBatch(DELETE_QUERY, distinct);
+            result.setAttempted(nodeIds.size());
+            result.setSkipped(nodeIds.size() - distinct.size());
+            event.completed(result.getSucceeded());
+            return result;
+        } catch (Exception e) {
+            log.error("Error deleting nodes batch in TigerGraph", e);
+            throw new RuntimeException("Failed to delete nodes batch", e);
+        }
+    }
+
+    private BatchWriteResult upsertEdges(List<RelationshipBatch> relationships) throws Exception {
+        List<Map<String, Object>> edgeData = new ArrayList<>();
+        for (RelationshipBatch rel : relationships) {
+            Map<String, Object> edge = new HashMap<>();
+            edge.put("sourceId", rel.sourceId);
+            edge.put("targetId", rel.targetId);
+            edge.put("relationTypeId", rel.relationTypeId);
+            edgeData.add(edge);
+        }
+        return tigerGraphClient.upsertEdgesBatch(VERTEX_TYPE, EDGE_TYPE, VERTEX_TYPE, edgeData);
+    }
+
+    private static ExportedNode toExportedNode(JsonNode vertex) {
+        List<RelationshipPage.Entry> relationships = new ArrayList<>();
+        for (JsonNode edge : vertex.path("attributes").path("@relationships")) {
+            relationships.add(new RelationshipPage.Entry(edge.path("relationTypeId").asLong(),
+                    edge.path("targetId").asText()));
+        }
+        return new ExportedNode(vertex.path("v_id").asText(), relationships);
+    }
+
+    // A vertex printed with the matching edges it collected in @relationships
+    private static CiNode toCiNode(JsonNode vertex) {
+        Set<CiRelationship> relationships = new HashSet<>();
+        for (JsonNode edge : vertex.path("attributes").path("@relationships")) {
+            relationships.add(CiRelationship.builder()
+                    .relationTypeId(edge.path("relationTypeId").asLong())
+                    .target(CiNode.builder().id(edge.path("targetId").asText()).build())
+                    .build());
+        }
+        return CiNode.builder().id(vertex.path("v_id").asText()).outgoingRelations(relationships).build();
+    }
+
     private CiNode jsonNodeToCiNode(JsonNode vertex) {
         String id = vertex.has("v_id") ? vertex.get("v_id").asText() : 
                    (vertex.has("id") ? vertex.get("id").asText() : null);
@@ -0,0 +1,13 @@
+package com.example.graph.warmup;
+
+/**
+ * Backend-specific pre-flight work (connection pools, query plans, installed queries)
+ * run by {@link WarmupRunner} before the application reports ready.
+ */
+public interface BackendWarmup {
+
+    /** Matches {@code GraphService#getDatabaseType()} of the backend this warms up. */
+    String getDatabaseType();
+
+    void warmUp(int connections) throws Exception;
+}
@@ -0,0 +1,78 @@
+package com.example.graph.warmup;
+
+import com.example.graph.config.ConditionalOnGraphBackend;
+import com.example.graph.repository.CiNodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnGraphBackend("neo4j")
+@RequiredArgsConstructor
+@Slf4j
+public class Neo4jWarmup implements BackendWarmup {
+
+    private final Driver driver;
+    private final Neo4jClient neo4jClient;
+
+    @Override
+    public String getDatabaseType() {
+        return "Neo4j";
+    }
+
+    @Override
+    public void warmUp(int connections) {
+        driver.verifyConnectivity();
+
+        // Sessions held open concurrently force the pool to establish that many Bolt connections
+        CompletableFuture<?>[] sessions = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            sessions[i] = CompletableFuture.runAsync(() -> {
+                try (Session session = driver.session()) {
+                    session.run("RETURN 1").consume();
+                }
+            });
+        }
+        CompletableFuture.allOf(sessions).join();
+
+        // EXPLAIN plans every repository query into the plan cache without touching data
+        int planned = 0;
+        for (Method method : CiNodeRepository.class.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query == null) {
+                continue;
+            }
+            neo4jClient.query("EXPLAIN " + query.value())
+                    .bindAll(dummyParameters(method))
+                    .run();
+            planned++;
+        }
+        log.info("Neo4j warmup: {} pooled connections, {} repository queries planned", connections, planned);
+    }
+
+    private static Map<String, Object> dummyParameters(Method method) {
+        Map<String, Object> parameters = new HashMap<>();
+        for (Parameter parameter : method.getParameters()) {
+            Param param = parameter.getAnnotation(Param.class);
+            if (param == null) {
+                continue;
+            }
+            Class<?> type = parameter.getType();
+            parameters.put(param.value(), List.class.isAssignableFrom(type) ? List.of()
+                    : Number.class.isAssignableFrom(type) ? -1L : "");
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.graph.warmup;
+
+import com.example.graph.client.TigerGraphClient;
+import com.example.graph.config.ConditionalOnGraphBackend;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnGraphBackend("tigergraph")
+@RequiredArgsConstructor
+@Slf4j
+public class TigerGraphWarmup implements BackendWarmup {
+
+    private static final Map<String, Map<String, Object>> WARMUP_QUERIES = Map.of(
+            "countNodes", Map.of(),
+            "pageRelationships", Map.of("src", WarmupRunner.MISSING_NODE_ID, "filterByType", false,
+                    "relationTypeId", 0, "afterRelationTypeId", Long.MIN_VALUE, "afterTargetId", "",
+                    "pageSize", 1));
+
+    private final TigerGraphClient tigerGraphClient;
+
+    @Override
+    public String getDatabaseType() {
+        return "TigerGraph";
+    }
+
+    @Override
+    public void warmUp(int connections) throws Exception {
+        // Concurrent requests make the HTTP client open that many keep-alive connections
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            requests[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    tigerGraphClient.echo();
+                } catch (Exception e) {
+                    throw new RuntimeException("REST++ echo failed", e);
+                }
+            });
+        }
+        CompletableFuture.allOf(requests).join();
+
+        // Load the read-only queries on the request path; mutating and full-graph queries are never called
+        Map<String, Map<String, String>> installed = tigerGraphClient.getInstalledQueries();
+        int called = 0;
+        for (Map.Entry<String, Map<String, Object>> query : WARMUP_QUERIES.entrySet()) {
+            if (!installed.containsKey(query.getKey())) {
+                log.warn("Warmup query {} is not installed", query.getKey());
+                continue;
+            }
+            try {
+                tigerGraphClient.runQuery(query.getKey(), query.getValue());
+                called++;
+            } catch (Exception e) {
+                log.warn("Warmup call of installed query {} failed: {}", query.getKey(), e.getMessage());
+            }
+        }
+        log.info("TigerGraph warmup: {} pooled connections, {} installed queries called", connections, called);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.graph.warmup;
+
+import com.example.graph.config.WarmupConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.LatencySummary;
+import com.example.graph.dto.PerformanceResult;
+import com.example.graph.service.GraphService;
+import com.example.graph.service.GraphServiceRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Warms every registered backend before the application accepts traffic. Application
+ * runners complete before the readiness probe reports {@code ACCEPTING_TRAFFIC}, so
+ * connection setup, query planning and JIT compilation of the request and mapping paths
+ * happen here instead of in the first measured request.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    static final String MISSING_NODE_ID = "__warmup__";
+
+    private final WarmupConfig warmupConfig;
+    private final GraphServiceRegistry registry;
+    private final List<BackendWarmup> backendWarmups;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupConfig.isEnabled()) {
+            return;
+        }
+        for (GraphService backend : registry.getAll()) {
+            long start = System.currentTimeMillis();
+            try {
+                for (BackendWarmup warmup : backendWarmups) {
+                    if (warmup.getDatabaseType().equals(backend.getDatabaseType())) {
+                        warmup.warmUp(warmupConfig.getConnections());
+                    }
+                }
+                // Counts scan the graph on some backends, so they run once whatever its size
+                backend.countNodes();
+                for (int i = 0; i < warmupConfig.getIterations(); i++) {
+                    exerciseService(backend);
+                }
+                log.info("Warmed up {} in {} ms", backend.getDatabaseType(), System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                if (warmupConfig.isFailOnError()) {
+                    throw new IllegalStateException("Warmup of " + backend.getDatabaseType() + " failed", e);
+                }
+                log.warn("Warmup of {} failed: {}", backend.getDatabaseType(), e.getMessage());
+            }
+        }
+        try {
+            for (int i = 0; i < warmupConfig.getIterations(); i++) {
+                exerciseSerialization();
+            }
+        } catch (Exception e) {
+            log.warn("Serialization warmup failed: {}", e.getMessage());
+        }
+    }
+
+    // Point reads of data that cannot exist and empty batch writes: full round trips, no changes
+    private void exerciseService(GraphService backend) {
+        backend.getNode(MISSING_NODE_ID);
+        backend.getRelationships(MISSING_NODE_ID, null, null, 1);
+        backend.createNodesBatch(List.of());
+        backend.createRelationshipsBatch(List.of());
+    }
+
+    private void exerciseSerialization() throws Exception {
+        PerformanceResult result = PerformanceResult.builder()
+                .database("warmup")
+                .operation("WARMUP")
+                .latency(LatencySummary.builder().build())
+                .writes(BatchWriteResult.succeeded(0))
+                .build();
+        objectMapper.readValue(objectMapper.writeValueAsBytes(result), PerformanceResult.class);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.graph.workload;
+
+/**
+ * One captured {@code GraphService} call: when it started relative to the start of the
+ * capture, how long it took, how many calls were in flight when it started, and the
+ * operation with its scalar arguments.
+ */
+public record CapturedCall(long offsetMicros, long latencyMicros, int inFlight, boolean failed,
+                           String operation, Object[] args) {
+}
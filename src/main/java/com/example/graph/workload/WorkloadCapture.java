@@ -0,0 +1,144 @@
+package com.example.graph.workload;
+
+import com.example.graph.config.WorkloadConfig;
+import com.example.graph.dto.CaptureStatus;
+import com.example.graph.service.GraphService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records {@link GraphService} calls made through a wrapped service into a workload log
+ * while a capture is running. Wrapping is free when nothing is being captured beyond a
+ * volatile read per call. Only calls whose arguments are all ids, numbers or flags are
+ * recorded: batch calls take lists, so {@code /api/graph/batch} traffic is not captured
+ * and is missing from replays.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkloadCapture {
+
+    private final WorkloadConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile WorkloadLogWriter writer;
+    private volatile long startNanos;
+    private volatile long startEpochMillis;
+
+    @PostConstruct
+    void startOnBoot() throws IOException {
+        if (config.isCaptureEnabled()) {
+            start(logFile(config.getCaptureFile()));
+        }
+    }
+
+    @PreDestroy
+    void stopOnShutdown() throws IOException {
+        stop();
+    }
+
+    /** Resolves a bare log name in the workload directory; anything that could leave it is rejected. */
+    public Path logFile(String name) {
+        if (name == null || name.isBlank() || name.contains("/") || name.contains("\\") || name.contains("..")) {
+            throw new IllegalArgumentException("Invalid workload log name: " + name);
+        }
+        return Path.of(config.getDirectory()).resolve(name);
+    }
+
+    public synchronized CaptureStatus start(Path file) throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("Already capturing to " + writer.getFile());
+        }
+        startEpochMillis = System.currentTimeMillis();
+        startNanos = System.nanoTime();
+        writer = new WorkloadLogWriter(file, startEpochMillis, config.getQueueCapacity());
+        log.info("Capturing workload to {}", file.toAbsolutePath());
+        return getStatus();
+    }
+
+    public synchronized CaptureStatus stop() throws IOException {
+        WorkloadLogWriter current = writer;
+        if (current == null) {
+            return getStatus();
+        }
+        writer = null;
+        current.close();
+        log.info("Captured {} calls to {} ({} dropped)", current.getWritten(), current.getFile(), current.getDropped());
+        return status(current, false);
+    }
+
+    public CaptureStatus getStatus() {
+        WorkloadLogWriter current = writer;
+        return current == null ? CaptureStatus.builder().build() : status(current, true);
+    }
+
+    public GraphService wrap(GraphService target) {
+        InvocationHandler handler = (proxy, method, args) -> invoke(target, method, args);
+        return (GraphService) Proxy.newProxyInstance(GraphService.class.getClassLoader(),
+                new Class<?>[]{GraphService.class}, handler);
+    }
+
+    private Object invoke(GraphService target, Method method, Object[] args) throws Throwable {
+        WorkloadLogWriter current = writer;
+        if (current == null || method.getDeclaringClass() == Object.class || !capturable(args)) {
+            return call(target, method, args);
+        }
+
+        int concurrent = inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = call(target, method, args);
+            failed = false;
+            return result;
+        } finally {
+            long end = System.nanoTime();
+            inFlight.decrementAndGet();
+            current.append(new CapturedCall((start - startNanos) / 1_000, (end - start) / 1_000, concurrent,
+                    failed, method.getName(), args != null ? args : new Object[0]));
+        }
+    }
+
+    private static Object call(GraphService target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Batch calls with list arguments are not part of the replayable mix
+    private static boolean capturable(Object[] args) {
+        if (args == null) {
+            return true;
+        }
+        for (Object arg : args) {
+            if (arg != null && !(arg instanceof String || arg instanceof Long || arg instanceof Integer
+                    || arg instanceof Boolean)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CaptureStatus status(WorkloadLogWriter current, boolean capturing) {
+        return CaptureStatus.builder()
+                .capturing(capturing)
+                .file(current.getFile().toString())
+                .startedAtEpochMillis(startEpochMillis)
+                .written(current.getWritten())
+                .dropped(current.getDropped())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.graph.workload;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import static com.example.graph.workload.WorkloadLogWriter.*;
+
+/**
+ * Reads a workload log written by {@link WorkloadLogWriter}. A log cut short by a crash
+ * ends at the last complete record.
+ */
+public final class WorkloadLogReader {
+
+    private WorkloadLogReader() {
+    }
+
+    public static long read(Path file, Consumer<CapturedCall> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a workload log: " + file);
+            }
+            in.readLong();
+
+            List<String> operations = new ArrayList<>();
+            long calls = 0;
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    return calls;
+                }
+                try {
+                    if (type == DEFINE_OPERATION) {
+                        int id = in.readUnsignedShort();
+                        String name = in.readUTF();
+                        while (operations.size() <= id) {
+                            operations.add(null);
+                        }
+                        operations.set(id, name);
+                    } else if (type == CALL) {
+                        consumer.accept(readCall(in, operations));
+                        calls++;
+                    } else {
+                        throw new IOException("Corrupt workload log " + file + ": record type " + type);
+                    }
+                } catch (EOFException e) {
+                    return calls;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads calls in start order. Calls are logged as they complete, so a call appears after
+     * the shorter calls that started later; up to {@code lookAhead} calls are held back to
+     * restore the order, and a call overtaken by more than that is passed on late.
+     */
+    public static long readInStartOrder(Path file, int lookAhead, Consumer<CapturedCall> consumer)
+            throws IOException {
+        PriorityQueue<CapturedCall> pending = new PriorityQueue<>(
+                Comparator.comparingLong(CapturedCall::offsetMicros));
+        long calls = read(file, call -> {
+            pending.add(call);
+            if (pending.size() > lookAhead) {
+                consumer.accept(pending.poll());
+            }
+        });
+        while (!pending.isEmpty()) {
+            consumer.accept(pending.poll());
+        }
+        return calls;
+    }
+
+    public static long startEpochMillis(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a workload log: " + file);
+            }
+            return in.readLong();
+        }
+    }
+
+    private static CapturedCall readCall(DataInputStream in, List<String> operations) throws IOException {
+        long offsetMicros = in.readLong();
+        long latencyMicros = in.readLong();
+        int inFlight = in.readUnsignedShort();
+        boolean failed = in.readBoolean();
+        String operation = operations.get(in.readUnsignedShort());
+        Object[] args = new Object[in.readUnsignedByte()];
+        for (int i = 0; i < args.length; i++) {
+            byte tag = in.readByte();
+            args[i] = switch (tag) {
+                case NULL -> null;
+                case STRING -> in.readUTF();
+                case LONG -> in.readLong();
+                case INT -> in.readInt();
+                case BOOLEAN -> in.readBoolean();
+                default -> throw new IOException("Corrupt workload log: argument tag " + tag);
+            };
+        }
+        return new CapturedCall(offsetMicros, latencyMicros, inFlight, failed, operation, args);
+    }
+}
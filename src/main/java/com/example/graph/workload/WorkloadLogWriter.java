@@ -0,0 +1,149 @@
+package com.example.graph.workload;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends captured calls to a binary workload log from a single background thread, so a
+ * request only pays for an {@code offer} onto a bounded queue. When the queue is full the
+ * call is dropped and counted instead of slowing the request down.
+ *
+ * <p>Format: magic {@code GWL1}, capture start (epoch millis), then records. A record is
+ * either an operation definition ({@code 0}, id, name) written the first time an operation
+ * is seen, or a call ({@code 1}, offset and latency in microseconds, in-flight count,
+ * failed flag, operation id, argument count, tagged arguments).
+ */
+@Slf4j
+public class WorkloadLogWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x47574C31; // "GWL1"
+    static final byte DEFINE_OPERATION = 0;
+    static final byte CALL = 1;
+
+    static final byte NULL = 0;
+    static final byte STRING = 1;
+    static final byte LONG = 2;
+    static final byte INT = 3;
+    static final byte BOOLEAN = 4;
+
+    private final Path file;
+    private final DataOutputStream out;
+    private final BlockingQueue<CapturedCall> queue;
+    private final Map<String, Integer> operationIds = new HashMap<>();
+    private final Thread writerThread;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    public WorkloadLogWriter(Path file, long startEpochMillis, int queueCapacity) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeLong(startEpochMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::drain, "workload-capture");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void append(CapturedCall call) {
+        if (!queue.offer(call)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+    }
+
+    private void drain() {
+        try {
+            while (running || !queue.isEmpty()) {
+                CapturedCall call = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (call == null) {
+                    // Idle: make what was captured so far durable
+                    out.flush();
+                    continue;
+                }
+                write(call);
+                written.incrementAndGet();
+            }
+            out.flush();
+        } catch (IOException e) {
+            log.error("Workload capture to {} stopped: {}", file, e.getMessage());
+            running = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(CapturedCall call) throws IOException {
+        Integer operationId = operationIds.get(call.operation());
+        if (operationId == null) {
+            operationId = operationIds.size();
+            operationIds.put(call.operation(), operationId);
+            out.writeByte(DEFINE_OPERATION);
+            out.writeShort(operationId);
+            out.writeUTF(call.operation());
+        }
+        out.writeByte(CALL);
+        out.writeLong(call.offsetMicros());
+        out.writeLong(call.latencyMicros());
+        out.writeShort(Math.min(call.inFlight(), Short.MAX_VALUE));
+        out.writeBoolean(call.failed());
+        out.writeShort(operationId);
+        out.writeByte(call.args().length);
+        for (Object arg : call.args()) {
+            if (arg == null) {
+                out.writeByte(NULL);
+            } else if (arg instanceof String value) {
+                out.writeByte(STRING);
+                out.writeUTF(value);
+            } else if (arg instanceof Long value) {
+                out.writeByte(LONG);
+                out.writeLong(value);
+            } else if (arg instanceof Integer value) {
+                out.writeByte(INT);
+                out.writeInt(value);
+            } else if (arg instanceof Boolean value) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(value);
+            } else {
+                throw new IllegalArgumentException("Cannot capture argument of type " + arg.getClass().getName());
+            }
+        }
+    }
+}
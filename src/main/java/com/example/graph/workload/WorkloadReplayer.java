@@ -0,0 +1,195 @@
+package com.example.graph.workload;
+
+import com.example.graph.benchmark.LatencyRecorder;
+import com.example.graph.config.WorkloadConfig;
+import com.example.graph.dto.ReplayReport;
+import com.example.graph.service.GraphService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-executes a captured workload against any {@link GraphService}. With a speed factor
+ * every call is dispatched at its captured start offset divided by the speed, so
+ * inter-arrival times and the overlap between calls (and with it the concurrency) are
+ * kept. As fast as possible ({@code speed <= 0}) dispatches back to back, limited to the
+ * peak concurrency seen during capture. The log is streamed rather than loaded, so only
+ * the latency samples of a long capture are kept, not its calls.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkloadReplayer {
+
+    private static final Map<String, Method> OPERATIONS = new HashMap<>();
+
+    static {
+        for (Method method : GraphService.class.getMethods()) {
+            OPERATIONS.put(method.getName(), method);
+        }
+    }
+
+    // Calls held back to restore start order; a call overtaken by more completions is dispatched late
+    private static final int LOOK_AHEAD = 16_384;
+
+    private final WorkloadConfig config;
+
+    public ReplayReport replay(Path file, GraphService target, double speed) throws IOException, InterruptedException {
+        // A first pass finds the captured concurrency, the second streams the calls in start order
+        AtomicInteger peak = new AtomicInteger(1);
+        long captured = WorkloadLogReader.read(file, call -> peak.accumulateAndGet(call.inFlight(), Math::max));
+
+        boolean timed = speed > 0;
+        int peakConcurrency = peak.get();
+        int maxConcurrency = config.getReplayMaxConcurrency();
+        Dispatcher dispatcher = new Dispatcher(target, speed,
+                new Semaphore(timed ? maxConcurrency : Math.min(peakConcurrency, maxConcurrency)));
+
+        log.info("Replaying {} calls from {} against {} ({})", captured, file, target.getDatabaseType(),
+                timed ? speed + "x" : "as fast as possible");
+        try {
+            WorkloadLogReader.readInStartOrder(file, LOOK_AHEAD, dispatcher::dispatch);
+        } finally {
+            dispatcher.executor.shutdown();
+            dispatcher.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        long wallNanos = System.nanoTime() - dispatcher.start;
+        if (Thread.interrupted()) {
+            throw new InterruptedException("Replay of " + file + " interrupted");
+        }
+
+        Map<String, ReplayReport.OperationReplay> operations = new TreeMap<>();
+        dispatcher.stats.forEach((name, operation) -> operations.put(name, operation.summarize()));
+        long capturedMicros = dispatcher.dispatched == 0 ? 0 : dispatcher.lastEndMicros - dispatcher.firstOffsetMicros;
+        return ReplayReport.builder()
+                .file(file.toString())
+                .database(target.getDatabaseType())
+                .speed(timed ? speed : null)
+                .calls(dispatcher.dispatched - dispatcher.skipped)
+                .failed(operations.values().stream().mapToLong(ReplayReport.OperationReplay::getFailed).sum())
+                .skipped(dispatcher.skipped)
+                .peakConcurrency(peakConcurrency)
+                .capturedDurationMs(capturedMicros / 1_000)
+                .wallTimeMs(wallNanos / 1_000_000)
+                .maxDispatchLagMs(dispatcher.maxLagNanos / 1_000_000.0)
+                .operations(operations)
+                .build();
+    }
+
+    /** Dispatches calls handed over in start order, each at its due time, on the replay pool. */
+    private static class Dispatcher {
+        private final GraphService target;
+        private final double speed;
+        private final Semaphore permits;
+        private final ExecutorService executor = Executors.newCachedThreadPool(replayThreads());
+        private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+        private final long start = System.nanoTime();
+        private long dispatched;
+        private long skipped;
+        private long maxLagNanos;
+        private long firstOffsetMicros;
+        private long lastEndMicros;
+
+        Dispatcher(GraphService target, double speed, Semaphore permits) {
+            this.target = target;
+            this.speed = speed;
+            this.permits = permits;
+        }
+
+        void dispatch(CapturedCall call) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (dispatched++ == 0) {
+                firstOffsetMicros = call.offsetMicros();
+            }
+            lastEndMicros = Math.max(lastEndMicros, call.offsetMicros() + call.latencyMicros());
+            Method method = OPERATIONS.get(call.operation());
+            if (method == null || method.getParameterCount() != call.args().length) {
+                skipped++;
+                return;
+            }
+            OperationStats operation = stats.computeIfAbsent(call.operation(), name -> new OperationStats());
+            operation.captured(call);
+
+            boolean timed = speed > 0;
+            long due = timed ? start + (long) (call.offsetMicros() * 1_000 / speed) : 0;
+            if (timed) {
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // Stops dispatching; replay() reports the interruption once running calls finish
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (timed) {
+                maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - due);
+            }
+            executor.execute(() -> {
+                long callStart = System.nanoTime();
+                boolean failed = false;
+                try {
+                    method.invoke(target, call.args());
+                } catch (Exception e) {
+                    failed = true;
+                } finally {
+                    operation.replayed(System.nanoTime() - callStart, failed);
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    private static ThreadFactory replayThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "workload-replay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class OperationStats {
+        private final LatencyRecorder captured = new LatencyRecorder();
+        private final LatencyRecorder replayed = new LatencyRecorder();
+        private final AtomicLong capturedFailed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        void captured(CapturedCall call) {
+            captured.record(call.latencyMicros() * 1_000);
+            if (call.failed()) {
+                capturedFailed.incrementAndGet();
+            }
+        }
+
+        void replayed(long nanos, boolean callFailed) {
+            replayed.record(nanos);
+            if (callFailed) {
+                failed.incrementAndGet();
+            }
+        }
+
+        ReplayReport.OperationReplay summarize() {
+            return ReplayReport.OperationReplay.builder()
+                    .calls(captured.size())
+                    .failed(failed.get())
+                    .capturedFailed(capturedFailed.get())
+                    .captured(captured.summarize())
+                    .replayed(replayed.summarize())
+                    .build();
+        }
+    }
+}
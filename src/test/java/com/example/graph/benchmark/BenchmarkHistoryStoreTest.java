@@ -0,0 +1,66 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.config.BenchmarkConfig;
+import com.example.graph.dto.BenchmarkRecord;
+import com.example.graph.dto.PerformanceResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BenchmarkHistoryStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BenchmarkHistoryStore store() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        ReflectionTestUtils.setField(config, "historyEnabled", true);
+        ReflectionTestUtils.setField(config, "historyFile", tempDir.resolve("history.jsonl").toString());
+        ReflectionTestUtils.setField(config, "gitCommit", "abc123");
+        return new BenchmarkHistoryStore(config, new ObjectMapper());
+    }
+
+    private static String run(BenchmarkHistoryStore store, String database, String operation, long millis) {
+        return store.record(PerformanceResult.builder()
+                .database(database)
+                .operation(operation)
+                .executionTimeMs(millis)
+                .recordCount(1000)
+                .build(), Map.of("nodeCount", 1000)).getRunId();
+    }
+
+    @Test
+    void previousRunIsTheLastMatchingOneAppendedBeforeTheCandidate() {
+        BenchmarkHistoryStore store = store();
+        String first = run(store, "Neo4j", "BULK_INSERT_NODES", 100);
+        run(store, "TigerGraph", "BULK_INSERT_NODES", 50);
+        run(store, "Neo4j", "BULK_INSERT_RELATIONSHIPS", 70);
+        String second = run(store, "Neo4j", "BULK_INSERT_NODES", 110);
+        String third = run(store, "Neo4j", "BULK_INSERT_NODES", 120);
+
+        assertThat(store.findAll()).hasSize(5);
+        assertThat(store.findById(third)).map(BenchmarkRecord::getGitCommit).contains("abc123");
+        assertThat(store.findPrevious(store.findById(third).orElseThrow()))
+                .map(BenchmarkRecord::getRunId).contains(second);
+        // An older run is compared with the one before it, never with a newer run
+        assertThat(store.findPrevious(store.findById(second).orElseThrow()))
+                .map(BenchmarkRecord::getRunId).contains(first);
+        assertThat(store.findPrevious(store.findById(first).orElseThrow())).isEmpty();
+    }
+
+    @Test
+    void failedRunsAreNotRecorded() {
+        BenchmarkHistoryStore store = store();
+        PerformanceResult failed = PerformanceResult.builder()
+                .database("Neo4j").operation("BULK_INSERT_NODES").executionTimeMs(-1).build();
+
+        assertThat(store.record(failed, Map.of()).getRunId()).isNull();
+        assertThat(store.findAll()).isEmpty();
+    }
+}
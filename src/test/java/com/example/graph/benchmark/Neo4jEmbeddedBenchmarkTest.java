@@ -0,0 +1,156 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.dto.PerformanceResult;
+import com.example.graph.generator.DatasetGenerator;
+import com.example.graph.ingest.AdaptiveBatchSizer;
+import com.example.graph.ingest.BackendTimings;
+import com.example.graph.ingest.BulkLoader;
+import com.example.graph.ingest.EdgeDeduplicator;
+import com.example.graph.service.GraphService;
+import com.example.graph.service.GraphServiceRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads seeded datasets of several sizes into an in-process Neo4j and measures the
+ * {@code Neo4jGraphService} batch writes and relation-type reads. Each run is appended to
+ * the benchmark history under {@code target/benchmark-reports} and summarised in a
+ * Markdown table; throughput below the floors ({@code -Dbenchmark.neo4j.min-*-per-sec})
+ * fails the build. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "graph.database.type=neo4j",
+        "graph.cache.relation-type.enabled=false",
+        "graph.warmup.enabled=true",
+        "graph.benchmark.history.file=target/benchmark-reports/neo4j-embedded-history.jsonl"
+})
+class Neo4jEmbeddedBenchmarkTest {
+
+    private static final Path REPORT = Path.of("target", "benchmark-reports", "neo4j-embedded.md");
+    private static final long SEED = 42;
+    private static final int READ_REPETITIONS = 20;
+
+    private static final Neo4j NEO4J = Neo4jBuilders.newInProcessBuilder()
+            .withDisabledServer()
+            .build();
+
+    private static final List<PerformanceResult> RESULTS = new ArrayList<>();
+
+    @Autowired
+    private GraphServiceRegistry registry;
+
+    @Autowired
+    private BulkLoader bulkLoader;
+
+    @Autowired
+    private BenchmarkHistoryStore historyStore;
+
+    @DynamicPropertySource
+    static void neo4jProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.neo4j.uri", NEO4J::boltURI);
+        registry.add("spring.neo4j.authentication.username", () -> "neo4j");
+        registry.add("spring.neo4j.authentication.password", () -> "");
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        StringBuilder report = new StringBuilder("# Embedded Neo4j benchmark\n\n")
+                .append("| Operation | Records | Time (ms) | Records/sec | p50 (ms) | p99 (ms) |\n")
+                .append("|---|---:|---:|---:|---:|---:|\n");
+        for (PerformanceResult result : RESULTS) {
+            report.append(String.format("| %s | %d | %d | %.0f | %.2f | %.2f |%n",
+                    result.getOperation(), result.getRecordCount(), result.getExecutionTimeMs(), rate(result),
+                    result.getLatency().getP50Ms(), result.getLatency().getP99Ms()));
+        }
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+        NEO4J.close();
+    }
+
+    @ParameterizedTest(name = "{0} nodes, {1} relationships")
+    @CsvSource({"1000, 4000", "5000, 20000", "20000, 80000"})
+    void loadAndRead(int nodeCount, int relationshipCount) {
+        GraphService neo4j = registry.get("neo4j");
+        neo4j.deleteAllNodes();
+        DatasetGenerator generator = bulkLoader.newGenerator(SEED, nodeCount, relationshipCount, "rmat", 1.0);
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("nodeCount", nodeCount);
+        config.put("relationshipCount", relationshipCount);
+        config.put("topology", generator.getTopology().getName());
+        config.put("embedded", true);
+
+        BackendTimings nodeTimings = new BackendTimings();
+        bulkLoader.createNodesBatched(neo4j, generator, nodeTimings, bulkLoader.newBatchSizer());
+        PerformanceResult nodes = record(neo4j, "EMBEDDED_LOAD_NODES", nodeTimings,
+                nodeTimings.getWrites(neo4j).getSucceeded(), config);
+
+        BackendTimings relationshipTimings = new BackendTimings();
+        EdgeDeduplicator deduplicator = bulkLoader.newDeduplicator();
+        AdaptiveBatchSizer sizer = bulkLoader.newBatchSizer();
+        bulkLoader.createRelationshipsBatched(neo4j, generator, DatasetGenerator::nodeId, relationshipCount,
+                deduplicator, relationshipTimings, sizer);
+        PerformanceResult relationships = record(neo4j, "EMBEDDED_LOAD_RELATIONSHIPS", relationshipTimings,
+                relationshipTimings.getWrites(neo4j).getSucceeded(), config);
+
+        BackendTimings readTimings = new BackendTimings();
+        long rows = 0;
+        for (int i = 0; i < READ_REPETITIONS; i++) {
+            long start = System.nanoTime();
+            rows += neo4j.getNodesByRelationTypeId((long) (i % BulkLoader.RELATION_TYPE_COUNT) + 1).size();
+            readTimings.record(neo4j, System.nanoTime() - start);
+        }
+        PerformanceResult reads = record(neo4j, "EMBEDDED_READ_BY_RELATION_TYPE", readTimings, rows, config);
+
+        assertThat(neo4j.countNodes()).isEqualTo(nodeCount);
+        // Generated duplicates collapse under MERGE, so only an upper bound is exact
+        assertThat(neo4j.countRelationships()).isPositive().isLessThanOrEqualTo(relationshipCount);
+        assertThat(rate(nodes)).isGreaterThanOrEqualTo(floor("nodes", 200));
+        assertThat(rate(relationships)).isGreaterThanOrEqualTo(floor("relationships", 200));
+        assertThat(READ_REPETITIONS * 1000.0 / Math.max(1, reads.getExecutionTimeMs()))
+                .isGreaterThanOrEqualTo(floor("reads", 0.5));
+    }
+
+    private PerformanceResult record(GraphService backend, String operation, BackendTimings timings, long records,
+                                     Map<String, Object> config) {
+        PerformanceResult result = PerformanceResult.builder()
+                .database(backend.getDatabaseType())
+                .operation(operation)
+                .executionTimeMs(timings.getMillis(backend))
+                .recordCount(records)
+                .seed(SEED)
+                .latency(timings.getLatency(backend))
+                .writes(timings.getWrites(backend).getAttempted() > 0 ? timings.getWrites(backend) : null)
+                .additionalInfo(config.get("nodeCount") + " nodes, " + config.get("relationshipCount") + " relationships")
+                .build();
+        RESULTS.add(historyStore.record(result, config));
+        return result;
+    }
+
+    private static double rate(PerformanceResult result) {
+        return result.getRecordCount() * 1000.0 / Math.max(1, result.getExecutionTimeMs());
+    }
+
+    private static double floor(String kind, double defaultPerSecond) {
+        return Double.parseDouble(System.getProperty("benchmark.neo4j.min-" + kind + "-per-sec",
+                String.valueOf(defaultPerSecond)));
+    }
+}
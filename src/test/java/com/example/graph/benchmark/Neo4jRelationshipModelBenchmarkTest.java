@@ -0,0 +1,141 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.config.Neo4jModelConfig;
+import com.example.graph.dto.MigrationResult;
+import com.example.graph.generator.DatasetGenerator;
+import com.example.graph.ingest.BackendTimings;
+import com.example.graph.ingest.BulkLoader;
+import com.example.graph.service.GraphService;
+import com.example.graph.service.GraphServiceRegistry;
+import com.example.graph.service.RelationshipModelMigration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares by-relation-type reads on the property model ({@code RELATES_TO {relationTypeId}})
+ * with the typed model ({@code RELATES_TO_<id>}) on the same seeded graph, migrating between
+ * them in place. Writes {@code target/benchmark-reports/neo4j-relationship-model.md}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "graph.database.type=neo4j",
+        "graph.cache.relation-type.enabled=false",
+        "graph.benchmark.history.enabled=false",
+        "graph.neo4j.relationship-model=property"
+})
+class Neo4jRelationshipModelBenchmarkTest {
+
+    private static final Path REPORT = Path.of("target", "benchmark-reports", "neo4j-relationship-model.md");
+    private static final long SEED = 42;
+    private static final int NODES = 20_000;
+    private static final int RELATIONSHIPS = 100_000;
+    private static final int ROUNDS = 5;
+
+    private static final Neo4j NEO4J = Neo4jBuilders.newInProcessBuilder()
+            .withDisabledServer()
+            .build();
+
+    @Autowired
+    private GraphServiceRegistry registry;
+
+    @Autowired
+    private BulkLoader bulkLoader;
+
+    @Autowired
+    private RelationshipModelMigration migration;
+
+    @Autowired
+    private Neo4jModelConfig modelConfig;
+
+    @DynamicPropertySource
+    static void neo4jProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.neo4j.uri", NEO4J::boltURI);
+        registry.add("spring.neo4j.authentication.username", () -> "neo4j");
+        registry.add("spring.neo4j.authentication.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopNeo4j() {
+        NEO4J.close();
+    }
+
+    @Test
+    void typedRelationshipsAgainstPropertyFilter() throws Exception {
+        GraphService neo4j = registry.get("neo4j");
+        neo4j.deleteAllNodes();
+        DatasetGenerator generator = bulkLoader.newGenerator(SEED, NODES, RELATIONSHIPS, "rmat", 1.0);
+        BackendTimings loadTimings = new BackendTimings();
+        bulkLoader.createNodesBatched(neo4j, generator, loadTimings, bulkLoader.newBatchSizer());
+        bulkLoader.createRelationshipsBatched(neo4j, generator, DatasetGenerator::nodeId, RELATIONSHIPS,
+                bulkLoader.newDeduplicator(), loadTimings, bulkLoader.newBatchSizer());
+        long relationships = neo4j.countRelationships();
+
+        Map<Long, Long> propertyRows = new TreeMap<>();
+        BackendTimings property = readAllTypes(neo4j, propertyRows);
+
+        MigrationResult toTyped = migration.migrate("typed", 5_000);
+        ReflectionTestUtils.setField(modelConfig, "relationshipModel", "typed");
+        Map<Long, Long> typedRows = new TreeMap<>();
+        BackendTimings typed;
+        try {
+            assertThat(neo4j.countRelationships()).isEqualTo(relationships);
+            typed = readAllTypes(neo4j, typedRows);
+        } finally {
+            ReflectionTestUtils.setField(modelConfig, "relationshipModel", "property");
+        }
+        MigrationResult toProperty = migration.migrate("property", 5_000);
+
+        String report = "# Neo4j relationship model\n\n"
+                + String.format("%d nodes, %d relationships, %d relation types, %d rounds%n%n",
+                NODES, relationships, typedRows.size(), ROUNDS)
+                + "| Model | Reads | Total (ms) | p50 (ms) | p99 (ms) |\n|---|---:|---:|---:|---:|\n"
+                + row("property", neo4j, property) + row("typed", neo4j, typed)
+                + String.format("%nMigration to typed: %d relationships in %d chunks, %d ms%n",
+                toTyped.getRelationshipsMigrated(), toTyped.getChunks(), toTyped.getExecutionTimeMs())
+                + String.format("Migration to property: %d relationships in %d chunks, %d ms%n",
+                toProperty.getRelationshipsMigrated(), toProperty.getChunks(), toProperty.getExecutionTimeMs());
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+
+        assertThat(typedRows).isEqualTo(propertyRows);
+        assertThat(toTyped.getRelationshipsMigrated()).isEqualTo(relationships);
+        assertThat(toProperty.getRelationshipsMigrated()).isEqualTo(relationships);
+        assertThat(neo4j.countRelationships()).isEqualTo(relationships);
+    }
+
+    private static BackendTimings readAllTypes(GraphService neo4j, Map<Long, Long> rowsByType) {
+        BackendTimings timings = new BackendTimings();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (long relationTypeId = 1; relationTypeId <= BulkLoader.RELATION_TYPE_COUNT; relationTypeId++) {
+                long start = System.nanoTime();
+                long relations = neo4j.getNodesByRelationTypeId(relationTypeId).stream()
+                        .mapToLong(node -> node.getOutgoingRelations().size())
+                        .sum();
+                timings.record(neo4j, System.nanoTime() - start);
+                rowsByType.put(relationTypeId, relations);
+            }
+        }
+        return timings;
+    }
+
+    private static String row(String model, GraphService neo4j, BackendTimings timings) {
+        return String.format("| %s | %d | %d | %.2f | %.2f |%n", model, ROUNDS * BulkLoader.RELATION_TYPE_COUNT,
+                timings.getMillis(neo4j), timings.getLatency(neo4j).getP50Ms(), timings.getLatency(neo4j).getP99Ms());
+    }
+}
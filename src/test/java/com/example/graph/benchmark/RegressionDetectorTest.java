@@ -0,0 +1,82 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.config.BenchmarkConfig;
+import com.example.graph.dto.BenchmarkRecord;
+import com.example.graph.dto.LatencySummary;
+import com.example.graph.dto.RegressionReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RegressionDetectorTest {
+
+    private final RegressionDetector detector = detector();
+
+    private static RegressionDetector detector() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        ReflectionTestUtils.setField(config, "regressionThreshold", 0.05);
+        return new RegressionDetector(config);
+    }
+
+    private static BenchmarkRecord run(String runId, double throughput, double meanMs, double stdDevMs, long count) {
+        return BenchmarkRecord.builder()
+                .runId(runId)
+                .database("Neo4j")
+                .operation("BULK_INSERT_NODES")
+                .seed(42L)
+                .throughputPerSec(throughput)
+                .latency(LatencySummary.builder().count(count).meanMs(meanMs).stdDevMs(stdDevMs)
+                        .p95Ms(meanMs + 2 * stdDevMs).build())
+                .build();
+    }
+
+    @Test
+    void criticalValueTracksStudentsT() {
+        // Tabulated two-sided 5% quantiles
+        assertThat(RegressionDetector.criticalT(1)).isCloseTo(12.7062, within(0.001));
+        assertThat(RegressionDetector.criticalT(1.6)).isCloseTo(12.7062, within(0.001));
+        assertThat(RegressionDetector.criticalT(0.4)).isCloseTo(12.7062, within(0.001));
+        assertThat(RegressionDetector.criticalT(5)).isCloseTo(2.5706, within(0.001));
+        assertThat(RegressionDetector.criticalT(10)).isCloseTo(2.2281, within(0.005));
+        assertThat(RegressionDetector.criticalT(30)).isCloseTo(2.0423, within(0.001));
+        assertThat(RegressionDetector.criticalT(1000)).isCloseTo(1.9623, within(0.001));
+    }
+
+    @Test
+    void flagsASignificantSlowdownAboveTheThreshold() {
+        RegressionReport report = detector.compare(run("base", 1000, 10, 1, 100), run("cand", 800, 12, 1, 100));
+
+        // Welch: t = 2 / sqrt(0.01 + 0.01), df = 198 for equal variances and counts
+        assertThat(report.getTStatistic()).isCloseTo(14.142, within(0.01));
+        assertThat(report.getDegreesOfFreedom()).isCloseTo(198, within(0.01));
+        assertThat(report.isSignificant()).isTrue();
+        assertThat(report.isRegression()).isTrue();
+        assertThat(report.getLatencyChange()).isCloseTo(0.2, within(1e-9));
+        assertThat(report.getFindings()).anyMatch(finding -> finding.startsWith("Mean batch latency rose 20.0%"));
+    }
+
+    @Test
+    void ignoresNoiseSmallChangesAndImprovements() {
+        // 6% slower, but well within the spread of 20 noisy samples
+        assertThat(detector.compare(run("base", 1000, 10, 5, 20), run("cand", 1000, 10.6, 5, 20)).isRegression())
+                .isFalse();
+        // Significant but below the 5% threshold
+        RegressionReport small = detector.compare(run("base", 1000, 10, 0.1, 1000), run("cand", 1000, 10.2, 0.1, 1000));
+        assertThat(small.isSignificant()).isTrue();
+        assertThat(small.isRegression()).isFalse();
+        // Significantly faster
+        assertThat(detector.compare(run("base", 1000, 10, 1, 100), run("cand", 1500, 7, 1, 100)).isRegression())
+                .isFalse();
+    }
+
+    @Test
+    void fallsBackToThroughputWithoutLatencySamples() {
+        RegressionReport report = detector.compare(run("base", 1000, 0, 0, 1), run("cand", 900, 0, 0, 1));
+
+        assertThat(report.isRegression()).isTrue();
+        assertThat(report.getTStatistic()).isNaN();
+        assertThat(report.getFindings()).contains("Not enough latency samples for a significance test; comparing throughput only");
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.graph.benchmark;
+
+import com.example.graph.domain.CiNode;
+import com.example.graph.domain.CiRelationship;
+import com.example.graph.dto.RelationshipPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialization CPU of JSON against Smile for the responses that dominate
+ * service-to-service traffic: a node list with outgoing relations ({@code getAllNodes},
+ * by-relation-type reads) and a relationship page. Writes
+ * {@code target/benchmark-reports/wire-format.md}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class WireFormatBenchmarkTest {
+
+    private static final Path REPORT = Path.of("target", "benchmark-reports", "wire-format.md");
+    private static final long SEED = 42;
+    private static final int NODES = 20_000;
+    private static final int MAX_RELATIONS = 8;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 30;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper smile = new SmileMapper();
+
+    @Test
+    void smileAgainstJson() throws Exception {
+        Random random = new Random(SEED);
+        List<CiNode> nodes = new ArrayList<>(NODES);
+        for (int i = 0; i < NODES; i++) {
+            Set<CiRelationship> relations = new HashSet<>();
+            int degree = random.nextInt(MAX_RELATIONS + 1);
+            for (int r = 0; r < degree; r++) {
+                relations.add(CiRelationship.builder()
+                        .relationTypeId((long) random.nextInt(10) + 1)
+                        .target(CiNode.builder().id(String.format("ci-%08d", random.nextInt(NODES))).build())
+                        .build());
+            }
+            nodes.add(CiNode.builder().id(String.format("ci-%08d", i)).outgoingRelations(relations).build());
+        }
+        List<RelationshipPage.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(new RelationshipPage.Entry((long) i / 100 + 1, String.format("ci-%08d", i)));
+        }
+        RelationshipPage page = RelationshipPage.of("ci-00000000", entries, 1000);
+
+        StringBuilder report = new StringBuilder("# Wire format\n\n")
+                .append(String.format("%d nodes with up to %d relations each; a 1000-entry relationship page; "
+                        + "CPU per call averaged over %d rounds after %d warmup rounds%n%n",
+                        NODES, MAX_RELATIONS, ROUNDS, WARMUP_ROUNDS))
+                .append("| Payload | Format | Bytes | Gzipped bytes | Serialize CPU (ms) | Deserialize CPU (ms) |\n")
+                .append("|---|---|---:|---:|---:|---:|\n");
+        long[] nodeBytes = new long[2];
+        int format = 0;
+        for (ObjectMapper mapper : List.of(json, smile)) {
+            nodeBytes[format++] = measure(report, "node list", mapper, nodes, new TypeReference<List<CiNode>>() {
+            }, WireFormatBenchmarkTest::edges);
+            measure(report, "relationship page", mapper, page, new TypeReference<RelationshipPage>() {
+            }, relationshipPage -> relationshipPage);
+        }
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report.toString());
+
+        assertThat(nodeBytes[1]).isLessThan(nodeBytes[0]);
+    }
+
+    private <T> long measure(StringBuilder report, String payload, ObjectMapper mapper, T value,
+                             TypeReference<T> type, Function<T, Object> canonical) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        assertThat(canonical.apply(mapper.readValue(bytes, type))).isEqualTo(canonical.apply(value));
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(value), type);
+        }
+        long serializeNanos = 0;
+        long deserializeNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = THREADS.getCurrentThreadCpuTime();
+            bytes = mapper.writeValueAsBytes(value);
+            long serialized = THREADS.getCurrentThreadCpuTime();
+            mapper.readValue(bytes, type);
+            serializeNanos += serialized - start;
+            deserializeNanos += THREADS.getCurrentThreadCpuTime() - serialized;
+        }
+
+        String name = mapper instanceof SmileMapper ? "Smile" : "JSON";
+        report.append(String.format("| %s | %s | %d | %d | %.2f | %.2f |%n", payload, name, bytes.length,
+                gzipped(bytes), serializeNanos / 1e6 / ROUNDS, deserializeNanos / 1e6 / ROUNDS));
+        return bytes.length;
+    }
+
+    // Relation sets come back in another order, so compare sorted edge lists
+    private static Object edges(List<CiNode> nodes) {
+        List<String> edges = new ArrayList<>();
+        for (CiNode node : nodes) {
+            edges.add(node.getId());
+            node.getOutgoingRelations().forEach(relation -> edges.add(
+                    node.getId() + "-" + relation.getRelationTypeId() + "->" + relation.getTarget().getId()));
+        }
+        Collections.sort(edges);
+        return edges;
+    }
+
+    private static long gzipped(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
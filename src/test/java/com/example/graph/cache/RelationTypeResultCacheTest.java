@@ -0,0 +1,110 @@
+package com.example.graph.cache;
+
+import com.example.graph.config.QueryCacheConfig;
+import com.example.graph.domain.CiNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelationTypeResultCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<Long, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+    private RelationTypeResultCache cache(long maxRecords) {
+        QueryCacheConfig config = new QueryCacheConfig();
+        ReflectionTestUtils.setField(config, "relationTypeCacheEnabled", true);
+        ReflectionTestUtils.setField(config, "relationTypeCacheMaxRecords", maxRecords);
+        return new RelationTypeResultCache(config, registry);
+    }
+
+    private List<CiNode> read(RelationTypeResultCache cache, long relationTypeId, int nodes) {
+        return cache.get(relationTypeId, () -> {
+            loads.computeIfAbsent(relationTypeId, id -> new AtomicInteger()).incrementAndGet();
+            return IntStream.range(0, nodes).mapToObj(i -> CiNode.builder().id(relationTypeId + "-" + i).build())
+                    .toList();
+        });
+    }
+
+    private int loads(long relationTypeId) {
+        return loads.getOrDefault(relationTypeId, new AtomicInteger()).get();
+    }
+
+    @Test
+    void writesInvalidateOnlyTheTypesTheyTouch() {
+        RelationTypeResultCache cache = cache(1000);
+        read(cache, 1, 3);
+        read(cache, 2, 3);
+        read(cache, 1, 3);
+        read(cache, 2, 3);
+
+        cache.invalidate(List.of(1L));
+        assertThat(read(cache, 1, 3)).hasSize(3);
+        read(cache, 2, 3);
+
+        assertThat(loads(1)).isEqualTo(2);
+        assertThat(loads(2)).isEqualTo(1);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+        assertThat(registry.get("graph.cache.relation-type.gets").tag("result", "hit").counter().count())
+                .isEqualTo(3);
+
+        cache.invalidateAll();
+        read(cache, 2, 3);
+        assertThat(loads(2)).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedResultsBeyondMaxRecords() {
+        RelationTypeResultCache cache = cache(10);
+        read(cache, 1, 4);
+        read(cache, 2, 4);
+        read(cache, 1, 4);
+        read(cache, 3, 4);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.records()).isEqualTo(8);
+        assertThat(registry.get("graph.cache.relation-type.evictions").functionCounter().count()).isEqualTo(1);
+        read(cache, 1, 4);
+        read(cache, 2, 4);
+        assertThat(loads(1)).isEqualTo(1);
+        assertThat(loads(2)).isEqualTo(2);
+
+        read(cache, 4, 11);
+        read(cache, 4, 11);
+        assertThat(loads(4)).isEqualTo(2);
+    }
+
+    @Test
+    void resultLoadedDuringAWriteIsNotServedAfterIt() {
+        RelationTypeResultCache cache = cache(1000);
+        cache.get(1L, () -> {
+            cache.invalidate(List.of(1L));
+            return List.of();
+        });
+        read(cache, 1, 1);
+        assertThat(loads(1)).isEqualTo(1);
+
+        // Read between a transactional write and its commit
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(List.of(1L));
+            read(cache, 1, 1);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        read(cache, 1, 1);
+        assertThat(loads(1)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,657 @@
+package com.example.graph.client;
+
+import com.example.graph.config.TigerGraphConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * In-memory stand-in for the TigerGraph REST++ endpoints {@link TigerGraphClient} uses:
+ * JSON upserts, the {@code load_ci_graph} loading job, vertex fetch and delete,
+ * builtins stats, the installed queries of {@code tigergraph-setup.gsql}, {@code /echo}
+ * and {@code /endpoints}. Latency, throttling and errors can be injected, all driven by a
+ * seeded random source so benchmark runs are reproducible.
+ */
+public class FakeRestPlusServer implements AutoCloseable {
+
+    private static final String VERTEX_TYPE = "CiNode";
+    private static final String EDGE_TYPE = "RELATES_TO";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String graphName;
+    private final LatencyModel latency;
+    private final Semaphore concurrencyLimit;
+    private final double errorRate;
+    private final Predicate<String> rejectedIds;
+    private final Random random;
+
+    private final Set<String> vertices = ConcurrentHashMap.newKeySet();
+    // source id -> target id -> relationTypeIds (RELATES_TO uses relationTypeId as discriminator)
+    private final Map<String, Map<String, Set<Long>>> edges = new ConcurrentHashMap<>();
+
+    private final AtomicInteger failuresRemaining;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private FakeRestPlusServer(Builder builder) throws IOException {
+        this.graphName = builder.graphName;
+        this.latency = builder.latency;
+        this.concurrencyLimit = builder.maxConcurrentRequests > 0 ? new Semaphore(builder.maxConcurrentRequests) : null;
+        this.errorRate = builder.errorRate;
+        this.rejectedIds = builder.rejectedIds;
+        this.random = new Random(builder.seed);
+        this.failuresRemaining = new AtomicInteger(builder.failFirstWrites);
+        this.executor = Executors.newFixedThreadPool(builder.threads);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getGraphName() {
+        return graphName;
+    }
+
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    public long edgeCount() {
+        return edges.values().stream()
+                .flatMap(targets -> targets.values().stream())
+                .mapToLong(Set::size)
+                .sum();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /** Highest number of requests the server was handling at the same time. */
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * Client configuration pointing at this server, with the application defaults.
+     */
+    public TigerGraphConfig clientConfig() {
+        TigerGraphConfig config = new TigerGraphConfig();
+        ReflectionTestUtils.setField(config, "host", "localhost");
+        ReflectionTestUtils.setField(config, "restPort", getPort());
+        ReflectionTestUtils.setField(config, "graphName", graphName);
+        ReflectionTestUtils.setField(config, "retryMaxAttempts", 4);
+        ReflectionTestUtils.setField(config, "retryInitialBackoffMs", 1L);
+        ReflectionTestUtils.setField(config, "retryMaxBackoffMs", 20L);
+        ReflectionTestUtils.setField(config, "ingestMode", "upsert");
+        ReflectionTestUtils.setField(config, "loadingJob", "load_ci_graph");
+        ReflectionTestUtils.setField(config, "loadingJobNodeFile", "node_file");
+        ReflectionTestUtils.setField(config, "loadingJobEdgeFile", "edge_file");
+        ReflectionTestUtils.setField(config, "requestCompression", "none");
+        ReflectionTestUtils.setField(config, "compressionLevel", 6);
+        ReflectionTestUtils.setField(config, "scanPartitions", 1);
+        ReflectionTestUtils.setField(config, "scanMaxInFlight", 4);
+        ReflectionTestUtils.setField(config, "scanQuery", "scanCiNodes");
+        return config;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (concurrencyLimit != null && !concurrencyLimit.tryAcquire()) {
+            throttled.incrementAndGet();
+            drain(exchange);
+            respond(exchange, 429, error("Too many requests"));
+            return;
+        }
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            sleep(latency.nextNanos(random));
+            boolean write = !exchange.getRequestMethod().equals("GET");
+            if (write && (failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0 || random.nextDouble() < errorRate)) {
+                injectedErrors.incrementAndGet();
+                drain(exchange);
+                respond(exchange, 503, error("Injected failure"));
+                return;
+            }
+            route(exchange);
+        } catch (RuntimeException e) {
+            respond(exchange, 500, error(e.toString()));
+        } finally {
+            inFlight.decrementAndGet();
+            if (concurrencyLimit != null) {
+                concurrencyLimit.release();
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+        Map<String, String> query = query(exchange);
+
+        if (path[0].equals("echo")) {
+            respond(exchange, 200, ok());
+        } else if (path[0].equals("endpoints")) {
+            respond(exchange, 200, endpoints());
+        } else if (path[0].equals("graph") && path.length == 2 && method.equals("POST")) {
+            upsert(exchange, readJson(exchange), "true".equals(query.get("vertex_must_exist")));
+        } else if (path[0].equals("graph") && path.length >= 4 && path[2].equals("vertices")) {
+            vertexEndpoint(exchange, method, path);
+        } else if (path[0].equals("graph") && path.length == 8 && path[2].equals("edges") && method.equals("POST")) {
+            JsonNode attributes = readJson(exchange);
+            boolean added = addEdge(decode(path[4]), decode(path[7]), attributes, false);
+            respond(exchange, 200, accepted(0, added ? 1 : 0));
+        } else if (path[0].equals("graph") && path.length == 5 && path[2].equals("delete_by_type")) {
+            vertices.clear();
+            edges.clear();
+            respond(exchange, 200, ok());
+        } else if (path[0].equals("builtins") && path.length == 4) {
+            ObjectNode count = objectMapper.createObjectNode();
+            if (path[3].equals("vertex_number")) {
+                count.put("v_type", VERTEX_TYPE).put("v_count", vertices.size());
+            } else {
+                count.put("e_type", EDGE_TYPE).put("e_count", edgeCount());
+            }
+            respond(exchange, 200, results(count));
+        } else if (path[0].equals("query") && path.length == 3 && method.equals("POST")) {
+            respond(exchange, 200, runPostedQuery(path[2], readJson(exchange)));
+        } else if (path[0].equals("query") && path.length == 3) {
+            respond(exchange, 200, runQuery(path[2], query));
+        } else if (path[0].equals("ddl") && method.equals("POST")) {
+            loadCsv(exchange, query.get("filename"));
+        } else {
+            respond(exchange, 404, error("Endpoint not found: " + exchange.getRequestURI()));
+        }
+    }
+
+    private void vertexEndpoint(HttpExchange exchange, String method, String[] path) throws IOException {
+        if (path.length == 4 && method.equals("GET")) {
+            ArrayNode all = objectMapper.createArrayNode();
+            vertices.forEach(id -> all.add(vertex(id)));
+            respond(exchange, 200, results(all));
+            return;
+        }
+        String id = decode(path[4]);
+        switch (method) {
+            case "GET" -> respond(exchange, vertices.contains(id) ? 200 : 404,
+                    vertices.contains(id) ? results(vertex(id)) : error("Vertex not found: " + id));
+            case "POST" -> {
+                readJson(exchange);
+                vertices.add(id);
+                respond(exchange, 200, accepted(1, 0));
+            }
+            case "DELETE" -> {
+                vertices.remove(id);
+                edges.remove(id);
+                edges.values().forEach(targets -> targets.remove(id));
+                respond(exchange, 200, ok());
+            }
+            default -> respond(exchange, 405, error("Method not allowed"));
+        }
+    }
+
+    private void upsert(HttpExchange exchange, JsonNode payload, boolean vertexMustExist) throws IOException {
+        List<String> ids = new ArrayList<>();
+        payload.path("vertices").path(VERTEX_TYPE).fieldNames().forEachRemaining(ids::add);
+        payload.path("edges").path(VERTEX_TYPE).fields().forEachRemaining(source -> {
+            ids.add(source.getKey());
+            source.getValue().path(EDGE_TYPE).path(VERTEX_TYPE).fieldNames().forEachRemaining(ids::add);
+        });
+        if (ids.stream().anyMatch(rejectedIds)) {
+            rejected.incrementAndGet();
+            respond(exchange, 400, error("Invalid vertex id in batch"));
+            return;
+        }
+
+        int acceptedVertices = 0;
+        for (String id : (Iterable<String>) () -> payload.path("vertices").path(VERTEX_TYPE).fieldNames()) {
+            vertices.add(id);
+            acceptedVertices++;
+        }
+        int acceptedEdges = 0;
+        for (Map.Entry<String, JsonNode> source : (Iterable<Map.Entry<String, JsonNode>>)
+                () -> payload.path("edges").path(VERTEX_TYPE).fields()) {
+            for (Map.Entry<String, JsonNode> target : (Iterable<Map.Entry<String, JsonNode>>)
+                    () -> source.getValue().path(EDGE_TYPE).path(VERTEX_TYPE).fields()) {
+                JsonNode attributes = target.getValue();
+                for (JsonNode edge : attributes.isArray() ? attributes : List.of(attributes)) {
+                    if (addEdge(source.getKey(), target.getKey(), edge, vertexMustExist)) {
+                        acceptedEdges++;
+                    }
+                }
+            }
+        }
+        respond(exchange, 200, accepted(acceptedVertices, acceptedEdges));
+    }
+
+    private void loadCsv(HttpExchange exchange, String filename) throws IOException {
+        String[] lines = new String(body(exchange).readAllBytes(), StandardCharsets.UTF_8).split("\n");
+        boolean edgeFile = "edge_file".equals(filename);
+        int valid = 0;
+        int invalid = 0;
+        for (String line : lines) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (rejectedIds.test(fields[0]) || (edgeFile && fields.length != 3)) {
+                invalid++;
+            } else if (!edgeFile) {
+                vertices.add(fields[0]);
+                valid++;
+            } else if (addEdge(fields[0], fields[1], Long.parseLong(fields[2]), true)) {
+                valid++;
+            } else {
+                invalid++;
+            }
+        }
+        ObjectNode type = objectMapper.createObjectNode()
+                .put("typeName", edgeFile ? EDGE_TYPE : VERTEX_TYPE)
+                .put("validObject", valid)
+                .put("invalidAttribute", invalid);
+        ObjectNode statistics = objectMapper.createObjectNode()
+                .put("validLine", valid)
+                .put("rejectLine", invalid);
+        statistics.putArray(edgeFile ? "edge" : "vertex").add(type);
+        ObjectNode result = objectMapper.createObjectNode().put("sourceFileName", "Online_POST");
+        result.set("statistics", statistics);
+        respond(exchange, 200, results(result));
+    }
+
+    private ObjectNode runPostedQuery(String name, JsonNode params) {
+        if (!name.equals("deleteCiNodes")) {
+            return error("Query not installed: " + name);
+        }
+        int deleted = 0;
+        for (JsonNode id : params.path("ids")) {
+            if (vertices.remove(id.asText())) {
+                edges.remove(id.asText());
+                edges.values().forEach(targets -> targets.remove(id.asText()));
+                deleted++;
+            }
+        }
+        return results(objectMapper.createObjectNode().put("deleted", deleted));
+    }
+
+    private ObjectNode runQuery(String name, Map<String, String> params) {
+        ObjectNode result = objectMapper.createObjectNode();
+        switch (name) {
+            case "countNodes" -> result.putArray("Result").addObject().put("count", vertices.size());
+            case "countRelationships" -> {
+                result.putObject("@@edgeCount").put("count", edgeCount());
+                ObjectNode byType = result.putObject("@@byType");
+                edges.values().stream()
+                        .flatMap(targets -> targets.values().stream())
+                        .flatMap(Set::stream)
+                        .forEach(type -> byType.put(type.toString(), byType.path(type.toString()).asLong() + 1));
+            }
+            case "topCiNodesByDegree" -> {
+                Map<String, Long> degrees = degrees(params.get("edgeType"));
+                ArrayNode top = result.putArray("top");
+                degrees.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                                .thenComparing(Map.Entry.comparingByKey()))
+                        .limit(Long.parseLong(params.get("k")))
+                        .forEach(degree -> top.addObject().put("id", degree.getKey()).put("degree", degree.getValue()));
+            }
+            case "ciDegreeHistogram" -> {
+                ObjectNode histogram = result.putObject("histogram");
+                degrees(params.get("edgeType")).values().forEach(degree ->
+                        histogram.put(degree.toString(), histogram.path(degree.toString()).asLong() + 1));
+            }
+            case "getNodesByRelationType" -> {
+                long relationTypeId = Long.parseLong(params.getOrDefault("relTypeId", "0"));
+                ArrayNode matches = result.putArray("Result");
+                edges.forEach((source, targets) -> {
+                    if (targets.values().stream().anyMatch(types -> types.contains(relationTypeId))) {
+                        ObjectNode vertex = vertex(source);
+                        ArrayNode matching = ((ObjectNode) vertex.get("attributes")).putArray("@relationships");
+                        targets.forEach((target, types) -> {
+                            if (types.contains(relationTypeId)) {
+                                matching.addObject().put("relationTypeId", relationTypeId).put("targetId", target);
+                            }
+                        });
+                        matches.add(vertex);
+                    }
+                });
+            }
+            case "scanCiNodes" -> {
+                int partition = Integer.parseInt(params.getOrDefault("partition", "0"));
+                int partitions = Integer.parseInt(params.getOrDefault("partitions", "1"));
+                ArrayNode slice = result.putArray("Result");
+                vertices.stream()
+                        .filter(id -> Math.floorMod(id.hashCode(), partitions) == partition)
+                        .forEach(id -> slice.add(vertex(id)));
+            }
+            case "exportCiGraph" -> {
+                int partition = Integer.parseInt(params.getOrDefault("partition", "0"));
+                int partitions = Integer.parseInt(params.getOrDefault("partitions", "1"));
+                ArrayNode slice = result.putArray("Result");
+                vertices.stream()
+                        .filter(id -> Math.floorMod(id.hashCode(), partitions) == partition)
+                        .forEach(id -> {
+                            ObjectNode vertex = vertex(id);
+                            ArrayNode out = ((ObjectNode) vertex.get("attributes")).putArray("@relationships");
+                            edges.getOrDefault(id, Map.of()).forEach((target, types) -> types.forEach(type ->
+                                    out.addObject().put("relationTypeId", type).put("targetId", target)));
+                            slice.add(vertex);
+                        });
+            }
+            case "pageRelationships" -> {
+                boolean filterByType = Boolean.parseBoolean(params.get("filterByType"));
+                long relationTypeId = Long.parseLong(params.getOrDefault("relationTypeId", "0"));
+                long afterType = Long.parseLong(params.get("afterRelationTypeId"));
+                String afterTarget = params.getOrDefault("afterTargetId", "");
+                ArrayNode page = result.putArray("page");
+                edges.getOrDefault(params.get("src"), Map.of()).entrySet().stream()
+                        .flatMap(target -> target.getValue().stream().map(type -> Map.entry(type, target.getKey())))
+                        .filter(edge -> !filterByType || edge.getKey() == relationTypeId)
+                        .filter(edge -> edge.getKey() > afterType
+                                || (edge.getKey() == afterType && edge.getValue().compareTo(afterTarget) > 0))
+                        .sorted(Map.Entry.<Long, String>comparingByKey().thenComparing(Map.Entry.comparingByValue()))
+                        .limit(Long.parseLong(params.get("pageSize")))
+                        .forEach(edge -> page.addObject()
+                                .put("relationTypeId", edge.getKey())
+                                .put("targetId", edge.getValue()));
+            }
+            default -> throw new IllegalArgumentException("Query not installed: " + name);
+        }
+        return results(result);
+    }
+
+    // Out-degree per vertex for RELATES_TO, in-degree for its reverse edge type
+    private Map<String, Long> degrees(String edgeType) {
+        Map<String, Long> degrees = new HashMap<>();
+        vertices.forEach(id -> degrees.put(id, 0L));
+        boolean incoming = "REVERSE_RELATES_TO".equals(edgeType);
+        edges.forEach((source, targets) -> targets.forEach((target, types) ->
+                degrees.merge(incoming ? target : source, (long) types.size(), Long::sum)));
+        return degrees;
+    }
+
+    private ObjectNode endpoints() {
+        Map<String, Map<String, String>> queries = new LinkedHashMap<>();
+        queries.put("countNodes", Map.of());
+        queries.put("countRelationships", Map.of());
+        queries.put("getNodesByRelationType", Map.of("relTypeId", "INT64"));
+        queries.put("scanCiNodes", Map.of("partition", "INT64", "partitions", "INT64"));
+        queries.put("exportCiGraph", Map.of("partition", "INT64", "partitions", "INT64"));
+        queries.put("topCiNodesByDegree", Map.of("edgeType", "STRING", "k", "INT64"));
+        queries.put("ciDegreeHistogram", Map.of("edgeType", "STRING"));
+        queries.put("pageRelationships", Map.of("src", "VERTEX<CiNode>", "filterByType", "BOOL",
+                "relationTypeId", "INT64", "afterRelationTypeId", "INT64", "afterTargetId", "STRING",
+                "pageSize", "INT64"));
+        ObjectNode root = objectMapper.createObjectNode();
+        queries.forEach((query, params) -> {
+            ObjectNode parameters = root.putObject("GET /query/" + graphName + "/" + query).putObject("parameters");
+            parameters.putObject("query").put("type", "STRING");
+            params.forEach((param, type) -> parameters.putObject(param).put("type", type));
+        });
+        return root;
+    }
+
+    private boolean addEdge(String source, String target, JsonNode attributes, boolean vertexMustExist) {
+        return addEdge(source, target, attributes.path("relationTypeId").path("value").asLong(), vertexMustExist);
+    }
+
+    private boolean addEdge(String source, String target, long relationTypeId, boolean vertexMustExist) {
+        if (vertexMustExist && (!vertices.contains(source) || !vertices.contains(target))) {
+            return false;
+        }
+        vertices.add(source);
+        vertices.add(target);
+        // Upsert semantics: an existing edge is accepted again, not rejected
+        edges.computeIfAbsent(source, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(target, id -> ConcurrentHashMap.newKeySet())
+                .add(relationTypeId);
+        return true;
+    }
+
+    private ObjectNode vertex(String id) {
+        ObjectNode vertex = objectMapper.createObjectNode().put("v_id", id).put("v_type", VERTEX_TYPE);
+        vertex.putObject("attributes").put("id", id);
+        return vertex;
+    }
+
+    private ObjectNode accepted(int vertices, int edges) {
+        return results(objectMapper.createObjectNode()
+                .put("accepted_vertices", vertices)
+                .put("accepted_edges", edges));
+    }
+
+    private ObjectNode results(JsonNode result) {
+        ObjectNode root = ok();
+        ArrayNode results = root.putArray("results");
+        if (result.isArray()) {
+            results.addAll((ArrayNode) result);
+        } else {
+            results.add(result);
+        }
+        return root;
+    }
+
+    private ObjectNode ok() {
+        ObjectNode root = objectMapper.createObjectNode().put("error", false).put("message", "");
+        root.putObject("version").put("edition", "fake");
+        return root;
+    }
+
+    private ObjectNode error(String message) {
+        return objectMapper.createObjectNode().put("error", true).put("message", message);
+    }
+
+    private JsonNode readJson(HttpExchange exchange) throws IOException {
+        try (InputStream body = body(exchange)) {
+            byte[] bytes = body.readAllBytes();
+            return bytes.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(bytes);
+        }
+    }
+
+    // Consume the request before answering early so the client sees the status, not a reset
+    private static void drain(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+    }
+
+    private static InputStream body(HttpExchange exchange) throws IOException {
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        InputStream body = exchange.getRequestBody();
+        if ("gzip".equals(encoding)) {
+            return new GZIPInputStream(body);
+        }
+        return "deflate".equals(encoding) ? new InflaterInputStream(body) : body;
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+                }
+            }
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Server-side latency per request.
+     */
+    public interface LatencyModel {
+
+        long nextNanos(Random random);
+
+        static LatencyModel none() {
+            return random -> 0;
+        }
+
+        static LatencyModel fixedMillis(double millis) {
+            return random -> (long) (millis * 1_000_000);
+        }
+
+        static LatencyModel uniformMillis(double minMillis, double maxMillis) {
+            return random -> (long) ((minMillis + random.nextDouble() * (maxMillis - minMillis)) * 1_000_000);
+        }
+
+        /** Log-normal around {@code medianMillis}; sigma 0.5 gives a p99 of about 3x the median. */
+        static LatencyModel logNormalMillis(double medianMillis, double sigma) {
+            return random -> (long) (medianMillis * Math.exp(sigma * random.nextGaussian()) * 1_000_000);
+        }
+    }
+
+    public static class Builder {
+
+        private String graphName = "MyGraph";
+        private LatencyModel latency = LatencyModel.none();
+        private int maxConcurrentRequests;
+        private double errorRate;
+        private int failFirstWrites;
+        private Predicate<String> rejectedIds = id -> false;
+        private long seed = 42;
+        private int threads = 16;
+
+        public Builder graphName(String graphName) {
+            this.graphName = graphName;
+            return this;
+        }
+
+        public Builder latency(LatencyModel latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /** Requests beyond this many in flight are answered with 429. */
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /** Probability that a write request fails with 503. */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /** The first {@code count} write requests fail with 503. */
+        public Builder failFirstWrites(int count) {
+            this.failFirstWrites = count;
+            return this;
+        }
+
+        /** Upsert batches containing a matching id are rejected with 400, loading-job lines are rejected. */
+        public Builder rejectIds(Predicate<String> rejectedIds) {
+            this.rejectedIds = rejectedIds;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public FakeRestPlusServer start() throws IOException {
+            return new FakeRestPlusServer(this);
+        }
+    }
+}
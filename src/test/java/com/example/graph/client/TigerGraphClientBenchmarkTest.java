@@ -0,0 +1,87 @@
+package com.example.graph.client;
+
+import com.example.graph.config.TigerGraphConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.generator.DatasetGenerator;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import com.example.graph.service.impl.TigerGraphService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offline client-side benchmark: loads the same seeded dataset into a
+ * {@link FakeRestPlusServer} with log-normal latency and injected 503s, per ingest mode
+ * and batch size. Writes {@code target/benchmark-reports/tigergraph-client-ingest.md}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TigerGraphClientBenchmarkTest {
+
+    private static final Path REPORT = Path.of("target", "benchmark-reports", "tigergraph-client-ingest.md");
+    private static final long SEED = 42;
+    private static final int NODES = 20_000;
+    private static final int RELATIONSHIPS = 50_000;
+
+    @Test
+    void ingestThroughputByModeAndBatchSize() throws Exception {
+        StringBuilder report = new StringBuilder("# TigerGraph client ingest\n\n")
+                .append(String.format("%d nodes, %d relationships, log-normal latency (median 2 ms), 2%% injected 503s%n%n",
+                        NODES, RELATIONSHIPS))
+                .append("| Mode | Batch | Records/s | Committed | Retried | Failed |\n|---|---:|---:|---:|---:|---:|\n");
+        for (String mode : List.of("upsert", "loading-job")) {
+            for (int batchSize : List.of(500, 2000, 8000)) {
+                try (FakeRestPlusServer server = FakeRestPlusServer.builder()
+                        .latency(FakeRestPlusServer.LatencyModel.logNormalMillis(2, 0.5))
+                        .errorRate(0.02)
+                        .seed(SEED)
+                        .start()) {
+                    TigerGraphConfig config = server.clientConfig();
+                    ReflectionTestUtils.setField(config, "ingestMode", mode);
+                    TigerGraphService service = new TigerGraphService(
+                            new TigerGraphClient(config, new SimpleMeterRegistry()), config);
+
+                    long start = System.nanoTime();
+                    BatchWriteResult total = load(service, batchSize);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+
+                    report.append(String.format("| %s | %d | %.0f | %d | %d | %d |%n", mode, batchSize,
+                            total.getSucceeded() / seconds, total.getSucceeded(), total.getRetried(), total.getFailed()));
+                    assertThat(server.vertexCount()).isEqualTo(NODES);
+                }
+            }
+        }
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report.toString());
+    }
+
+    private static BatchWriteResult load(TigerGraphService service, int batchSize) {
+        DatasetGenerator generator = new DatasetGenerator(SEED, NODES, 10);
+        BatchWriteResult total = new BatchWriteResult();
+        for (int first = 0; first < NODES; first += batchSize) {
+            List<String> ids = new ArrayList<>(batchSize);
+            for (int i = first; i < Math.min(NODES, first + batchSize); i++) {
+                ids.add(DatasetGenerator.nodeId(i));
+            }
+            total.add(service.createNodesBatch(ids));
+        }
+        long[] edge = new long[3];
+        for (int first = 0; first < RELATIONSHIPS; first += batchSize) {
+            List<RelationshipBatch> batch = new ArrayList<>(batchSize);
+            for (int i = first; i < Math.min(RELATIONSHIPS, first + batchSize); i++) {
+                generator.edge(i, 0, edge);
+                batch.add(new RelationshipBatch(DatasetGenerator.nodeId(edge[0]), DatasetGenerator.nodeId(edge[1]), edge[2]));
+            }
+            total.add(service.createRelationshipsBatch(batch));
+        }
+        return total;
+    }
+}
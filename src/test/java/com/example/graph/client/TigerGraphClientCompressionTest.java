@@ -0,0 +1,62 @@
+package com.example.graph.client;
+
+import com.example.graph.config.TigerGraphConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TigerGraphClientCompressionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double bytes(String name, String direction) {
+        return registry.get(name).tag("direction", direction).functionCounter().count();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "deflate"})
+    void roundTripsCompressedBodiesAndCountsSavedBytes(String encoding) throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphConfig config = server.clientConfig();
+            ReflectionTestUtils.setField(config, "requestCompression", encoding);
+            ReflectionTestUtils.setField(config, "responseCompression", true);
+            TigerGraphClient client = new TigerGraphClient(config, registry);
+            List<String> ids = IntStream.range(0, 2000).mapToObj(i -> String.format("node-%012d", i)).toList();
+
+            assertThat(client.upsertVerticesBatch("CiNode", ids).getSucceeded()).isEqualTo(2000);
+            assertThat(client.getAllVertices("CiNode")).hasSize(2000);
+
+            // The server decoded every id, and the repetitive JSON shrank both ways
+            assertThat(server.vertexCount()).isEqualTo(2000);
+            for (String direction : List.of("request", "response")) {
+                assertThat(bytes("tigergraph.client.payload.bytes", direction)).isGreaterThan(2000 * 18);
+                assertThat(bytes("tigergraph.client.wire.bytes", direction))
+                        .isLessThan(bytes("tigergraph.client.payload.bytes", direction) / 4);
+                assertThat(bytes("tigergraph.client.saved.bytes", direction)).isEqualTo(
+                        bytes("tigergraph.client.payload.bytes", direction)
+                                - bytes("tigergraph.client.wire.bytes", direction));
+            }
+        }
+    }
+
+    @Test
+    void sendsIdentityBodiesWithoutSavings() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), registry);
+
+            client.upsertVerticesBatch("CiNode", List.of("a", "b", "c"));
+            client.getAllVertices("CiNode");
+
+            assertThat(bytes("tigergraph.client.saved.bytes", "request")).isZero();
+            assertThat(bytes("tigergraph.client.saved.bytes", "response")).isZero();
+            assertThat(bytes("tigergraph.client.wire.bytes", "request")).isPositive();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.graph.client;
+
+import com.example.graph.config.TigerGraphConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the loading-job ingest path against a local HTTP stand-in for REST++ and checks
+ * the request it receives, plain and compressed.
+ */
+class TigerGraphClientLoadingJobTest {
+
+    private HttpServer server;
+    private TigerGraphClient client;
+    private TigerGraphConfig config;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordedRequest> requests = new ArrayList<>();
+    private volatile String responseBody;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ddl", this::handle);
+        server.start();
+
+        config = new TigerGraphConfig();
+        ReflectionTestUtils.setField(config, "host", "localhost");
+        ReflectionTestUtils.setField(config, "restPort", server.getAddress().getPort());
+        ReflectionTestUtils.setField(config, "graphName", "MyGraph");
+        ReflectionTestUtils.setField(config, "retryMaxAttempts", 1);
+        ReflectionTestUtils.setField(config, "ingestMode", "loading-job");
+        ReflectionTestUtils.setField(config, "loadingJob", "load_ci_graph");
+        ReflectionTestUtils.setField(config, "loadingJobNodeFile", "node_file");
+        ReflectionTestUtils.setField(config, "loadingJobEdgeFile", "edge_file");
+        client = new TigerGraphClient(config, meterRegistry);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void streamsEdgesAsCsvToTheLoadingJob() throws Exception {
+        responseBody = statistics("edge", "RELATES_TO", 3);
+
+        BatchWriteResult result = client.loadEdgesCsv("RELATES_TO", List.of(
+                new RelationshipBatch("node-000000000001", "node-000000000002", 3L),
+                new RelationshipBatch("node-000000000002", "node-000000000003", 10L),
+                new RelationshipBatch("node-ä", "node-000000000001", -1L)));
+
+        assertThat(requests).hasSize(1);
+        RecordedRequest request = requests.get(0);
+        assertThat(request.method).isEqualTo("POST");
+        assertThat(request.path).isEqualTo("/ddl/MyGraph");
+        assertThat(URLDecoder.decode(request.query, StandardCharsets.UTF_8))
+                .isEqualTo("tag=load_ci_graph&filename=edge_file&sep=,&eol=\n");
+        assertThat(request.contentType).isEqualTo("text/csv");
+        // No Content-Length up front: the body is streamed, not built in memory
+        assertThat(request.transferEncoding).isEqualToIgnoringCase("chunked");
+        assertThat(request.body).isEqualTo(
+                "node-000000000001,node-000000000002,3\n"
+                        + "node-000000000002,node-000000000003,10\n"
+                        + "node-ä,node-000000000001,-1\n");
+        assertThat(result.getAttempted()).isEqualTo(3);
+        assertThat(result.getSucceeded()).isEqualTo(3);
+        assertThat(result.getFailed()).isZero();
+    }
+
+    @Test
+    void countsRejectedLinesAsFailed() throws Exception {
+        responseBody = statistics("vertex", "CiNode", 1);
+
+        BatchWriteResult result = client.loadVerticesCsv("CiNode", List.of("node-a", "node-b"));
+
+        assertThat(requests.get(0).query).contains("filename=node_file");
+        assertThat(requests.get(0).body).isEqualTo("node-a\nnode-b\n");
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void compressesRequestAndDecodesCompressedResponse() throws Exception {
+        ReflectionTestUtils.setField(config, "requestCompression", "gzip");
+        ReflectionTestUtils.setField(config, "compressionLevel", 6);
+        ReflectionTestUtils.setField(config, "responseCompression", true);
+        responseBody = statistics("vertex", "CiNode", 500);
+        List<String> ids = IntStream.range(0, 500).mapToObj(i -> String.format("node-%012d", i)).toList();
+
+        BatchWriteResult result = client.loadVerticesCsv("CiNode", ids);
+
+        RecordedRequest request = requests.get(0);
+        assertThat(request.contentEncoding).isEqualTo("gzip");
+        assertThat(request.acceptEncoding).contains("gzip");
+        assertThat(request.body).isEqualTo(String.join("\n", ids) + "\n");
+        assertThat(result.getSucceeded()).isEqualTo(500);
+        assertThat(counter("tigergraph.client.payload.bytes", "request")).isEqualTo(request.body.length());
+        assertThat(counter("tigergraph.client.saved.bytes", "request")).isGreaterThan(0);
+        assertThat(counter("tigergraph.client.saved.bytes", "response")).isGreaterThan(0);
+    }
+
+    private double counter(String name, String direction) {
+        return meterRegistry.get(name).tag("direction", direction).functionCounter().count();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            body = new GZIPInputStream(body);
+        }
+        requests.add(new RecordedRequest(
+                exchange.getRequestMethod(),
+                exchange.getRequestURI().getPath(),
+                exchange.getRequestURI().getRawQuery(),
+                exchange.getRequestHeaders().getFirst("Content-Type"),
+                exchange.getRequestHeaders().getFirst("Transfer-Encoding"),
+                exchange.getRequestHeaders().getFirst("Content-Encoding"),
+                exchange.getRequestHeaders().getFirst("Accept-Encoding"),
+                new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+        byte[] response = responseBody.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            // Pad the response so it is large enough to actually shrink
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(response);
+                gzip.write(" ".repeat(4096).getBytes(StandardCharsets.UTF_8));
+            }
+            response = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, response.length);
+        exchange.getResponseBody().write(response);
+        exchange.close();
+    }
+
+    private static String statistics(String kind, String typeName, int validObjects) {
+        return "{\"version\":{\"edition\":\"enterprise\"},\"error\":false,\"message\":\"\",\"results\":[{"
+                + "\"sourceFileName\":\"Online_POST\",\"statistics\":{\"validLine\":" + validObjects + ","
+                + "\"rejectLine\":0,\"" + kind + "\":[{\"typeName\":\"" + typeName + "\","
+                + "\"validObject\":" + validObjects + ",\"noIdFound\":0,\"invalidAttribute\":0}]}}]}";
+    }
+
+    private record RecordedRequest(String method, String path, String query, String contentType,
+                                   String transferEncoding, String contentEncoding, String acceptEncoding,
+                                   String body) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.graph.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TigerGraphClientPhaseTimingTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double millis(String operation, String phase) {
+        Timer timer = registry.find("tigergraph.client.phase").tag("operation", operation).tag("phase", phase).timer();
+        return timer == null ? 0 : timer.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void attributesServerLatencyToFirstByteAndCountsBytes() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder()
+                .latency(FakeRestPlusServer.LatencyModel.fixedMillis(50))
+                .start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), registry);
+            List<String> ids = IntStream.range(0, 2000).mapToObj(i -> "node-" + i).toList();
+
+            client.upsertVerticesBatch("CiNode", ids);
+            client.countVertices("CiNode");
+
+            assertThat(millis("upsertVerticesBatch", "first-byte")).isGreaterThanOrEqualTo(50);
+            assertThat(millis("upsertVerticesBatch", "build")).isGreaterThan(0);
+            assertThat(millis("upsertVerticesBatch", "serialize")).isGreaterThan(0);
+            assertThat(millis("upsertVerticesBatch", "parse")).isGreaterThan(0);
+            double phases = List.of("build", "serialize", "send", "first-byte", "body-read", "parse").stream()
+                    .mapToDouble(phase -> millis("upsertVerticesBatch", phase))
+                    .sum();
+            assertThat(phases).isLessThanOrEqualTo(millis("upsertVerticesBatch", "total"));
+
+            // A GET has no body to send, so the wait for the server starts right away
+            assertThat(millis("countVertices", "send")).isZero();
+            assertThat(millis("countVertices", "first-byte")).isGreaterThanOrEqualTo(50);
+
+            assertThat(registry.get("tigergraph.client.call.bytes")
+                    .tag("operation", "upsertVerticesBatch").tag("direction", "request")
+                    .summary().totalAmount()).isGreaterThan(2000 * 10);
+            assertThat(registry.get("tigergraph.client.call.bytes")
+                    .tag("operation", "countVertices").tag("direction", "response")
+                    .summary().totalAmount()).isGreaterThan(0);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.graph.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Partitioned vertex scans of {@link TigerGraphClient#scanVertices}.
+ */
+class TigerGraphClientScanTest {
+
+    private static List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("node-%012d", i)).toList();
+    }
+
+    @Test
+    void mergesEveryPartitionExactlyOnceWithinTheInFlightLimit() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder()
+                .latency(FakeRestPlusServer.LatencyModel.fixedMillis(20))
+                .start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry());
+            client.upsertVerticesBatch("CiNode", ids(1000));
+            Queue<String> scanned = new ConcurrentLinkedQueue<>();
+
+            long count = client.scanVertices("scanCiNodes", 16, 3,
+                    vertex -> scanned.add(vertex.path("v_id").asText()));
+
+            assertThat(count).isEqualTo(1000);
+            assertThat(scanned).hasSize(1000).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(ids(1000));
+            assertThat(server.getMaxInFlight()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void emptyPartitionsContributeNothing() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry());
+            client.upsertVerticesBatch("CiNode", ids(3));
+            Queue<JsonNode> scanned = new ConcurrentLinkedQueue<>();
+
+            assertThat(client.scanVertices("scanCiNodes", 32, 8, scanned::add)).isEqualTo(3);
+            assertThat(scanned).hasSize(3);
+        }
+    }
+
+    @Test
+    void aFailedPartitionFailsTheScan() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry());
+
+            assertThatThrownBy(() -> client.scanVertices("notInstalled", 4, 2, vertex -> { }))
+                    .hasMessageContaining("Failed to scan partition");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.graph.client;
+
+import com.example.graph.config.TigerGraphConfig;
+import com.example.graph.dto.BatchWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Retry, split and accepted-count accounting of {@link TigerGraphClient} batch upserts.
+ */
+class TigerGraphClientWriteBatchTest {
+
+    private static List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("node-%03d", i)).toList();
+    }
+
+    @Test
+    void retriesA503ThenSplitsDownToThePoisonedRecord() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder()
+                .failFirstWrites(1)
+                .rejectIds(id -> id.equals("node-005"))
+                .start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry());
+
+            BatchWriteResult result = client.upsertVerticesBatch("CiNode", ids(16));
+
+            assertThat(result.getAttempted()).isEqualTo(16);
+            assertThat(result.getSucceeded()).isEqualTo(15);
+            assertThat(result.getFailed()).isEqualTo(1);
+            // 16 resent after the 503, then halves of 16, 8 (0-7), 4 (4-7) and 2 (4-5) resent after each 400
+            assertThat(result.getRetried()).isEqualTo(16 + 16 + 8 + 4 + 2);
+            assertThat(server.getInjectedErrors()).isEqualTo(1);
+            // Every batch holding node-005 down to the record alone
+            assertThat(server.getRejected()).isEqualTo(5);
+            assertThat(server.vertexCount()).isEqualTo(15);
+        }
+    }
+
+    @Test
+    void failsTheBatchOnceTransientRetriesAreExhausted() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().failFirstWrites(10).start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry());
+
+            assertThatThrownBy(() -> client.upsertVerticesBatch("CiNode", ids(8)))
+                    .hasMessageContaining("after 4 attempts");
+            assertThat(server.getInjectedErrors()).isEqualTo(4);
+            assertThat(server.vertexCount()).isZero();
+        }
+    }
+
+    @Test
+    void retriesThrottledRequestsUntilEveryBatchIsAccepted() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder()
+                .maxConcurrentRequests(1)
+                .latency(FakeRestPlusServer.LatencyModel.fixedMillis(20))
+                .start()) {
+            TigerGraphConfig config = server.clientConfig();
+            ReflectionTestUtils.setField(config, "retryMaxAttempts", 50);
+            TigerGraphClient client = new TigerGraphClient(config, new SimpleMeterRegistry());
+            List<CompletableFuture<BatchWriteResult>> writes = new ArrayList<>();
+            for (int writer = 0; writer < 4; writer++) {
+                List<String> batch = ids(400).subList(writer * 100, writer * 100 + 100);
+                writes.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return client.upsertVerticesBatch("CiNode", batch);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+
+            long succeeded = 0;
+            long retried = 0;
+            for (CompletableFuture<BatchWriteResult> write : writes) {
+                succeeded += write.join().getSucceeded();
+                retried += write.join().getRetried();
+            }
+            assertThat(succeeded).isEqualTo(400);
+            assertThat(server.getThrottled()).isPositive();
+            assertThat(retried).isEqualTo(server.getThrottled() * 100);
+            assertThat(server.vertexCount()).isEqualTo(400);
+        }
+    }
+
+    @Test
+    void countsEdgesTheServerDidNotAcceptAsFailed() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphClient client = new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry());
+            client.upsertVerticesBatch("CiNode", ids(3));
+
+            BatchWriteResult result = client.upsertEdgesBatch("CiNode", "RELATES_TO", "CiNode", List.of(
+                    Map.of("sourceId", "node-000", "targetId", "node-001", "relationTypeId", 1L),
+                    Map.of("sourceId", "node-001", "targetId", "node-002", "relationTypeId", 1L),
+                    Map.of("sourceId", "node-002", "targetId", "node-missing", "relationTypeId", 1L)));
+
+            assertThat(result.getSucceeded()).isEqualTo(2);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getRetried()).isZero();
+            assertThat(server.edgeCount()).isEqualTo(2);
+        }
+    }
+}
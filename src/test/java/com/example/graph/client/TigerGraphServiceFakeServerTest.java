@@ -0,0 +1,164 @@
+package com.example.graph.client;
+
+import com.example.graph.config.TigerGraphConfig;
+import com.example.graph.domain.CiNode;
+import com.example.graph.domain.CiRelationship;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.NodeDegree;
+import com.example.graph.dto.RelationshipPage;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import com.example.graph.service.impl.TigerGraphService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * End-to-end TigerGraph client and service behaviour against {@link FakeRestPlusServer}.
+ */
+class TigerGraphServiceFakeServerTest {
+
+    private static TigerGraphService service(TigerGraphConfig config) {
+        return new TigerGraphService(new TigerGraphClient(config, new SimpleMeterRegistry()), config);
+    }
+
+    private static List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("node-%012d", i)).toList();
+    }
+
+    @Test
+    void writesAndReadsBackThroughUpsertsAndLoadingJob() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphConfig config = server.clientConfig();
+            TigerGraphService service = service(config);
+
+            assertThat(service.createNodesBatch(ids(50)).getSucceeded()).isEqualTo(50);
+            BatchWriteResult edges = service.createRelationshipsBatch(List.of(
+                    new RelationshipBatch("node-000000000001", "node-000000000002", 1L),
+                    // Parallel edge with another relation type
+                    new RelationshipBatch("node-000000000001", "node-000000000002", 2L),
+                    new RelationshipBatch("node-000000000003", "node-missing", 1L)));
+            assertThat(edges.getSucceeded()).isEqualTo(2);
+            assertThat(edges.getFailed()).isEqualTo(1);
+
+            ReflectionTestUtils.setField(config, "ingestMode", "loading-job");
+            assertThat(service.createNodesBatch(List.of("node-000000000050")).getSucceeded()).isEqualTo(1);
+            assertThat(service.createRelationshipsBatch(List.of(
+                    new RelationshipBatch("node-000000000050", "node-000000000001", 3L))).getSucceeded()).isEqualTo(1);
+
+            assertThat(service.countNodes()).isEqualTo(51);
+            assertThat(service.countRelationships()).isEqualTo(3);
+            assertThat(service.getNode("node-000000000007")).map(CiNode::getId).contains("node-000000000007");
+            assertThat(service.getNode("node-missing")).isEmpty();
+            List<CiNode> byType = service.getNodesByRelationTypeId(1L);
+            assertThat(byType).extracting(CiNode::getId).containsExactly("node-000000000001");
+            assertThat(byType.get(0).getOutgoingRelations())
+                    .extracting(relationship -> relationship.getTarget().getId(), CiRelationship::getRelationTypeId)
+                    .containsExactly(tuple("node-000000000002", 1L));
+
+            BatchWriteResult deleted = service.deleteNodesBatch(
+                    List.of("node-000000000001", "node-000000000001", "node-missing"));
+            assertThat(deleted.getSucceeded()).isEqualTo(1);
+            assertThat(deleted.getSkipped()).isEqualTo(1);
+            assertThat(deleted.getFailed()).isEqualTo(1);
+            // Every edge touched node 1
+            assertThat(service.countNodes()).isEqualTo(50);
+            assertThat(service.countRelationships()).isZero();
+        }
+    }
+
+    @Test
+    void retriesTransientFailuresAndCountsRetries() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().failFirstWrites(2).start()) {
+            BatchWriteResult result = service(server.clientConfig()).createNodesBatch(ids(10));
+
+            assertThat(result.getSucceeded()).isEqualTo(10);
+            assertThat(result.getRetried()).isEqualTo(20);
+            assertThat(server.getInjectedErrors()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void isolatesRejectedRecordsBySplittingTheBatch() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder()
+                .rejectIds(id -> id.equals("node-000000000005"))
+                .start()) {
+            BatchWriteResult result = service(server.clientConfig()).createNodesBatch(ids(16));
+
+            assertThat(result.getSucceeded()).isEqualTo(15);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(server.vertexCount()).isEqualTo(15);
+        }
+    }
+
+    @Test
+    void pagesThroughAHubInKeysetOrder() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphService service = service(server.clientConfig());
+            service.createNodesBatch(ids(101));
+            List<RelationshipBatch> edges = new ArrayList<>();
+            for (int i = 1; i <= 100; i++) {
+                edges.add(new RelationshipBatch("node-000000000000", ids(101).get(i), (long) (i % 3)));
+            }
+            service.createRelationshipsBatch(edges);
+
+            List<RelationshipPage.Entry> all = new ArrayList<>();
+            String cursor = null;
+            do {
+                RelationshipPage page = service.getRelationships("node-000000000000", null, cursor, 30);
+                assertThat(page.getRelationships()).hasSizeLessThanOrEqualTo(30);
+                all.addAll(page.getRelationships());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(all).hasSize(100);
+            assertThat(all).isSortedAccordingTo((a, b) -> a.getRelationTypeId() != b.getRelationTypeId()
+                    ? Long.compare(a.getRelationTypeId(), b.getRelationTypeId())
+                    : a.getTargetId().compareTo(b.getTargetId()));
+            assertThat(service.getRelationships("node-000000000000", 1L, null, 1000).getRelationships())
+                    .hasSize(34)
+                    .allMatch(entry -> entry.getRelationTypeId() == 1L);
+        }
+    }
+
+    @Test
+    void aggregatesDegreesAndRelationTypesInTheDatabase() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphService service = service(server.clientConfig());
+            service.createNodesBatch(List.of("hub", "a", "b", "c"));
+            service.createRelationshipsBatch(List.of(new RelationshipBatch("hub", "a", 1L),
+                    new RelationshipBatch("hub", "b", 1L), new RelationshipBatch("hub", "c", 2L),
+                    new RelationshipBatch("a", "b", 2L), new RelationshipBatch("c", "b", 7L)));
+
+            assertThat(service.countRelationshipsByType()).containsExactly(entry(1L, 2L), entry(2L, 2L), entry(7L, 1L));
+            assertThat(service.topNodesByDegree(false, 2))
+                    .containsExactly(new NodeDegree("hub", 3), new NodeDegree("a", 1));
+            assertThat(service.topNodesByDegree(true, 1)).containsExactly(new NodeDegree("b", 3));
+            assertThat(service.degreeHistogram(false)).containsExactly(entry(0L, 1L), entry(1L, 2L), entry(3L, 1L));
+            assertThat(service.degreeHistogram(true)).containsExactly(entry(0L, 1L), entry(1L, 2L), entry(3L, 1L));
+        }
+    }
+
+    @Test
+    void partitionedScanStaysWithinTheInFlightLimit() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder()
+                .latency(FakeRestPlusServer.LatencyModel.fixedMillis(20))
+                .start()) {
+            TigerGraphConfig config = server.clientConfig();
+            ReflectionTestUtils.setField(config, "scanPartitions", 16);
+            ReflectionTestUtils.setField(config, "scanMaxInFlight", 3);
+            TigerGraphService service = service(config);
+            service.createNodesBatch(ids(1000));
+
+            assertThat(service.getAllNodes()).hasSize(1000);
+            assertThat(server.getMaxInFlight()).isEqualTo(3);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.graph.controller;
+
+import com.example.graph.benchmark.BenchmarkHistoryStore;
+import com.example.graph.config.IngestConfig;
+import com.example.graph.ingest.BulkLoader;
+import com.example.graph.service.GraphService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BulkInsertController.class)
+@Import({BulkLoader.class, IngestConfig.class})
+class BulkInsertControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GraphService graphService;
+
+    @MockBean
+    private BenchmarkHistoryStore historyStore;
+
+    @Test
+    void rejectsAnUnknownTopologyBeforeClearingOrReadingAnything() throws Exception {
+        mockMvc.perform(post("/api/bulk/insert-large-dataset").param("topology", "rmta"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.additionalInfo").value(containsString("Unknown topology")));
+        mockMvc.perform(post("/api/bulk/insert-large-dataset").param("relationTypeSkew", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/bulk/insert-relationships-only").param("topology", "rmta"))
+                .andExpect(status().isBadRequest());
+
+        verify(graphService, never()).deleteAllNodes();
+        verify(graphService, never()).countNodes();
+        verify(graphService, never()).getAllNodes();
+    }
+
+    @Test
+    void rejectsASeededRelationshipLoadOverNodesWithoutIndexDerivedIds() throws Exception {
+        when(graphService.countNodes()).thenReturn(100L);
+        when(graphService.getNode(anyString())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/bulk/insert-relationships-only").param("seed", "42"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.additionalInfo").value(containsString("seeded insert")));
+
+        verify(graphService, never()).createRelationshipsBatch(anyList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.graph.controller;
+
+import com.example.graph.config.WireFormatConfig;
+import com.example.graph.config.WorkloadConfig;
+import com.example.graph.domain.CiNode;
+import com.example.graph.domain.CiRelationship;
+import com.example.graph.dto.CreateNodeRequest;
+import com.example.graph.ingest.MutationStreamProcessor;
+import com.example.graph.service.GraphService;
+import com.example.graph.workload.WorkloadCapture;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(GraphController.class)
+@Import({WireFormatConfig.class, WorkloadCapture.class, WorkloadConfig.class})
+class GraphControllerWireFormatTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper smile = new SmileMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GraphService graphService;
+
+    @MockBean
+    private MutationStreamProcessor mutationStreamProcessor;
+
+    @Test
+    void negotiatesSmileForRequestsAndResponses() throws Exception {
+        CiNode target = CiNode.builder().id("b").build();
+        when(graphService.getNodesByRelationTypeId(3L)).thenReturn(List.of(CiNode.builder().id("a")
+                .outgoingRelations(Set.of(CiRelationship.builder().relationTypeId(3L).target(target).build()))
+                .build()));
+        when(graphService.createNode("c")).thenReturn(CiNode.builder().id("c").build());
+
+        MvcResult read = mockMvc.perform(get("/api/graph/nodes/by-relation-type/3").accept(SMILE))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(read.getResponse().getContentType()).startsWith(SMILE.toString());
+        List<CiNode> nodes = smile.readValue(read.getResponse().getContentAsByteArray(), new TypeReference<>() {
+        });
+        assertThat(nodes).singleElement().satisfies(node -> assertThat(node.getOutgoingRelations())
+                .extracting(CiRelationship::getRelationTypeId).containsExactly(3L));
+
+        MvcResult created = mockMvc.perform(post("/api/graph/nodes")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smile.writeValueAsBytes(new CreateNodeRequest("c"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        verify(graphService).createNode("c");
+        assertThat(smile.readValue(created.getResponse().getContentAsByteArray(), CiNode.class).getId()).isEqualTo("c");
+
+        // JSON stays the default
+        assertThat(mockMvc.perform(get("/api/graph/nodes/by-relation-type/3")).andReturn()
+                .getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+}
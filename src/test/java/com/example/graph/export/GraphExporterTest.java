@@ -0,0 +1,134 @@
+package com.example.graph.export;
+
+import com.example.graph.client.FakeRestPlusServer;
+import com.example.graph.client.TigerGraphClient;
+import com.example.graph.config.ExportConfig;
+import com.example.graph.dto.ExportReport;
+import com.example.graph.dto.ExportedNode;
+import com.example.graph.service.GraphService;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import com.example.graph.service.impl.TigerGraphService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class GraphExporterTest {
+
+    private static final int NODES = 300;
+
+    @TempDir
+    Path tempDir;
+
+    private GraphExporter exporter() {
+        ExportConfig config = new ExportConfig();
+        ReflectionTestUtils.setField(config, "directory", tempDir.toString());
+        ReflectionTestUtils.setField(config, "chunkSize", 40);
+        ReflectionTestUtils.setField(config, "format", "ndjson");
+        ReflectionTestUtils.setField(config, "compression", "gzip");
+        return new GraphExporter(config, new ObjectMapper());
+    }
+
+    private static TigerGraphService seed(FakeRestPlusServer server) {
+        TigerGraphService service = new TigerGraphService(
+                new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry()), server.clientConfig());
+        List<String> ids = new ArrayList<>();
+        List<RelationshipBatch> edges = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            ids.add("node-" + i);
+            edges.add(new RelationshipBatch("node-" + i, "node-" + (i + 1) % NODES, (long) i % 3));
+        }
+        edges.add(new RelationshipBatch("node-0", "node-7", 9L));
+        service.createNodesBatch(ids);
+        service.createRelationshipsBatch(edges);
+        return service;
+    }
+
+    private static List<String> lines(String file, boolean gzip) throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(Files.newInputStream(Path.of(file)))
+                : Files.newInputStream(Path.of(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    @Test
+    void streamsNodesAndRelationshipsAsCompressedNdjson() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            ExportReport report = exporter().export(seed(server), "full", null, null, null, false);
+
+            assertThat(report.isComplete()).isTrue();
+            assertThat(report.getChunks()).isEqualTo((NODES + 39) / 40);
+            assertThat(report.getNodes()).isEqualTo(NODES);
+            assertThat(report.getRelationships()).isEqualTo(NODES + 1);
+            assertThat(report.getNodesFile()).endsWith("full.nodes.ndjson.gz");
+            assertThat(report.getBytesWritten()).isPositive().isLessThan(report.getUncompressedBytes());
+            assertThat(report.getBytesPerSecond()).isPositive();
+            assertThat(lines(report.getNodesFile(), true)).hasSize(NODES).doesNotHaveDuplicates()
+                    .contains("{\"id\":\"node-42\"}");
+            assertThat(lines(report.getRelationshipsFile(), true)).hasSize(NODES + 1)
+                    .contains("{\"sourceId\":\"node-0\",\"targetId\":\"node-7\",\"relationTypeId\":9}");
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resumesAnInterruptedExportFromTheLastCheckpoint() throws Exception {
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphService service = seed(server);
+            GraphExporter exporter = exporter();
+            // The third chunk dies halfway through, after part of it reached the files
+            GraphService failing = spy(service);
+            AtomicInteger chunks = new AtomicInteger();
+            doAnswer(invocation -> {
+                if (chunks.incrementAndGet() < 3) {
+                    return invocation.callRealMethod();
+                }
+                Consumer<ExportedNode> sink = invocation.getArgument(2);
+                AtomicInteger written = new AtomicInteger();
+                return service.exportChunk(invocation.getArgument(0), invocation.getArgument(1), node -> {
+                    if (written.incrementAndGet() > 5) {
+                        throw new IllegalStateException("connection reset");
+                    }
+                    sink.accept(node);
+                });
+            }).when(failing).exportChunk(any(), anyInt(), any(Consumer.class));
+
+            assertThatThrownBy(() -> exporter.export(failing, "backup", "csv", "gzip", 40, false))
+                    .hasMessageContaining("Failed to export graph");
+
+            ExportReport report = exporter.export(service, "backup", null, null, null, true);
+
+            assertThat(report.isResumed()).isTrue();
+            assertThat(report.getFormat()).isEqualTo("csv");
+            assertThat(report.getNodes()).isEqualTo(NODES);
+            List<String> nodes = lines(report.getNodesFile(), true);
+            assertThat(nodes.get(0)).isEqualTo("id");
+            assertThat(nodes.subList(1, nodes.size())).hasSize(NODES).doesNotHaveDuplicates();
+            List<String> relationships = lines(report.getRelationshipsFile(), true);
+            assertThat(relationships.get(0)).isEqualTo("sourceId,targetId,relationTypeId");
+            assertThat(relationships.subList(1, relationships.size())).hasSize(NODES + 1).doesNotHaveDuplicates()
+                    .contains("node-0,node-7,9");
+            assertThatThrownBy(() -> exporter.export(service, "backup", "xml", null, null, false))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
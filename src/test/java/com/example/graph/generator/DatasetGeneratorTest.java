@@ -0,0 +1,125 @@
+package com.example.graph.generator;
+
+import com.example.graph.config.IngestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetGeneratorTest {
+
+    private static DatasetGenerator generator(long seed) {
+        return new DatasetGenerator(seed, 1_000, GraphTopologies.create("rmat", 1_000, 10_000),
+                new RelationTypeDistribution(10, 1.2));
+    }
+
+    private static long[] edge(DatasetGenerator generator, long edgeIndex, int attempt) {
+        long[] out = new long[3];
+        generator.edge(edgeIndex, attempt, out);
+        return out;
+    }
+
+    @Test
+    void sameSeedGivesTheSameEdgesWhateverTheBlockBoundaries() {
+        DatasetGenerator first = generator(42);
+        DatasetGenerator second = generator(42);
+        EdgeBlock whole = new EdgeBlock(10_000);
+        EdgeBlock tail = new EdgeBlock(10_000);
+
+        first.fill(0, 10_000, whole);
+        second.fill(7_000, 3_000, tail);
+
+        for (int i = 0; i < 3_000; i++) {
+            assertThat(new long[]{tail.source(i), tail.target(i), tail.relationTypeId(i)})
+                    .containsExactly(whole.source(7_000 + i), whole.target(7_000 + i), whole.relationTypeId(7_000 + i));
+        }
+        assertThat(edge(first, 123, 5)).containsExactly(edge(second, 123, 5));
+        assertThat(edge(first, 123, 0)).containsExactly(whole.source(123), whole.target(123), whole.relationTypeId(123));
+    }
+
+    @Test
+    void seedsAndAttemptsGiveIndependentDraws() {
+        DatasetGenerator generator = generator(42);
+        DatasetGenerator other = generator(43);
+        int sameAsOtherSeed = 0;
+        int sameAsLastAttempt = 0;
+        for (long edgeIndex = 0; edgeIndex < 1_000; edgeIndex++) {
+            long[] first = edge(generator, edgeIndex, 0);
+            sameAsOtherSeed += first[0] == edge(other, edgeIndex, 0)[0] ? 1 : 0;
+            long[] resampled = edge(generator, edgeIndex, DatasetGenerator.MAX_ATTEMPTS_PER_EDGE - 1);
+            sameAsLastAttempt += first[0] == resampled[0] && first[1] == resampled[1] ? 1 : 0;
+        }
+
+        assertThat(sameAsOtherSeed).isLessThan(200);
+        assertThat(sameAsLastAttempt).isLessThan(100);
+        assertThatThrownBy(() -> edge(generator, 0, DatasetGenerator.MAX_ATTEMPTS_PER_EDGE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void skewedTopologiesConcentrateEdgesOnHubs() {
+        assertThat(maxInDegree("uniform")).isLessThan(30);
+        assertThat(maxInDegree("rmat")).isGreaterThan(300);
+        assertThat(maxInDegree("preferential-attachment")).isGreaterThan(300);
+        // Shared services in the top two tree levels take every non-tree edge
+        DatasetGenerator tree = new DatasetGenerator(42, 1_000, GraphTopologies.create("service-tree", 1_000, 10_000),
+                new RelationTypeDistribution(10, 0));
+        long[] out = new long[3];
+        for (long edgeIndex = 999; edgeIndex < 10_000; edgeIndex++) {
+            tree.edge(edgeIndex, 0, out);
+            assertThat(out[1]).isLessThan(1 + 8 + 64);
+        }
+    }
+
+    @Test
+    void relationTypesFollowTheZipfSkew() {
+        long[] skewed = typeCounts(1.2);
+        long[] uniform = typeCounts(0);
+
+        // Weight 1/k^1.2 over ten types puts about 41% of the edges on type 1 and 18% on type 2
+        assertThat(skewed[1]).isBetween(38_000L, 46_000L);
+        assertThat(skewed[2]).isBetween(16_000L, 20_000L);
+        for (int type = 2; type <= 10; type++) {
+            assertThat(skewed[type]).isLessThan(skewed[type - 1]);
+            assertThat(uniform[type]).isBetween(9_000L, 11_000L);
+        }
+    }
+
+    @Test
+    void rejectsMoreResampleAttemptsThanTheGeneratorCanDraw() {
+        IngestConfig config = new IngestConfig();
+        ReflectionTestUtils.setField(config, "maxResampleAttempts", DatasetGenerator.MAX_ATTEMPTS_PER_EDGE - 1);
+        ReflectionTestUtils.invokeMethod(config, "validate");
+
+        ReflectionTestUtils.setField(config, "maxResampleAttempts", DatasetGenerator.MAX_ATTEMPTS_PER_EDGE);
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(config, "validate"))
+                .hasMessageContaining("max-resample-attempts");
+    }
+
+    private static long maxInDegree(String topology) {
+        DatasetGenerator generator = new DatasetGenerator(42, 1_000, GraphTopologies.create(topology, 1_000, 10_000),
+                new RelationTypeDistribution(10, 0));
+        EdgeBlock block = new EdgeBlock(10_000);
+        generator.fill(0, 10_000, block);
+        long[] inDegree = new long[1_000];
+        for (int i = 0; i < block.size(); i++) {
+            inDegree[(int) block.target(i)]++;
+        }
+        return Arrays.stream(inDegree).max().orElse(0);
+    }
+
+    private static long[] typeCounts(double skew) {
+        DatasetGenerator generator = new DatasetGenerator(7, 1_000, new UniformTopology(),
+                new RelationTypeDistribution(10, skew));
+        EdgeBlock block = new EdgeBlock(100_000);
+        generator.fill(0, 100_000, block);
+        long[] counts = new long[11];
+        for (int i = 0; i < block.size(); i++) {
+            counts[(int) block.relationTypeId(i)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.IngestConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.service.GraphService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BulkLoaderTest {
+
+    private final GraphService target = mock(GraphService.class);
+
+    private BulkLoader bulkLoader() {
+        IngestConfig config = new IngestConfig();
+        ReflectionTestUtils.setField(config, "maxConsecutiveFailures", 3);
+        return new BulkLoader(config);
+    }
+
+    @Test
+    void retriesATransientFailureAtAFixedBatchSize() {
+        when(target.createNodesBatch(anyList()))
+                .thenThrow(new RuntimeException("timeout"))
+                .thenAnswer(invocation -> BatchWriteResult.succeeded(invocation.<List<String>>getArgument(0).size()));
+        BulkLoader bulkLoader = bulkLoader();
+        BackendTimings timings = new BackendTimings();
+
+        bulkLoader.createNodesBatched(target, bulkLoader.newGenerator(7, 1000, 0, "uniform", 1.0), timings,
+                AdaptiveBatchSizer.fixed(500));
+
+        verify(target, times(3)).createNodesBatch(anyList());
+        assertThat(timings.getWrites(target).getSucceeded()).isEqualTo(1000);
+        assertThat(timings.getWrites(target).getRetried()).isEqualTo(500);
+    }
+
+    @Test
+    void rejectedRecordsShrinkTheBatchInsteadOfGrowingIt() {
+        when(target.createNodesBatch(anyList())).thenAnswer(invocation -> {
+            int size = invocation.<List<String>>getArgument(0).size();
+            return BatchWriteResult.builder().attempted(size).succeeded(size - 1).failed(1).build();
+        });
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(true, 400, 50, 1000, 100);
+        BulkLoader bulkLoader = bulkLoader();
+
+        bulkLoader.createNodesBatched(target, bulkLoader.newGenerator(7, 400, 0, "uniform", 1.0),
+                new BackendTimings(), sizer);
+
+        assertThat(sizer.nextSize()).isEqualTo(200);
+        verify(target, times(1)).createNodesBatch(anyList());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.graph.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConflictFreeSchedulerTest {
+
+    private record Edge(String source, String target) {
+    }
+
+    @Test
+    void schedulesEveryEdgeOnceWithoutSharedNodesInARound() {
+        Random random = new Random(7);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            edges.add(new Edge("n" + random.nextInt(500), "n" + random.nextInt(500)));
+        }
+
+        List<List<List<Edge>>> rounds = ConflictFreeScheduler.schedule(edges, Edge::source, Edge::target, 7);
+
+        // 8 buckets: one round inside buckets, then 7 rounds of 4 disjoint bucket pairs
+        assertThat(rounds).hasSize(8);
+        List<Edge> scheduled = new ArrayList<>();
+        for (List<List<Edge>> round : rounds) {
+            assertThat(round.size()).isLessThanOrEqualTo(8);
+            Set<String> claimed = new HashSet<>();
+            for (List<Edge> group : round) {
+                Set<String> nodes = new HashSet<>();
+                group.forEach(edge -> {
+                    nodes.add(edge.source());
+                    nodes.add(edge.target());
+                });
+                nodes.forEach(node -> assertThat(claimed.add(node)).isTrue());
+                scheduled.addAll(group);
+            }
+        }
+        assertThat(scheduled).containsExactlyInAnyOrderElementsOf(edges);
+    }
+}
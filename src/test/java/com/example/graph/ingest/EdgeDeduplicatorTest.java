@@ -0,0 +1,56 @@
+package com.example.graph.ingest;
+
+import com.example.graph.util.LongHashSet;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EdgeDeduplicatorTest {
+
+    @Test
+    void dropsDuplicatesAndSelfLoopsPerRelationType() {
+        EdgeDeduplicator deduplicator = new EdgeDeduplicator(true);
+
+        assertThat(deduplicator.accept("a", "b", 1L)).isTrue();
+        assertThat(deduplicator.accept("a", "b", 1L)).isFalse();
+        // Same endpoints with another relation type or direction are distinct edges
+        assertThat(deduplicator.accept("a", "b", 2L)).isTrue();
+        assertThat(deduplicator.accept("b", "a", 1L)).isTrue();
+        assertThat(deduplicator.accept("a", "a", 1L)).isFalse();
+        assertThat(deduplicator.accept(7, 7, 1L)).isFalse();
+        assertThat(deduplicator.accept(0, 1, 3L)).isTrue();
+        assertThat(deduplicator.accept(0, 1, 3L)).isFalse();
+
+        assertThat(deduplicator.getAccepted()).isEqualTo(4);
+        assertThat(deduplicator.getDuplicates()).isEqualTo(2);
+        assertThat(deduplicator.getSelfLoops()).isEqualTo(2);
+        assertThatThrownBy(() -> deduplicator.accept(-1, 1, 1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsSelfLoopsOnceWhenAllowed() {
+        EdgeDeduplicator deduplicator = new EdgeDeduplicator(false);
+
+        assertThat(deduplicator.accept("a", "a", 1L)).isTrue();
+        assertThat(deduplicator.accept("a", "a", 1L)).isFalse();
+        assertThat(deduplicator.getSelfLoops()).isZero();
+        assertThat(deduplicator.getDuplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void longHashSetKeepsEveryKeyAcrossResizes() {
+        LongHashSet set = new LongHashSet(16);
+        for (long key = -50_000; key < 50_000; key++) {
+            assertThat(set.add(key * 0x1_0000_0001L)).isTrue();
+        }
+
+        assertThat(set.size()).isEqualTo(100_000);
+        assertThat(set.add(0)).isFalse();
+        assertThat(set.contains(-50_000 * 0x1_0000_0001L)).isTrue();
+        assertThat(set.contains(50_000 * 0x1_0000_0001L)).isFalse();
+        set.clear();
+        assertThat(set.size()).isZero();
+        assertThat(set.contains(0)).isFalse();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.IngestConfig;
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.dto.MutationAck;
+import com.example.graph.service.GraphService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MutationStreamProcessorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MutationStreamProcessor processor(int chunkSize) {
+        IngestConfig config = new IngestConfig();
+        ReflectionTestUtils.setField(config, "streamChunkSize", chunkSize);
+        return new MutationStreamProcessor(config, objectMapper);
+    }
+
+    private static GraphService target() {
+        GraphService target = mock(GraphService.class);
+        when(target.createNodesBatch(anyList()))
+                .thenAnswer(invocation -> BatchWriteResult.succeeded(invocation.<List<?>>getArgument(0).size()));
+        when(target.createRelationshipsBatch(anyList()))
+                .thenAnswer(invocation -> BatchWriteResult.succeeded(invocation.<List<?>>getArgument(0).size()));
+        when(target.deleteNodesBatch(anyList()))
+                .thenAnswer(invocation -> BatchWriteResult.succeeded(invocation.<List<?>>getArgument(0).size()));
+        return target;
+    }
+
+    private List<MutationAck> acks(ByteArrayOutputStream out) throws Exception {
+        List<MutationAck> acks = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            acks.add(objectMapper.readValue(line, MutationAck.class));
+        }
+        return acks;
+    }
+
+    @Test
+    void appliesChunksInOrderAndAcknowledgesEach() throws Exception {
+        String stream = """
+                {"op":"upsertNode","id":"a"}
+                {"op":"upsertEdge","sourceId":"a","targetId":"b","relationTypeId":1}
+                {"op":"upsertNode","id":"b"}
+                {"op":"deleteNode","id":"c"}
+                {"op":"upsertNode","id":"c"}
+                """;
+        GraphService target = target();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        MutationAck total = processor(3).process(target,
+                new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)), out);
+
+        // Nodes go first within a chunk; the delete closes the upsert chunk, the upsert after it the delete chunk
+        InOrder order = inOrder(target);
+        order.verify(target).createNodesBatch(List.of("a", "b"));
+        order.verify(target).createRelationshipsBatch(anyList());
+        order.verify(target).deleteNodesBatch(List.of("c"));
+        order.verify(target).createNodesBatch(List.of("c"));
+        assertThat(acks(out)).extracting(MutationAck::getChunk, MutationAck::getLine, MutationAck::getMutations)
+                .containsExactly(tuple(1L, 3L, 3L), tuple(2L, 4L, 1L), tuple(3L, 5L, 1L), tuple(3L, 5L, 5L));
+        assertThat(total.isDone()).isTrue();
+        assertThat(total.getNodes().getSucceeded()).isEqualTo(3);
+        assertThat(total.getDeletedNodes().getSucceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void stopsAtTheFirstInvalidLineKeepingEarlierChunks() throws Exception {
+        String stream = """
+                {"op":"upsertNode","id":"a"}
+                {"op":"upsertNode","id":"b"}
+                {"op":"upsertEdge","sourceId":"a"}
+                {"op":"upsertNode","id":"c"}
+                """;
+        GraphService target = target();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        MutationAck total = processor(2).process(target,
+                new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)), out);
+
+        verify(target).createNodesBatch(List.of("a", "b"));
+        verify(target, never()).createRelationshipsBatch(anyList());
+        assertThat(total.isDone()).isFalse();
+        assertThat(total.getLine()).isEqualTo(3);
+        assertThat(total.getError()).contains("targetId");
+        assertThat(acks(out)).hasSize(2);
+    }
+
+    @Test
+    void rejectsAnEdgeWithoutRelationTypeAndReportsTheLinesOfAFailedChunk() throws Exception {
+        GraphService target = target();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MutationAck missingType = processor(10).process(target, new ByteArrayInputStream("""
+                {"op":"upsertNode","id":"a"}
+                {"op":"upsertEdge","sourceId":"a","targetId":"b"}
+                """.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertThat(missingType.getLine()).isEqualTo(2);
+        assertThat(missingType.getError()).contains("relationTypeId");
+        verify(target, never()).createRelationshipsBatch(anyList());
+
+        when(target.createRelationshipsBatch(anyList())).thenThrow(new IllegalStateException("database unavailable"));
+        MutationAck failed = processor(2).process(target, new ByteArrayInputStream("""
+                {"op":"upsertNode","id":"a"}
+                {"op":"upsertNode","id":"b"}
+                {"op":"upsertNode","id":"c"}
+                {"op":"upsertEdge","sourceId":"a","targetId":"c","relationTypeId":1}
+                """.getBytes(StandardCharsets.UTF_8)), new ByteArrayOutputStream());
+
+        assertThat(failed.getChunk()).isEqualTo(1);
+        assertThat(failed.getLine()).isEqualTo(3);
+        assertThat(failed.getError()).isEqualTo("Chunk of lines 3-4 failed: database unavailable");
+    }
+}
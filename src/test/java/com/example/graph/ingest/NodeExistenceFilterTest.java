@@ -0,0 +1,99 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.IngestConfig;
+import com.example.graph.repository.CiNodeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NodeExistenceFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CiNodeRepository repository = mock(CiNodeRepository.class);
+
+    private NodeExistenceFilter filter() {
+        IngestConfig config = new IngestConfig();
+        ReflectionTestUtils.setField(config, "existenceFilterEnabled", true);
+        ReflectionTestUtils.setField(config, "existenceFilterExpectedNodes", 10_000L);
+        ReflectionTestUtils.setField(config, "existenceFilterFalsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(config, "existenceFilterRebuildDeletedRatio", 0.25);
+        return new NodeExistenceFilter(config, repository, registry);
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "node-" + i).toList();
+    }
+
+    @Test
+    void neverRejectsKnownIdsAndRejectsMostUnknownOnes() {
+        when(repository.count()).thenReturn(60_000L);
+        when(repository.findIdsAfter(eq(""), anyInt())).thenReturn(ids(0, 50_000));
+        when(repository.findIdsAfter(eq("node-49999"), anyInt())).thenReturn(ids(50_000, 60_000));
+        NodeExistenceFilter filter = filter();
+
+        assertThat(filter.isDefinitelyAbsent("node-1")).isFalse();
+        assertThat(filter.isDefinitelyAbsent("unknown")).as("nothing is known before the scan").isFalse();
+
+        filter.rebuild();
+        filter.adding(ids(60_000, 70_000));
+
+        assertThat(ids(0, 70_000)).noneMatch(filter::isDefinitelyAbsent);
+        long rejected = ids(100_000, 110_000).stream().filter(filter::isDefinitelyAbsent).count();
+        assertThat(rejected).isGreaterThan(9_700);
+        assertThat(registry.get("graph.ingest.existence-filter.rejected").counter().count()).isEqualTo(rejected);
+
+        filter.cleared();
+        assertThat(filter.isDefinitelyAbsent("node-1")).isTrue();
+    }
+
+    @Test
+    void rebuildsOnceDeletesPassTheThreshold() throws InterruptedException {
+        when(repository.count()).thenReturn(100L);
+        when(repository.findIdsAfter(eq(""), anyInt())).thenReturn(ids(0, 100));
+        NodeExistenceFilter filter = filter();
+        filter.rebuild();
+
+        filter.deleted(20);
+        verify(repository, times(1)).findIdsAfter(eq(""), anyInt());
+
+        when(repository.findIdsAfter(eq(""), anyInt())).thenReturn(ids(0, 70));
+        filter.deleted(10);
+        verify(repository, timeout(5000).times(2)).findIdsAfter(eq(""), anyInt());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!filter.isDefinitelyAbsent("node-99") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(filter.isDefinitelyAbsent("node-99")).isTrue();
+        assertThat(filter.isDefinitelyAbsent("node-0")).isFalse();
+    }
+
+    @Test
+    void retriesAFailedScanAfterABackoff() throws InterruptedException {
+        when(repository.count()).thenThrow(new IllegalStateException("database unavailable")).thenReturn(100L);
+        when(repository.findIdsAfter(eq(""), anyInt())).thenReturn(ids(0, 100));
+        NodeExistenceFilter filter = filter();
+        filter.rebuild();
+
+        // Still within the backoff: nothing is rescanned and every id might exist
+        filter.adding(ids(100, 101));
+        assertThat(filter.isDefinitelyAbsent("unknown")).isFalse();
+        verify(repository, times(1)).count();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!filter.isDefinitelyAbsent("unknown") && System.currentTimeMillis() < deadline) {
+            filter.deleted(0);
+            Thread.sleep(10);
+        }
+        assertThat(filter.isDefinitelyAbsent("unknown")).isTrue();
+        assertThat(filter.isDefinitelyAbsent("node-0")).isFalse();
+        verify(repository, times(2)).count();
+    }
+}
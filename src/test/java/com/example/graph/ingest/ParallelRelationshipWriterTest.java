@@ -0,0 +1,103 @@
+package com.example.graph.ingest;
+
+import com.example.graph.config.IngestConfig;
+import com.example.graph.dto.BatchWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.exceptions.ClientException;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParallelRelationshipWriterTest {
+
+    private final Driver driver = mock(Driver.class);
+    private ParallelRelationshipWriter writer;
+
+    private ParallelRelationshipWriter writer(Set<String> poisoned) {
+        IngestConfig config = new IngestConfig();
+        ReflectionTestUtils.setField(config, "parallelism", 2);
+        ReflectionTestUtils.setField(config, "parallelTransientRetries", 0);
+        Session session = mock(Session.class);
+        when(driver.session(any(SessionConfig.class))).thenReturn(session);
+        when(session.beginTransaction()).thenAnswer(invocation -> {
+            Transaction tx = mock(Transaction.class);
+            when(tx.run(any(Query.class))).thenAnswer(run -> {
+                String text = run.<Query>getArgument(0).text();
+                if (poisoned.contains(text)) {
+                    throw new ClientException("Neo.ClientError.Statement.SemanticError", "poisoned group");
+                }
+                Record record = mock(Record.class);
+                when(record.get(0)).thenReturn(Values.value(Long.parseLong(text)));
+                Result result = mock(Result.class);
+                when(result.single()).thenReturn(record);
+                return result;
+            });
+            return tx;
+        });
+        writer = new ParallelRelationshipWriter(config, driver,
+                DatabaseSelectionProvider.createStaticDatabaseSelectionProvider("graph"), new SimpleMeterRegistry());
+        return writer;
+    }
+
+    @AfterEach
+    void shutdown() {
+        writer.shutdown();
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(Map.of("sourceId", "s" + i, "targetId", "t" + i));
+        }
+        return rows;
+    }
+
+    // Each group's statement reports its size as written, or fails when it holds row s0
+    private static List<Query> statements(List<Map<String, Object>> group) {
+        boolean poisoned = group.stream().anyMatch(row -> "s0".equals(row.get("sourceId")));
+        return List.of(new Query(poisoned ? "poison" : String.valueOf(group.size())));
+    }
+
+    @Test
+    void reportsFailedGroupsOnceOthersHaveCommitted() {
+        BatchWriteResult result = writer(Set.of("poison")).write(rows(200), ParallelRelationshipWriterTest::statements);
+
+        assertThat(result.getAttempted()).isEqualTo(200);
+        assertThat(result.getSucceeded()).isPositive();
+        assertThat(result.getFailed()).isPositive();
+        assertThat(result.getSucceeded() + result.getFailed()).isEqualTo(200);
+        verify(driver, atLeastOnce()).session(SessionConfig.forDatabase("graph"));
+    }
+
+    @Test
+    void throwsWhenNoGroupCommitted() {
+        ParallelRelationshipWriter writer = writer(Set.of("poison"));
+
+        assertThatThrownBy(() -> writer.write(List.of(Map.of("sourceId", "s0", "targetId", "t0")),
+                ParallelRelationshipWriterTest::statements)).isInstanceOf(ClientException.class);
+        assertThat(writer.write(rows(200).subList(1, 200), ParallelRelationshipWriterTest::statements)
+                .getSucceeded()).isEqualTo(199);
+    }
+}
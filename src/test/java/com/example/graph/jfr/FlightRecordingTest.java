@@ -0,0 +1,116 @@
+package com.example.graph.jfr;
+
+import com.example.graph.client.FakeRestPlusServer;
+import com.example.graph.client.TigerGraphClient;
+import com.example.graph.config.IngestConfig;
+import com.example.graph.config.JfrConfig;
+import com.example.graph.dto.RecordingStatus;
+import com.example.graph.ingest.AdaptiveBatchSizer;
+import com.example.graph.ingest.BackendTimings;
+import com.example.graph.ingest.BulkLoader;
+import com.example.graph.service.impl.TigerGraphService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsBulkLoadBatchesWithTheirClientCalls() throws Exception {
+        FlightRecordingManager manager = new FlightRecordingManager(config());
+        BulkLoader bulkLoader = new BulkLoader(new IngestConfig());
+
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphService service = new TigerGraphService(
+                    new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry()), server.clientConfig());
+            manager.start("load", null);
+            assertThatThrownBy(() -> manager.start("again", null)).isInstanceOf(IllegalStateException.class);
+            bulkLoader.createNodesBatched(service, bulkLoader.newGenerator(7, 1200, 0, "uniform", 1.0),
+                    new BackendTimings(), AdaptiveBatchSizer.fixed(500));
+        }
+        RecordingStatus status = manager.stop();
+
+        assertThat(status.isRecording()).isFalse();
+        assertThat(status.getSettings()).isEqualTo("default");
+        assertThat(status.getSizeBytes()).isPositive();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(status.getFile()));
+        List<RecordedEvent> batches = named(events, "com.example.graph.BulkLoadBatch");
+        assertThat(batches).hasSize(3);
+        assertThat(batches).extracting(event -> event.getInt("batchIndex")).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(batches).extracting(event -> event.getInt("batchSize")).containsExactlyInAnyOrder(500, 500, 200);
+        assertThat(batches).allMatch(event -> "TigerGraph".equals(event.getString("backend"))
+                && "nodes".equals(event.getString("kind"))
+                && !event.getBoolean("failed")
+                && event.getLong("succeeded") == event.getInt("batchSize")
+                && event.getLong("bytesSent") > 0);
+        assertThat(named(events, "com.example.graph.GraphOperation"))
+                .hasSize(3)
+                .allMatch(event -> "createNodesBatch".equals(event.getString("operation")));
+        assertThat(named(events, "com.example.graph.TigerGraphRequest"))
+                .hasSize(3)
+                .allMatch(event -> event.getInt("requests") >= 1 && event.getLong("firstByte") > 0);
+    }
+
+    @Test
+    void recordsSingleRecordCallsAndCounts() throws Exception {
+        FlightRecordingManager manager = new FlightRecordingManager(config());
+
+        try (FakeRestPlusServer server = FakeRestPlusServer.builder().start()) {
+            TigerGraphService service = new TigerGraphService(
+                    new TigerGraphClient(server.clientConfig(), new SimpleMeterRegistry()), server.clientConfig());
+            manager.start("single", null);
+            service.createNode("a");
+            service.createNode("b");
+            service.createRelationship("a", "b", 1L);
+            service.getNode("a");
+            service.getNodesByRelationTypeId(1L);
+            service.countNodes();
+            service.countRelationships();
+            service.deleteNode("b");
+        }
+        List<RecordedEvent> operations = named(RecordingFile.readAllEvents(Path.of(manager.stop().getFile())),
+                "com.example.graph.GraphOperation");
+
+        assertThat(operations).extracting(event -> event.getString("operation")).containsExactlyInAnyOrder(
+                "createNode", "createNode", "createRelationship", "getNode", "getNodesByRelationTypeId",
+                "countNodes", "countRelationships", "deleteNode");
+        assertThat(operations).noneMatch(event -> event.getBoolean("failed"));
+        assertThat(operations).filteredOn(event -> "countNodes".equals(event.getString("operation")))
+                .extracting(event -> event.getLong("completed")).containsExactly(2L);
+    }
+
+    @Test
+    void rejectsUnknownSettingsAndNamesOutsideTheDirectory() {
+        FlightRecordingManager manager = new FlightRecordingManager(config());
+        assertThatThrownBy(() -> manager.start(null, "no-such-settings"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> manager.start("../../x", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid recording name");
+        assertThatThrownBy(() -> manager.start("..\\x", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(manager.getStatus().isRecording()).isFalse();
+    }
+
+    private JfrConfig config() {
+        JfrConfig config = new JfrConfig();
+        ReflectionTestUtils.setField(config, "directory", tempDir.toString());
+        ReflectionTestUtils.setField(config, "settings", "default");
+        return config;
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+}
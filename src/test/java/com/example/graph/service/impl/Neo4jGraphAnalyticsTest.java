@@ -0,0 +1,31 @@
+package com.example.graph.service.impl;
+
+import com.example.graph.dto.NodeDegree;
+import com.example.graph.service.GraphService.RelationshipBatch;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Degree and relation type aggregations against an in-process Neo4j, in both relationship models.
+ */
+class Neo4jGraphAnalyticsTest extends Neo4jHarnessSupport {
+
+    @EachRelationshipModel
+    void aggregatesDegreesAndRelationTypesInTheDatabase(String model) {
+        useModel(model);
+        service.createNodesBatch(List.of(HUB, "a", "b", "c"));
+        service.createRelationshipsBatch(List.of(new RelationshipBatch(HUB, "a", 1L),
+                new RelationshipBatch(HUB, "b", 1L), new RelationshipBatch(HUB, "c", 2L),
+                new RelationshipBatch("a", "b", 2L), new RelationshipBatch("c", "b", 7L)));
+
+        assertThat(service.countRelationshipsByType()).containsExactly(entry(1L, 2L), entry(2L, 2L), entry(7L, 1L));
+        assertThat(service.topNodesByDegree(false, 2))
+                .containsExactly(new NodeDegree(HUB, 3), new NodeDegree("a", 1));
+        assertThat(service.topNodesByDegree(true, 1)).containsExactly(new NodeDegree("b", 3));
+        assertThat(service.degreeHistogram(false)).containsExactly(entry(0L, 1L), entry(1L, 2L), entry(3L, 1L));
+        assertThat(service.degreeHistogram(true)).containsExactly(entry(0L, 1L), entry(1L, 2L), entry(3L, 1L));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.graph.service.impl;
+
+import com.example.graph.dto.ExportedNode;
+import com.example.graph.dto.RelationshipPage;
+import com.example.graph.service.GraphService.RelationshipBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chunked graph export against an in-process Neo4j, in both relationship models.
+ */
+class Neo4jGraphExportTest extends Neo4jHarnessSupport {
+
+    @EachRelationshipModel
+    void exportsEveryNodeWithItsEdgesInIdOrderedChunks(String model) {
+        useModel(model);
+        service.createNodesBatch(List.of(HUB, "a", "b", "c", "d"));
+        service.createRelationshipsBatch(List.of(new RelationshipBatch(HUB, "a", 1L),
+                new RelationshipBatch(HUB, "b", 2L), new RelationshipBatch("c", "d", 3L)));
+
+        List<ExportedNode> exported = new ArrayList<>();
+        String cursor = null;
+        int chunks = 0;
+        do {
+            cursor = service.exportChunk(cursor, 2, exported::add);
+            chunks++;
+        } while (cursor != null);
+
+        assertThat(chunks).isEqualTo(3);
+        assertThat(exported).extracting(ExportedNode::getId).containsExactly("a", "b", "c", "d", HUB);
+        assertThat(exported.get(4).getRelationships()).extracting(RelationshipPage.Entry::getTargetId)
+                .containsExactlyInAnyOrder("a", "b");
+        assertThat(exported.get(2).getRelationships()).containsExactly(new RelationshipPage.Entry(3L, "d"));
+        assertThat(exported.get(0).getRelationships()).isEmpty();
+    }
+}
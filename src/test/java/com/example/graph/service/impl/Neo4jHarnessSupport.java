@@ -0,0 +1,78 @@
+package com.example.graph.service.impl;
+
+import com.example.graph.config.IngestConfig;
+import com.example.graph.config.Neo4jModelConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * One in-process Neo4j and one Spring context shared by every Neo4j service test class;
+ * the harness stops with the test JVM. Each test starts from an empty database in the
+ * property relationship model with sequential writes.
+ */
+@SpringBootTest(properties = {
+        "graph.database.type=neo4j",
+        "graph.benchmark.history.enabled=false"
+})
+abstract class Neo4jHarnessSupport {
+
+    static final String HUB = "hub";
+
+    private static final Neo4j NEO4J = Neo4jBuilders.newInProcessBuilder()
+            .withDisabledServer()
+            .build();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(NEO4J::close, "neo4j-harness-shutdown"));
+    }
+
+    /** Runs a test once per relationship model, passing the model name. */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @ParameterizedTest
+    @ValueSource(strings = {"property", "typed"})
+    @interface EachRelationshipModel {
+    }
+
+    @Autowired
+    protected Neo4jGraphService service;
+
+    @Autowired
+    protected Neo4jModelConfig modelConfig;
+
+    @Autowired
+    protected IngestConfig ingestConfig;
+
+    @DynamicPropertySource
+    static void neo4jProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.neo4j.uri", NEO4J::boltURI);
+        registry.add("spring.neo4j.authentication.username", () -> "neo4j");
+        registry.add("spring.neo4j.authentication.password", () -> "");
+    }
+
+    @BeforeEach
+    @AfterEach
+    void reset() {
+        service.deleteAllNodes();
+        useModel("property");
+        ReflectionTestUtils.setField(ingestConfig, "parallelism", 1);
+    }
+
+    protected void useModel(String model) {
+        ReflectionTestUtils.setField(modelConfig, "relationshipModel", model);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.graph.service.impl;
+
+import com.example.graph.dto.BatchWriteResult;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Node batch deletes against an in-process Neo4j.
+ */
+class Neo4jNodeBatchDeleteTest extends Neo4jHarnessSupport {
+
+    @Test
+    void deletesANodeBatchWithItsEdges() {
+        service.createNodesBatch(List.of(HUB, "a", "b"));
+        service.createRelationshipsBatch(List.of(new RelationshipBatch(HUB, "a", 1L),
+                new RelationshipBatch("b", HUB, 2L), new RelationshipBatch("a", "b", 3L)));
+
+        BatchWriteResult deleted = service.deleteNodesBatch(List.of(HUB, HUB, "missing"));
+
+        assertThat(deleted.getSucceeded()).isEqualTo(1);
+        assertThat(deleted.getSkipped()).isEqualTo(1);
+        assertThat(deleted.getFailed()).isEqualTo(1);
+        assertThat(service.countNodes()).isEqualTo(2);
+        assertThat(service.countRelationships()).isEqualTo(1);
+    }
+}
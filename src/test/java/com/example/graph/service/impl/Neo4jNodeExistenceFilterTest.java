@@ -0,0 +1,31 @@
+package com.example.graph.service.impl;
+
+import com.example.graph.ingest.NodeExistenceFilter;
+import com.example.graph.service.GraphService.RelationshipBatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The node existence filter rebuilt from, and guarding writes to, an in-process Neo4j.
+ */
+class Neo4jNodeExistenceFilterTest extends Neo4jHarnessSupport {
+
+    @Autowired
+    private NodeExistenceFilter existenceFilter;
+
+    @Test
+    void existenceFilterRebuiltFromTheDatabaseKnowsEveryNode() {
+        service.createNodesBatch(List.of(HUB, "a", "b"));
+        existenceFilter.rebuild();
+
+        assertThat(existenceFilter.isDefinitelyAbsent("a")).isFalse();
+        assertThat(existenceFilter.isDefinitelyAbsent(HUB)).isFalse();
+        assertThat(service.createRelationshipsBatch(List.of(new RelationshipBatch(HUB, "a", 1L),
+                new RelationshipBatch(HUB, "missing", 1L))).getFailed()).isEqualTo(1);
+        assertThat(service.countRelationships()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.graph.service.impl;
+
+import com.example.graph.service.GraphService.RelationshipBatch;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parallel relationship batch writes against an in-process Neo4j, in both relationship models.
+ */
+class Neo4jParallelRelationshipWriteTest extends Neo4jHarnessSupport {
+
+    @EachRelationshipModel
+    void parallelBatchWritesEveryEdgeOnce(String model) {
+        useModel(model);
+        ReflectionTestUtils.setField(ingestConfig, "parallelism", 4);
+        ReflectionTestUtils.setField(ingestConfig, "parallelMinBatchSize", 1);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add("n" + i);
+        }
+        List<RelationshipBatch> edges = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Ten distinct targets per source, none of them the source itself
+            int source = i % 200;
+            int target = (source + 1 + 13 * (i / 200) + source % 7) % 200;
+            edges.add(new RelationshipBatch(ids.get(source), ids.get(target), (long) (i % 5) + 1));
+        }
+        service.createNodesBatch(ids);
+
+        assertThat(service.createRelationshipsBatch(edges).getSucceeded()).isEqualTo(2_000);
+        assertThat(service.countRelationships()).isEqualTo(2_000);
+        assertThat(service.getRelationships("n3", null, null, 1000).getRelationships()).hasSize(10);
+    }
+}
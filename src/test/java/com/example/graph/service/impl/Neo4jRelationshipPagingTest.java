@@ -0,0 +1,66 @@
+package com.example.graph.service.impl;
+
+import com.example.graph.dto.RelationshipPage;
+import com.example.graph.service.GraphService.RelationshipBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Relationship paging and single-edge writes against an in-process Neo4j, in both relationship models.
+ */
+class Neo4jRelationshipPagingTest extends Neo4jHarnessSupport {
+
+    @EachRelationshipModel
+    void pagesThroughAHubInKeysetOrder(String model) {
+        useModel(model);
+        List<String> ids = new ArrayList<>(List.of(HUB));
+        List<RelationshipBatch> edges = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add(String.format("leaf:%03d", i));
+            edges.add(new RelationshipBatch(HUB, ids.get(ids.size() - 1), (long) (i % 4) - 1));
+        }
+        service.createNodesBatch(ids);
+        service.createRelationshipsBatch(edges);
+
+        List<RelationshipPage.Entry> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            RelationshipPage page = service.getRelationships(HUB, null, cursor, 64);
+            all.addAll(page.getRelationships());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(all).hasSize(250).doesNotHaveDuplicates();
+        assertThat(all).isSortedAccordingTo((a, b) -> a.getRelationTypeId() != b.getRelationTypeId()
+                ? Long.compare(a.getRelationTypeId(), b.getRelationTypeId())
+                : a.getTargetId().compareTo(b.getTargetId()));
+        assertThat(all.get(0).getRelationTypeId()).isEqualTo(-1L);
+
+        RelationshipPage filtered = service.getRelationships(HUB, 2L, null, 1000);
+        assertThat(filtered.getRelationships()).hasSize(62).allMatch(entry -> entry.getRelationTypeId() == 2L);
+        assertThat(filtered.getNextCursor()).isNull();
+    }
+
+    @EachRelationshipModel
+    void createsASingleEdgeWithoutRewritingTheHub(String model) {
+        useModel(model);
+        service.createNodesBatch(List.of(HUB, "a", "b"));
+        service.createRelationship(HUB, "a", 1L);
+        service.createRelationship(HUB, "b", 1L);
+        service.createRelationship(HUB, "a", 2L);
+
+        assertThat(service.countRelationships()).isEqualTo(3);
+        assertThat(service.getRelationships(HUB, 1L, null, 10).getRelationships())
+                .extracting(RelationshipPage.Entry::getTargetId)
+                .containsExactly("a", "b");
+        assertThatThrownBy(() -> service.createRelationship(HUB, "missing", 1L))
+                .hasMessageContaining("not found");
+    }
+}
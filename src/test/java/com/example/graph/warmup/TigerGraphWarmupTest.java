@@ -0,0 +1,33 @@
+package com.example.graph.warmup;
+
+import com.example.graph.client.TigerGraphClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TigerGraphWarmupTest {
+
+    @Test
+    void callsOnlyTheAllowlistedReadOnlyQueries() throws Exception {
+        TigerGraphClient client = mock(TigerGraphClient.class);
+        when(client.getInstalledQueries()).thenReturn(Map.of(
+                "countNodes", Map.of(),
+                "pageRelationships", Map.of("src", "VERTEX<CiNode>"),
+                "deleteCiNodes", Map.of("ids", "SET<STRING>"),
+                "scanCiNodes", Map.of("partition", "INT", "partitions", "INT"),
+                "countRelationships", Map.of()));
+
+        new TigerGraphWarmup(client).warmUp(2);
+
+        verify(client, times(2)).echo();
+        verify(client).runQuery(eq("countNodes"), anyMap());
+        verify(client).runQuery(eq("pageRelationships"), anyMap());
+        verify(client, never()).runQuery(eq("deleteCiNodes"), anyMap());
+        verify(client, never()).runQuery(eq("scanCiNodes"), anyMap());
+        verify(client, never()).runQuery(eq("countRelationships"), anyMap());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.graph.workload;
+
+import com.example.graph.config.WorkloadConfig;
+import com.example.graph.dto.ReplayReport;
+import com.example.graph.service.GraphService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class WorkloadCaptureReplayTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static WorkloadConfig config() {
+        WorkloadConfig config = new WorkloadConfig();
+        ReflectionTestUtils.setField(config, "queueCapacity", 1024);
+        ReflectionTestUtils.setField(config, "replayMaxConcurrency", 64);
+        return config;
+    }
+
+    @Test
+    void capturesCallsWithArgumentsAndFailures() throws Exception {
+        GraphService backend = mock(GraphService.class);
+        doThrow(new RuntimeException("boom")).when(backend).deleteNode("gone");
+        WorkloadCapture capture = new WorkloadCapture(config());
+        GraphService wrapped = capture.wrap(backend);
+        Path file = tempDir.resolve("capture.gwl");
+
+        wrapped.countNodes();
+        capture.start(file);
+        wrapped.createNode("a");
+        wrapped.createRelationship("a", "b", 7L);
+        wrapped.getRelationships("a", null, "7:b", 25);
+        assertThatThrownBy(() -> wrapped.deleteNode("gone")).hasMessage("boom");
+        wrapped.createNodesBatch(List.of("x", "y"));
+        capture.stop();
+        wrapped.countRelationships();
+
+        List<CapturedCall> calls = new ArrayList<>();
+        assertThat(WorkloadLogReader.read(file, calls::add)).isEqualTo(4);
+        assertThat(calls).extracting(CapturedCall::operation)
+                .containsExactly("createNode", "createRelationship", "getRelationships", "deleteNode");
+        assertThat(calls.get(1).args()).containsExactly("a", "b", 7L);
+        assertThat(calls.get(2).args()).containsExactly("a", null, "7:b", 25);
+        assertThat(calls.get(3).failed()).isTrue();
+        assertThat(calls).allMatch(call -> call.inFlight() == 1);
+        verify(backend).createNodesBatch(List.of("x", "y"));
+    }
+
+    @Test
+    void logsStayInsideTheWorkloadDirectory() throws Exception {
+        WorkloadConfig config = config();
+        ReflectionTestUtils.setField(config, "directory", tempDir.resolve("workloads").toString());
+        WorkloadCapture capture = new WorkloadCapture(config);
+
+        for (String name : new String[]{"../escape.gwl", "/etc/passwd", "sub\\file.gwl", "..", " "}) {
+            assertThatThrownBy(() -> capture.logFile(name)).isInstanceOf(IllegalArgumentException.class);
+        }
+        Path file = capture.logFile("run.gwl");
+        assertThat(file).isEqualTo(tempDir.resolve("workloads").resolve("run.gwl"));
+        capture.start(file);
+        capture.stop();
+        assertThat(file).exists();
+    }
+
+    @Test
+    void readsCallsBackInStartOrder() throws Exception {
+        Path file = tempDir.resolve("order.gwl");
+        try (WorkloadLogWriter writer = new WorkloadLogWriter(file, System.currentTimeMillis(), 16)) {
+            // Logged on completion: the long call started first but finished last
+            writer.append(new CapturedCall(20, 5, 2, false, "getNode", new Object[]{"b"}));
+            writer.append(new CapturedCall(30, 5, 2, false, "getNode", new Object[]{"c"}));
+            writer.append(new CapturedCall(10, 100, 1, false, "getNode", new Object[]{"a"}));
+        }
+
+        List<Long> offsets = new ArrayList<>();
+        assertThat(WorkloadLogReader.readInStartOrder(file, 2, call -> offsets.add(call.offsetMicros()))).isEqualTo(3);
+        assertThat(offsets).containsExactly(10L, 20L, 30L);
+    }
+
+    @Test
+    void replayKeepsTimingAndConcurrencyOrRunsFlatOut() throws Exception {
+        Path file = tempDir.resolve("replay.gwl");
+        try (WorkloadLogWriter writer = new WorkloadLogWriter(file, System.currentTimeMillis(), 16)) {
+            // Two overlapping reads, then a write 300 ms into the capture
+            writer.append(new CapturedCall(0, 100_000, 1, false, "getNode", new Object[]{"a"}));
+            writer.append(new CapturedCall(10_000, 100_000, 2, false, "getNode", new Object[]{"b"}));
+            writer.append(new CapturedCall(300_000, 5_000, 1, false, "createNode", new Object[]{"c"}));
+            writer.append(new CapturedCall(300_000, 5_000, 1, false, "removedOperation", new Object[0]));
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        GraphService target = mock(GraphService.class);
+        when(target.getDatabaseType()).thenReturn("Mock");
+        when(target.getNode(anyString())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            inFlight.decrementAndGet();
+            return Optional.empty();
+        });
+        WorkloadReplayer replayer = new WorkloadReplayer(config());
+
+        ReplayReport realTime = replayer.replay(file, target, 1);
+
+        assertThat(realTime.getCalls()).isEqualTo(3);
+        assertThat(realTime.getSkipped()).isEqualTo(1);
+        assertThat(realTime.getWallTimeMs()).isGreaterThanOrEqualTo(300);
+        assertThat(peak.get()).isEqualTo(2);
+        assertThat(realTime.getOperations().get("getNode").getCalls()).isEqualTo(2);
+        assertThat(realTime.getOperations().get("getNode").getCaptured().getP50Ms()).isEqualTo(100.0);
+        verify(target).createNode("c");
+
+        peak.set(0);
+        ReplayReport flatOut = replayer.replay(file, target, 0);
+
+        assertThat(flatOut.getSpeed()).isNull();
+        assertThat(flatOut.getWallTimeMs()).isLessThan(300);
+        assertThat(peak.get()).isEqualTo(2);
+        verify(target, times(2)).createNode(any());
+    }
+}